@@ -0,0 +1,85 @@
+package Benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Minimal micro-benchmark harness (the project has no build tool to pull in
+ * JMH). Each benchmark is warmed up, then measured over several timed
+ * iterations; results are reported as the median time per operation.
+ *
+ * Every operation returns a value that is folded into {@link #sink}, so the
+ * JIT cannot drop the work as dead code.
+ */
+public final class Bench {
+
+    /**
+     * One benchmarked operation. {@code setup} runs outside the timed region
+     * before each batch of {@code run} calls, e.g. to prepare fresh boards.
+     */
+    public interface Op {
+        default void setup(int batch) {}
+        long run();
+    }
+
+    private final int warmupIterations;
+    private final int measureIterations;
+    private final long iterationNanos;
+    private final List<String> results = new ArrayList<>();
+    private long sink;
+
+    public Bench(int warmupIterations, int measureIterations, long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.measureIterations = measureIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+    }
+
+    /**
+     * Runs {@code op} in timed batches of {@code batch} calls (large batches
+     * for cheap operations keep timer overhead out of the result) and prints
+     * "name  median ns/op  (min .. max)".
+     */
+    public void run(String name, int batch, Op op) {
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration(batch, op);
+        }
+        double[] perOp = new double[measureIterations];
+        for (int i = 0; i < measureIterations; i++) {
+            perOp[i] = iteration(batch, op);
+        }
+        Arrays.sort(perOp);
+        String line = String.format("%-48s %14.1f ns/op   (%.1f .. %.1f)",
+                name, perOp[perOp.length / 2], perOp[0], perOp[perOp.length - 1]);
+        results.add(line);
+        System.out.println(line);
+    }
+
+    /** Runs batches for about one iteration time; returns ns/op. */
+    private double iteration(int batch, Op op) {
+        long ops = 0;
+        long timed = 0;
+        long wall = System.nanoTime();
+        while (timed < iterationNanos && System.nanoTime() - wall < 10 * iterationNanos) {
+            op.setup(batch);
+            long acc = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < batch; i++) {
+                acc += op.run();
+            }
+            timed += System.nanoTime() - start;
+            sink += acc;
+            ops += batch;
+        }
+        return (double) timed / ops;
+    }
+
+    public List<String> getResults() {
+        return results;
+    }
+
+    /** Printed at the end so the folded results are observably used. */
+    public long getSink() {
+        return sink;
+    }
+}
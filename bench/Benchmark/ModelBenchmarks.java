@@ -0,0 +1,179 @@
+package Benchmark;
+
+import Model.Board;
+import Model.Cell;
+import Model.CellType;
+import Model.Difficulty;
+import Model.Question;
+import Model.ScoreManager;
+import Model.SysData;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Baseline timings for the Model hot paths:
+ * <ul>
+ *   <li>Board construction per Difficulty and at large custom sizes</li>
+ *   <li>revealCascade from the opening that floods the most cells</li>
+ *   <li>isAllSafeCellsRevealed</li>
+ *   <li>ScoreManager.onReveal / applyQuestionOutcome</li>
+ *   <li>SysData.nextRandomByDifficulty</li>
+ * </ul>
+ *
+ * Usage:
+ * <pre>
+ *   java -cp out Benchmark.ModelBenchmarks [sizes] [iterationMillis]
+ *   e.g. java -cp out Benchmark.ModelBenchmarks 100,500,1000,2000 500
+ * </pre>
+ * Sizes are square board edges; boards use MEDIUM density except for the
+ * cascade benchmark, which uses a sparse board.
+ */
+public final class ModelBenchmarks {
+
+    private static final long SEED = 20240601L;
+
+    private ModelBenchmarks() {}
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0
+                ? Arrays.stream(args[0].split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray()
+                : new int[] {100, 500, 1000, 2000};
+        long iterationMillis = args.length > 1 ? Long.parseLong(args[1]) : 500;
+
+        Bench bench = new Bench(3, 5, iterationMillis);
+        System.out.println("java " + System.getProperty("java.version")
+                + ", " + Runtime.getRuntime().availableProcessors() + " cpus");
+
+        for (Difficulty d : Difficulty.values()) {
+            boardConstruction(bench, d);
+        }
+        for (int size : sizes) {
+            customConstruction(bench, size);
+            worstCascade(bench, size);
+            allSafeRevealed(bench, size);
+        }
+        scoring(bench);
+        questionSampling(bench);
+
+        System.out.println("(sink " + bench.getSink() + ")");
+    }
+
+    // ---------- Board ----------
+
+    private static void boardConstruction(Bench bench, Difficulty d) {
+        long[] seed = {SEED};
+        bench.run("Board.<init> " + d, 1000, () -> new Board(d, seed[0]++).getMineCount());
+    }
+
+    private static void customConstruction(Bench bench, int size) {
+        long[] seed = {SEED};
+        bench.run("Board.<init> " + size + "x" + size, batchFor(size),
+                () -> new Board(Difficulty.MEDIUM, size, size, seed[0]++).getMineCount());
+    }
+
+    /**
+     * Opens the cell whose cascade floods the largest region of a sparse board
+     * (one mine per row); fresh copies of the same seeded board are built in
+     * setup, outside the timed region.
+     */
+    private static void worstCascade(Bench bench, int size) {
+        int[] start = widestOpening(new Board(Difficulty.MEDIUM, size, size, size, SEED));
+        bench.run("Board.revealCascade worst " + size + "x" + size, batchFor(size), new Bench.Op() {
+            private Board[] boards = new Board[0];
+            private int next;
+
+            @Override
+            public void setup(int batch) {
+                if (boards.length != batch) boards = new Board[batch];
+                for (int i = 0; i < batch; i++) {
+                    boards[i] = new Board(Difficulty.MEDIUM, size, size, size, SEED);
+                }
+                next = 0;
+            }
+
+            @Override
+            public long run() {
+                Board b = boards[next];
+                boards[next++] = null;
+                return b.revealCascade(start[0], start[1], idx -> { });
+            }
+        });
+    }
+
+    /** Finds the EMPTY cell with the largest cascade by flooding every region once. */
+    private static int[] widestOpening(Board board) {
+        int best = -1;
+        int bestSize = 0;
+        for (int idx = 0; idx < board.getCellCount(); idx++) {
+            if (board.isRevealed(idx) || board.getType(idx) != CellType.EMPTY) continue;
+            int opened = board.revealCascade(idx / board.getCols(), idx % board.getCols(), i -> { });
+            if (opened > bestSize) {
+                bestSize = opened;
+                best = idx;
+            }
+        }
+        if (best < 0) best = 0;
+        System.out.println("  widest opening on " + board.getRows() + "x" + board.getCols()
+                + " floods " + bestSize + " cells");
+        return new int[] {best / board.getCols(), best % board.getCols()};
+    }
+
+    private static void allSafeRevealed(Bench bench, int size) {
+        Board board = new Board(Difficulty.MEDIUM, size, size, SEED);
+        bench.run("Board.isAllSafeCellsRevealed " + size + "x" + size, 100_000,
+                () -> board.isAllSafeCellsRevealed() ? 1 : 0);
+    }
+
+    private static int batchFor(int size) {
+        return Math.max(1, 1_000_000 / (size * size));
+    }
+
+    // ---------- ScoreManager ----------
+
+    private static final class BenchCell extends Cell {
+        BenchCell(CellType type) {
+            super(0, 0, type);
+        }
+    }
+
+    private static void scoring(Bench bench) {
+        Cell[] cells = {
+                new BenchCell(CellType.EMPTY), new BenchCell(CellType.NUMBER),
+                new BenchCell(CellType.QUESTION), new BenchCell(CellType.SURPRISE)
+        };
+        ScoreManager sm = new ScoreManager(Difficulty.MEDIUM);
+        int[] i = {0};
+        bench.run("ScoreManager.onReveal", 100_000, () -> {
+            sm.onReveal(cells[i[0]++ & 3]);
+            return sm.getScore();
+        });
+
+        Question q = question(1, "medium");
+        boolean[] correct = {false};
+        bench.run("ScoreManager.applyQuestionOutcome", 100_000, () -> {
+            correct[0] = !correct[0];
+            sm.applyQuestionOutcome(q, correct[0]);
+            return sm.getScore() + sm.getLives();
+        });
+    }
+
+    // ---------- SysData ----------
+
+    private static void questionSampling(Bench bench) {
+        SysData.clear();
+        String[] levels = {"easy", "medium", "hard", "pro"};
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int id = 1; id <= 400; id++) {
+            SysData.addQuestion(question(id, levels[random.nextInt(levels.length)]));
+        }
+        int[] i = {0};
+        bench.run("SysData.nextRandomByDifficulty (400 q)", 10_000,
+                () -> SysData.nextRandomByDifficulty(levels[i[0]++ & 3]).getId());
+        SysData.clear();
+    }
+
+    private static Question question(int id, String difficulty) {
+        return new Question(id, "Q" + id, "A", "B", "C", "D", 'A', 3, -2, 1, difficulty);
+    }
+}
@@ -0,0 +1,97 @@
+package Controller;
+
+import Model.Board;
+import Model.ProbabilityEngine;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * Strategy used by {@link SimulationRunner} to play a board without a UI.
+ *
+ * A move is a single int: a cell index to reveal, or {@link #flag(int)} of an
+ * index to toggle a flag there. Bots are used by one thread at a time, so
+ * they may keep reusable state between calls.
+ */
+public interface Bot {
+
+    /** Returned when a bot has no move left to make. */
+    int NONE = Integer.MIN_VALUE;
+
+    /** Picks the next move on {@code board} for the player whose turn it is. */
+    int nextMove(Board board, RandomGenerator random);
+
+    static int flag(int idx)          { return ~idx; }
+    static boolean isFlag(int move)   { return move < 0 && move != NONE; }
+    static int cellOf(int move)       { return move < 0 ? ~move : move; }
+
+    /**
+     * Reveals a uniformly random hidden, unflagged cell.
+     *
+     * Each board's cells are shuffled once and walked in that order, skipping
+     * cells that have been opened (or flagged) since they were shuffled; the
+     * next hidden cell of a random order is a uniform pick among the hidden
+     * cells, and a whole game costs O(cells) instead of a scan per move.
+     */
+    class RandomBot implements Bot {
+        private final Map<Board, Order> orders = new WeakHashMap<>();
+
+        private static final class Order {
+            final int[] cells;
+            int next;
+
+            Order(int n, RandomGenerator random) {
+                cells = new int[n];
+                for (int i = 0; i < n; i++) {
+                    int j = random.nextInt(i + 1);
+                    cells[i] = cells[j];
+                    cells[j] = i;
+                }
+            }
+        }
+
+        @Override
+        public int nextMove(Board board, RandomGenerator random) {
+            Order order = orders.get(board);
+            if (order == null) {
+                order = new Order(board.getCellCount(), random);
+                orders.put(board, order);
+            }
+            while (order.next < order.cells.length) {
+                int idx = order.cells[order.next++];
+                if (!board.isRevealed(idx) && !board.isFlagged(idx)) return idx;
+            }
+            return NONE;
+        }
+    }
+
+    /**
+     * Flags cells that are certainly mines and otherwise reveals the hidden
+     * cell with the lowest mine probability (ties broken at random).
+     */
+    class SafestCellBot implements Bot {
+        private final ProbabilityEngine engine = new ProbabilityEngine();
+
+        @Override
+        public int nextMove(Board board, RandomGenerator random) {
+            if (!board.isGenerated()) {
+                return board.index(board.getRows() / 2, board.getCols() / 2);
+            }
+            double[] p = engine.compute(board);
+            int best = -1;
+            int ties = 0;
+            for (int idx = 0; idx < p.length; idx++) {
+                if (board.isRevealed(idx) || board.isFlagged(idx)) continue;
+                if (p[idx] >= 1.0) return flag(idx);
+                if (best < 0 || p[idx] < p[best]) {
+                    best = idx;
+                    ties = 1;
+                } else if (p[idx] == p[best] && random.nextInt(++ties) == 0) {
+                    best = idx;
+                }
+            }
+            return best < 0 ? NONE : best;
+        }
+    }
+}
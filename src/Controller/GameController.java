@@ -2,29 +2,54 @@ package Controller;
 
 import Model.*;
 
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Thin wrapper around {@link GameEngine} for a two-player game: owns the
+ * players and forwards every move to the engine, which holds the rules.
+ */
 public class GameController {
 
-    private final Board[] boards = new Board[2];
     private final Player[] players = new Player[2];
-    private final ScoreManager scoreManager;
-    private int currentPlayerIdx = 0;   // 0 or 1
+    private final GameEngine engine;
 
     public GameController(String p1Name, String p2Name, Difficulty difficulty) {
-        if (difficulty == null) difficulty = Difficulty.EASY;
+        this(p1Name, p2Name, difficulty, new BoardGenerator());
+    }
+
+    /** Takes both boards from {@code generator}, which may serve them from its pool. */
+    public GameController(String p1Name, String p2Name, Difficulty difficulty, BoardGenerator generator) {
+        this(p1Name, p2Name, generator.take(difficulty != null ? difficulty : Difficulty.EASY),
+             generator.take(difficulty != null ? difficulty : Difficulty.EASY));
+    }
+
+    /** Plays on the given boards (e.g. seeded ones); the difficulty is taken from the first board. */
+    public GameController(String p1Name, String p2Name, Board board1, Board board2) {
+        this(p1Name, p2Name, new GameEngine(board1, board2, new GameRules(board1.getDifficulty())));
+    }
 
+    public GameController(String p1Name, String p2Name, GameEngine engine) {
         players[0] = new Player(p1Name);
         players[1] = new Player(p2Name);
+        this.engine = engine;
+    }
+
+    public GameEngine getEngine() {
+        return engine;
+    }
 
-        boards[0] = new Board(difficulty);
-        boards[1] = new Board(difficulty);
+    /** Records every accepted move from now on (the boards must be seeded); see {@link GameEngine#setLog}. */
+    public void setLog(GameLog log) {
+        engine.setLog(log);
+    }
 
-        scoreManager = new ScoreManager(difficulty);
+    public GameLog getLog() {
+        return engine.getLog();
     }
 
     public Board getBoard(int playerIdx) {
-        return boards[playerIdx];
+        return engine.getBoard(playerIdx);
     }
 
     public Player getPlayer(int playerIdx) {
@@ -32,49 +57,49 @@ public class GameController {
     }
 
     public int getCurrentPlayerIdx() {
-        return currentPlayerIdx;
+        return engine.getCurrentPlayer();
     }
 
     public Player getCurrentPlayer() {
-        return players[currentPlayerIdx];
+        return players[engine.getCurrentPlayer()];
     }
 
     public ScoreManager getScoreManager() {
-        return scoreManager;
+        return engine.getScoreManager();
     }
 
     public boolean isGameOver() {
-        return scoreManager.isGameOver();
+        return engine.isGameOver();
+    }
+
+    /** True once either player has opened every safe cell on their board. */
+    public boolean isWon() {
+        return engine.isWon();
+    }
+
+    /** @return index of the player whose board is cleared, or -1 if none is */
+    public int getWinnerIdx() {
+        return engine.getWinner();
+    }
+
+    public MoveResult apply(GameCommand command) {
+        return engine.apply(command);
     }
 
     /** Reveal a cell for the given player; returns all cells that became revealed (for cascade). */
     public List<Cell> revealCell(int playerIdx, int row, int col) {
-        Board board = boards[playerIdx];
-        Cell cell = board.getCell(row, col);
-        if (cell.isRevealed() || cell.isFlagged()) return List.of();
-
-        List<Cell> revealed;
-        if (cell.getType() == CellType.EMPTY) {
-            revealed = board.revealCascade(row, col);
-        } else {
-            cell.reveal();
-            revealed = List.of(cell);
-        }
-
-        for (Cell c : revealed) {
-            scoreManager.onReveal(c);
+        MoveResult result = engine.reveal(playerIdx, row, col);
+        Board board = engine.getBoard(playerIdx);
+        List<Cell> revealed = new ArrayList<>(result.getChangedCount());
+        for (int i = 0; i < result.getChangedCount(); i++) {
+            int idx = result.getChanged(i);
+            revealed.add(board.getCell(idx / board.getCols(), idx % board.getCols()));
         }
-
-        // after reveal, switch turn
-        currentPlayerIdx = 1 - currentPlayerIdx;
         return revealed;
     }
 
     /** Toggle flag for the given player. */
     public void toggleFlag(int playerIdx, int row, int col) {
-        Board board = boards[playerIdx];
-        Cell cell = board.getCell(row, col);
-        cell.toggleFlag();
-        scoreManager.onToggleFlag(cell);
+        engine.toggleFlag(playerIdx, row, col);
     }
 }
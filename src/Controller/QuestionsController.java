@@ -1,5 +1,7 @@
 package Controller;
 
+import Model.CsvReader;
+import Model.CsvWriter;
 import Model.Question;
 import View.QuestionsWizardFrame;
 
@@ -89,40 +91,36 @@ public class QuestionsController implements QuestionsWizardFrame.QuestionsContro
     private void importFromStream(InputStream in) throws Exception {
         List<Question> loaded = new ArrayList<>();
 
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
-            String line;
+        try (CsvReader csv = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
             boolean firstLine = true;
 
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty()) continue;
+            while (csv.next()) {
+                if (csv.isBlank()) continue;
 
-                if (firstLine && looksLikeHeader(line)) {
+                if (firstLine && looksLikeHeader(csv)) {
                     firstLine = false;
                     continue;
                 }
                 firstLine = false;
 
-                List<String> cols = parseCsvLine(line);
-
                 // Need at least 11 columns based on your Question model
-                if (cols.size() < 10) {
-                    throw new IllegalArgumentException("CSV row has < 10 columns: " + cols);
+                if (csv.size() < 10) {
+                    throw new IllegalArgumentException("CSV row " + csv.getRecordNumber() + " has < 10 columns");
                 }
 
 
                 // 0 = id (we ignore in model, since Question doesn't have ID field)
-                String text = cols.get(0);
-                String a = cols.get(1);
-                String b = cols.get(2);
-                String c = cols.get(3);
-                String d = cols.get(4);
-
-                char correct = safeChar(cols.get(5), 'A');
-                Integer pointsRight = safeInt(cols.get(6));
-                Integer pointsWrong = safeInt(cols.get(7));
-                Integer lifeDelta = safeInt(cols.get(8));
-                String difficulty = cols.get(9);
+                String text = csv.getTrimmed(0);
+                String a = csv.getTrimmed(1);
+                String b = csv.getTrimmed(2);
+                String c = csv.getTrimmed(3);
+                String d = csv.getTrimmed(4);
+
+                char correct = safeChar(csv.getTrimmed(5), 'A');
+                Integer pointsRight = csv.getInt(6, 0);
+                Integer pointsWrong = csv.getInt(7, 0);
+                Integer lifeDelta = csv.getInt(8, 0);
+                String difficulty = csv.getTrimmed(9);
 
                 Question q = new Question();
                 q.setText(text);
@@ -146,25 +144,25 @@ public class QuestionsController implements QuestionsWizardFrame.QuestionsContro
     }
 
     private void exportToStream(OutputStream out) throws Exception {
-        try (BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+        try (CsvWriter csv = new CsvWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
             // header
-            bw.write("id,text,optA,optB,optC,optD,correct,pointsRight,pointsWrong,lifeDelta,difficulty");
-            bw.newLine();
+            csv.record("id", "text", "optA", "optB", "optC", "optD", "correct",
+                    "pointsRight", "pointsWrong", "lifeDelta", "difficulty");
 
             int id = 1;
             for (Question q : questions) {
-                bw.write(id++ + "," +
-                        csvEscape(q.getText()) + "," +
-                        csvEscape(q.getOptA()) + "," +
-                        csvEscape(q.getOptB()) + "," +
-                        csvEscape(q.getOptC()) + "," +
-                        csvEscape(q.getOptD()) + "," +
-                        csvEscape(String.valueOf(q.getCorrect())) + "," +
-                        csvEscape(String.valueOf(nvl(q.getPointsRight(), 0))) + "," +
-                        csvEscape(String.valueOf(nvl(q.getPointsWrong(), 0))) + "," +
-                        csvEscape(String.valueOf(nvl(q.getLifeDelta(), 0))) + "," +
-                        csvEscape(q.getDifficulty()));
-                bw.newLine();
+                csv.field(id++)
+                   .field(q.getText())
+                   .field(q.getOptA())
+                   .field(q.getOptB())
+                   .field(q.getOptC())
+                   .field(q.getOptD())
+                   .field(String.valueOf(q.getCorrect()))
+                   .field(nvl(q.getPointsRight(), 0))
+                   .field(nvl(q.getPointsWrong(), 0))
+                   .field(nvl(q.getLifeDelta(), 0))
+                   .field(q.getDifficulty());
+                csv.endRecord();
             }
         }
     }
@@ -173,9 +171,14 @@ public class QuestionsController implements QuestionsWizardFrame.QuestionsContro
     // Helpers
     // =========================
 
-    private boolean looksLikeHeader(String line) {
-        String lower = line.toLowerCase(Locale.ROOT);
-        return lower.contains("text") && lower.contains("correct");
+    private boolean looksLikeHeader(CsvReader csv) {
+        boolean text = false, correct = false;
+        for (int i = 0; i < csv.size(); i++) {
+            String lower = csv.getTrimmed(i).toLowerCase(Locale.ROOT);
+            text |= lower.contains("text") || lower.contains("question");
+            correct |= lower.contains("correct");
+        }
+        return text && correct;
     }
 
     private String normalizeDifficulty(String s) {
@@ -190,11 +193,6 @@ public class QuestionsController implements QuestionsWizardFrame.QuestionsContro
         return x;
     }
 
-    private Integer safeInt(String s) {
-        try { return Integer.valueOf(s.trim()); }
-        catch (Exception e) { return 0; }
-    }
-
     private char safeChar(String s, char def) {
         if (s == null) return def;
         String t = s.trim();
@@ -205,37 +203,4 @@ public class QuestionsController implements QuestionsWizardFrame.QuestionsContro
     private int nvl(Integer x, int def) {
         return x == null ? def : x;
     }
-
-    private List<String> parseCsvLine(String line) {
-        List<String> result = new ArrayList<>();
-        StringBuilder cur = new StringBuilder();
-        boolean inQuotes = false;
-
-        for (int i = 0; i < line.length(); i++) {
-            char ch = line.charAt(i);
-
-            if (ch == '"') {
-                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
-                    cur.append('"');
-                    i++;
-                } else {
-                    inQuotes = !inQuotes;
-                }
-            } else if (ch == ',' && !inQuotes) {
-                result.add(cur.toString().trim());
-                cur.setLength(0);
-            } else {
-                cur.append(ch);
-            }
-        }
-        result.add(cur.toString().trim());
-        return result;
-    }
-
-    private String csvEscape(String s) {
-        if (s == null) return "";
-        boolean mustQuote = s.contains(",") || s.contains("\"") || s.contains("\n");
-        String x = s.replace("\"", "\"\"");
-        return mustQuote ? "\"" + x + "\"" : x;
-    }
 }
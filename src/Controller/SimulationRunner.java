@@ -0,0 +1,192 @@
+package Controller;
+
+import Model.Board;
+import Model.Difficulty;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ * Plays many seeded games headlessly through {@link GameController}.
+ *
+ * Game {@code i} always uses the same seeds for its two boards and its bot,
+ * so a run is reproducible no matter how the work is split across threads.
+ * Games are spread over a ForkJoin pool; each worker gets its own bot from
+ * the supplier, and every game writes its result into its own slot, so no
+ * locking is needed.
+ *
+ * Used to balance {@link Difficulty} values and as a throughput check:
+ * <pre>
+ *   java Controller.SimulationRunner [gamesPerDifficulty] [random|safest] [seed]
+ * </pre>
+ */
+public class SimulationRunner {
+
+    /** Leaf size for splitting games between workers. */
+    private static final int CHUNK = 256;
+
+    /** Safety cap; a game never needs more moves than it has cells, plus flags. */
+    private static final int MAX_MOVES_PER_CELL = 4;
+
+    private final ForkJoinPool pool;
+    private final Supplier<Bot> bots;
+
+    public SimulationRunner(Supplier<Bot> bots) {
+        this(ForkJoinPool.commonPool(), bots);
+    }
+
+    public SimulationRunner(ForkJoinPool pool, Supplier<Bot> bots) {
+        this.pool = pool;
+        this.bots = bots;
+    }
+
+    /** Plays {@code games} games on {@code difficulty}, starting from {@code seed}. */
+    public Report run(Difficulty difficulty, int games, long seed) {
+        int[] scores = new int[games];
+        boolean[] wins = new boolean[games];
+        long start = System.nanoTime();
+        pool.invoke(new Chunk(difficulty, seed, 0, games, scores, wins));
+        return new Report(difficulty, scores, wins, System.nanoTime() - start);
+    }
+
+    /** Plays a single game; public so one seed can be replayed and inspected. */
+    public static GameController play(Difficulty difficulty, long gameSeed, Bot bot) {
+        SplittableRandom random = new SplittableRandom(gameSeed);
+        Board b1 = new Board(difficulty, random.nextLong(), true);
+        Board b2 = new Board(difficulty, random.nextLong(), true);
+        GameController game = new GameController("Bot 1", "Bot 2", b1, b2);
+
+        int maxMoves = 2 * b1.getCellCount() * MAX_MOVES_PER_CELL;
+        for (int moves = 0; moves < maxMoves && !game.isGameOver() && !game.isWon(); moves++) {
+            int player = game.getCurrentPlayerIdx();
+            Board board = game.getBoard(player);
+            int move = bot.nextMove(board, random);
+            if (move == Bot.NONE) break;
+
+            int idx = Bot.cellOf(move);
+            int row = idx / board.getCols();
+            int col = idx % board.getCols();
+            if (Bot.isFlag(move)) {
+                game.toggleFlag(player, row, col);
+            } else {
+                game.revealCell(player, row, col);
+            }
+        }
+        return game;
+    }
+
+    /** Seed of game {@code i} in a run started from {@code seed}. */
+    static long gameSeed(long seed, int i) {
+        return new SplittableRandom(seed + i * 0x9E3779B97F4A7C15L).nextLong();
+    }
+
+    private final class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Difficulty difficulty;
+        private final long seed;
+        private final int from, to;
+        private final int[] scores;
+        private final boolean[] wins;
+
+        Chunk(Difficulty difficulty, long seed, int from, int to, int[] scores, boolean[] wins) {
+            this.difficulty = difficulty;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+            this.scores = scores;
+            this.wins = wins;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Chunk(difficulty, seed, from, mid, scores, wins),
+                          new Chunk(difficulty, seed, mid, to, scores, wins));
+                return;
+            }
+            Bot bot = bots.get();
+            for (int i = from; i < to; i++) {
+                GameController game = play(difficulty, gameSeed(seed, i), bot);
+                scores[i] = game.getScoreManager().getScore();
+                wins[i] = game.isWon();
+            }
+        }
+    }
+
+    /** Results of one {@link #run}. */
+    public static class Report {
+        private final Difficulty difficulty;
+        private final int[] sortedScores;
+        private final int wins;
+        private final long elapsedNanos;
+
+        Report(Difficulty difficulty, int[] scores, boolean[] wins, long elapsedNanos) {
+            this.difficulty = difficulty;
+            this.sortedScores = scores.clone();
+            Arrays.sort(sortedScores);
+            int w = 0;
+            for (boolean won : wins) if (won) w++;
+            this.wins = w;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public Difficulty getDifficulty() { return difficulty; }
+        public int getGames()             { return sortedScores.length; }
+        public int getWins()              { return wins; }
+        public long getElapsedNanos()     { return elapsedNanos; }
+
+        public double getWinRate() {
+            return sortedScores.length == 0 ? 0 : (double) wins / sortedScores.length;
+        }
+
+        public double getGamesPerSecond() {
+            return elapsedNanos == 0 ? 0 : sortedScores.length * 1e9 / elapsedNanos;
+        }
+
+        public double getMeanScore() {
+            long sum = 0;
+            for (int s : sortedScores) sum += s;
+            return sortedScores.length == 0 ? 0 : (double) sum / sortedScores.length;
+        }
+
+        /** @param p percentile in [0,100] */
+        public int getScorePercentile(double p) {
+            if (sortedScores.length == 0) return 0;
+            int i = (int) Math.round(p / 100.0 * (sortedScores.length - 1));
+            return sortedScores[Math.max(0, Math.min(sortedScores.length - 1, i))];
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "%-6s games=%d  win=%.2f%%  games/s=%.0f  score mean=%.2f min=%d p10=%d p50=%d p90=%d max=%d",
+                    difficulty, getGames(), getWinRate() * 100, getGamesPerSecond(), getMeanScore(),
+                    getScorePercentile(0), getScorePercentile(10), getScorePercentile(50),
+                    getScorePercentile(90), getScorePercentile(100));
+        }
+    }
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        String botName = args.length > 1 ? args[1] : "random";
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1L;
+
+        Supplier<Bot> bots = switch (botName) {
+            case "random" -> Bot.RandomBot::new;
+            case "safest" -> Bot.SafestCellBot::new;
+            default -> throw new IllegalArgumentException("Unknown bot: " + botName);
+        };
+
+        SimulationRunner runner = new SimulationRunner(bots);
+        System.out.println("bot=" + botName + " seed=" + seed
+                + " threads=" + ForkJoinPool.commonPool().getParallelism());
+        for (Difficulty d : Difficulty.values()) {
+            System.out.println(runner.run(d, games, seed));
+        }
+    }
+}
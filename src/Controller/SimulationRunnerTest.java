@@ -0,0 +1,35 @@
+package Controller;
+
+import Model.Difficulty;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SimulationRunner – reproducible headless games.
+ */
+public class SimulationRunnerTest {
+
+    @Test
+    void testRunIsReproducibleAcrossThreadCounts() {
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            SimulationRunner.Report a = new SimulationRunner(single, Bot.RandomBot::new).run(Difficulty.EASY, 600, 42L);
+            SimulationRunner.Report b = new SimulationRunner(Bot.RandomBot::new).run(Difficulty.EASY, 600, 42L);
+
+            assertEquals(600, a.getGames());
+            assertEquals(a.getWins(), b.getWins(), "Same seed should give the same wins");
+            assertEquals(a.getMeanScore(), b.getMeanScore(), 1e-9, "Same seed should give the same scores");
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    void testSafestBotWinsMostEasyGames() {
+        SimulationRunner.Report report = new SimulationRunner(Bot.SafestCellBot::new).run(Difficulty.EASY, 50, 7L);
+        assertTrue(report.getWins() > 25, "The probability bot should win most easy games");
+    }
+}
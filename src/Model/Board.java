@@ -1,101 +1,412 @@
 package Model;
 
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+import java.util.random.RandomGenerator;
 
 /**
  * Logical representation of a single Minesweeper board for one player.
  * Handles random generation and cascade reveal. No GUI here.
+ *
+ * Cell state is kept in packed primitive arrays (one bit per cell for every
+ * boolean, one byte per cell for the adjacency count) instead of one object
+ * per square. {@link #getCell(int, int)} hands out a lightweight view that
+ * reads and writes straight through to these arrays.
  */
 public class Board {
 
     private final Difficulty difficulty;
     private final int rows;
     private final int cols;
+    private final RandomGenerator random;
+    private boolean seeded;
+    private long seed;
+    private final PlacementStrategy placement;
+    private final boolean safeFirstClick;
+    private final int questionCount;
+    private final int surpriseCount;
 
-    private final Cell[][] grid;
-    private final Random random;
+    // ---- layout (fixed after generation) ----
+    private final long[] mines;
+    private final long[] questions;
+    private final long[] surprises;
+    private final byte[] adjacent;
 
+    // ---- play state ----
+    private final long[] revealed;
+    private final long[] flagged;
+    private final long[] specialUsed;
+    private final long[] flagScored;
+    private final long[] revealScored;
+
+    private boolean generated = false;
+    private int mineCount;
+
+    // safe (non-mine) cells still hidden; kept live so win checks are O(1)
+    private int hiddenSafe;
+
+    // reusable flood-fill stack for revealCascade
+    private int[] work = new int[64];
+
+    // constructor marker: take the size / mine count from the difficulty
+    private static final int STANDARD = -1;
+
+    /** Board with a fresh random seed (see {@link #getCode()}). */
     public Board(Difficulty diff) {
-        this(diff, new Random());
+        this(diff, ThreadLocalRandom.current().nextLong());
     }
 
     public Board(Difficulty diff, Random random) {
+        this(diff, random, PlacementStrategy.SHUFFLE, false);
+    }
+
+    /**
+     * @param placement      how mines / specials are picked (null = shuffle)
+     * @param safeFirstClick if true, nothing is placed until {@link #ensureGenerated}
+     *                       is called with the first clicked cell, which is then
+     *                       guaranteed to be mine-free together with its neighbours
+     */
+    public Board(Difficulty diff, RandomGenerator random, PlacementStrategy placement, boolean safeFirstClick) {
+        this(diff, (random != null) ? random : new SplittableRandom(), placement, safeFirstClick, false, 0L,
+             STANDARD, STANDARD, STANDARD, true);
+    }
+
+    /**
+     * Deterministic board: the same difficulty and seed always give the same
+     * layout (and, for safe-first-click boards, the same first click too).
+     */
+    public Board(Difficulty diff, long seed) {
+        this(diff, seed, false);
+    }
+
+    public Board(Difficulty diff, long seed, boolean safeFirstClick) {
+        this(diff, new SplittableRandom(seed), PlacementStrategy.SHUFFLE, safeFirstClick, true, seed,
+             STANDARD, STANDARD, STANDARD, true);
+    }
+
+    /**
+     * Seeded board of any size (used by benchmarks and tools); the difficulty
+     * only sets the density of mines, questions and surprises.
+     */
+    public Board(Difficulty diff, int rows, int cols, long seed) {
+        this(diff, rows, cols, STANDARD, seed);
+    }
+
+    /** As above, with an explicit mine count (e.g. a sparse board for worst-case cascades). */
+    public Board(Difficulty diff, int rows, int cols, int mines, long seed) {
+        this(diff, new SplittableRandom(seed), PlacementStrategy.SHUFFLE, false, true, seed,
+             checkPositive(rows), checkPositive(cols), mines, true);
+    }
+
+    private Board(Difficulty diff, RandomGenerator random, PlacementStrategy placement,
+                  boolean safeFirstClick, boolean seeded, long seed, int rows, int cols, int mines,
+                  boolean layoutNow) {
         // ------ IMPORTANT: NEVER allow null difficulty ------
         if (diff == null) {
             diff = Difficulty.EASY; // safe default so we don't crash
         }
         this.difficulty = diff;
-        this.rows = diff.rows;
-        this.cols = diff.cols;
-        this.random = (random != null) ? random : new Random();
-        this.grid = new Cell[rows][cols];
+        this.rows = (rows == STANDARD) ? diff.rows : rows;
+        this.cols = (cols == STANDARD) ? diff.cols : cols;
+        this.random = random;
+        this.seeded = seeded;
+        this.seed = seed;
+        this.placement = (placement != null) ? placement : PlacementStrategy.SHUFFLE;
+        this.safeFirstClick = safeFirstClick;
+
+        int n = this.rows * this.cols;
+        int words = (n + 63) >>> 6;
+        this.mines        = new long[words];
+        this.questions    = new long[words];
+        this.surprises    = new long[words];
+        this.adjacent     = new byte[n];
+        this.revealed     = new long[words];
+        this.flagged      = new long[words];
+        this.specialUsed  = new long[words];
+        this.flagScored   = new long[words];
+        this.revealScored = new long[words];
+
+        this.mineCount = Math.max(0, Math.min((mines == STANDARD) ? scaled(diff.mines, diff, n) : mines, n));
+        this.questionCount = scaled(diff.questionCells, diff, n);
+        this.surpriseCount = scaled(diff.surpriseCells, diff, n);
+        this.hiddenSafe = n - mineCount;
 
-        generate();
+        if (!safeFirstClick && layoutNow) {
+            generate(-1, -1);
+        }
     }
 
     public Difficulty getDifficulty() { return difficulty; }
     public int getRows()              { return rows; }
     public int getCols()              { return cols; }
+    public int getCellCount()         { return rows * cols; }
+    public int getMineCount()         { return mineCount; }
+    public boolean isSafeFirstClick() { return safeFirstClick; }
+    public boolean isSeeded()         { return seeded; }
+    public long getSeed()             { return seed; }
+
+    /**
+     * Short shareable code (difficulty + seed) that rebuilds this exact board
+     * via {@link BoardGenerator#fromCode(String)}; null for boards created
+     * from a caller-supplied Random or with a custom size.
+     */
+    public String getCode() {
+        if (!seeded || rows != difficulty.rows || cols != difficulty.cols) return null;
+        return BoardCode.encode(difficulty, seed, safeFirstClick);
+    }
+
+    /** False only for a safe-first-click board that has not been clicked yet. */
+    public boolean isGenerated()      { return generated; }
+
+    /**
+     * Places mines and specials if this board is still waiting for its first
+     * click. Callers should invoke it before looking at the clicked cell.
+     */
+    public void ensureGenerated(int row, int col) {
+        if (generated) return;
+        if (!isInside(row, col)) {
+            throw new IndexOutOfBoundsException("Cell out of board: " + row + "," + col);
+        }
+        generate(row, col);
+    }
+
+    /**
+     * Gives a board that is still waiting for its first click the layout of
+     * {@code source} (e.g. one found by {@link NoGuessBoardGenerator}). The
+     * seed comes along, so {@link #getCode()} still rebuilds the layout.
+     */
+    public void layOutFrom(Board source) {
+        if (generated) throw new IllegalStateException("Board is already laid out");
+        if (!source.generated || source.difficulty != difficulty
+                || source.rows != rows || source.cols != cols) {
+            throw new IllegalArgumentException("Layout does not fit this board");
+        }
+        System.arraycopy(source.mines, 0, mines, 0, mines.length);
+        System.arraycopy(source.questions, 0, questions, 0, questions.length);
+        System.arraycopy(source.surprises, 0, surprises, 0, surprises.length);
+        System.arraycopy(source.adjacent, 0, adjacent, 0, adjacent.length);
+        mineCount = source.mineCount;
+        hiddenSafe = rows * cols - mineCount;
+        seeded = source.seeded;
+        seed = source.seed;
+        generated = true;
+    }
+
+    /** Row-major index of (r,c); callers are expected to pass in-bounds coordinates. */
+    public int index(int r, int c)    { return r * cols + c; }
 
     public Cell getCell(int r, int c) {
         if (r < 0 || r >= rows || c < 0 || c >= cols) {
             throw new IndexOutOfBoundsException("Cell out of board: " + r + "," + c);
         }
-        return grid[r][c];
+        int idx = index(r, c);
+        return new BoardCell(this, idx, r, c, getType(idx));
     }
 
-    // ---------- Generation logic: mines, numbers, specials ----------
+    // ---------- Index-based access to the packed state ----------
 
-    private void generate() {
-        // start EMPTY
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                grid[r][c] = new EmptyCell(r, c);
-            }
+    public CellType getType(int idx) {
+        if (bit(mines, idx))     return CellType.MINE;
+        if (bit(questions, idx)) return CellType.QUESTION;
+        if (bit(surprises, idx)) return CellType.SURPRISE;
+        return adjacent[idx] > 0 ? CellType.NUMBER : CellType.EMPTY;
+    }
+
+    public int getAdjacentMines(int idx)     { return adjacent[idx]; }
+    public boolean isMine(int idx)           { return bit(mines, idx); }
+    public boolean isRevealed(int idx)       { return bit(revealed, idx); }
+    public boolean isFlagged(int idx)        { return bit(flagged, idx); }
+    public boolean isSpecialUsed(int idx)    { return bit(specialUsed, idx); }
+    public boolean isFlagScored(int idx)     { return bit(flagScored, idx); }
+    public boolean isRevealScored(int idx)   { return bit(revealScored, idx); }
+
+    /** Revealed bits of cells 64*w .. 64*w+63, for callers that track what changed. */
+    long revealedWord(int w)                 { return revealed[w]; }
+
+    public void reveal(int idx) {
+        long mask = 1L << idx;
+        int w = idx >>> 6;
+        if ((revealed[w] & mask) != 0) return;
+        revealed[w] |= mask;
+        if ((mines[w] & mask) == 0) hiddenSafe--;
+    }
+
+    public void toggleFlag(int idx)                      { flagged[idx >>> 6] ^= 1L << idx; }
+    public void setSpecialUsed(int idx, boolean used)    { setBit(specialUsed, idx, used); }
+    public void setFlagScored(int idx, boolean used)     { setBit(flagScored, idx, used); }
+    public void setRevealScored(int idx, boolean used)   { setBit(revealScored, idx, used); }
+
+    // per-cell play state bits, as recorded by the undo journal
+    static final int STATE_REVEALED      = 1;
+    static final int STATE_REVEAL_SCORED = 1 << 1;
+    static final int STATE_FLAGGED       = 1 << 2;
+    static final int STATE_FLAG_SCORED   = 1 << 3;
+    static final int STATE_SPECIAL_USED  = 1 << 4;
+    static final int STATE_BITS          = 5;
+
+    /**
+     * Flips the given {@code STATE_*} bits of a cell. Flipping the bits a move
+     * changed undoes it, flipping them again redoes it; hiding a safe cell
+     * puts it back into the hidden-safe count.
+     */
+    void flipState(int idx, int bits) {
+        int w = idx >>> 6;
+        long mask = 1L << idx;
+        if ((bits & STATE_REVEALED) != 0) {
+            revealed[w] ^= mask;
+            if ((mines[w] & mask) == 0) hiddenSafe += ((revealed[w] & mask) != 0) ? -1 : 1;
         }
+        if ((bits & STATE_REVEAL_SCORED) != 0) revealScored[w] ^= mask;
+        if ((bits & STATE_FLAGGED) != 0)       flagged[w] ^= mask;
+        if ((bits & STATE_FLAG_SCORED) != 0)   flagScored[w] ^= mask;
+        if ((bits & STATE_SPECIAL_USED) != 0)  specialUsed[w] ^= mask;
+    }
+
+    private static int checkPositive(int size) {
+        if (size <= 0) throw new IllegalArgumentException("Board size must be positive: " + size);
+        return size;
+    }
+
+    /** Scales a per-difficulty count to a board of n cells (unchanged at the standard size). */
+    private static int scaled(int count, Difficulty diff, int n) {
+        int standard = diff.rows * diff.cols;
+        return (n == standard) ? count : (int) Math.round((double) count * n / standard);
+    }
+
+    private static boolean bit(long[] bits, int idx) {
+        return (bits[idx >>> 6] & (1L << idx)) != 0;
+    }
+
+    private static void setBit(long[] bits, int idx, boolean on) {
+        if (on) bits[idx >>> 6] |= 1L << idx;
+        else    bits[idx >>> 6] &= ~(1L << idx);
+    }
+
+    // ---------- Generation logic: mines, numbers, specials ----------
+
+    /**
+     * Builds the layout. When (safeRow,safeCol) is inside the board that cell
+     * and its neighbours are kept free of mines (shrinking to just the cell on
+     * boards too dense for a full 3x3), and the cell itself gets no special.
+     */
+    private void generate(int safeRow, int safeCol) {
+        int n = rows * cols;
+        int[] pool = new int[n];
+        boolean hasSafe = isInside(safeRow, safeCol);
 
         // 1) place mines
-        placeRandomCells(CellType.MINE, difficulty.mines);
+        int radius = !hasSafe ? -1 : (n - 9 >= mineCount ? 1 : (n - 1 >= mineCount ? 0 : -1));
+        int size = 0;
+        for (int idx = 0; idx < n; idx++) {
+            if (radius >= 0
+                    && Math.abs(idx / cols - safeRow) <= radius
+                    && Math.abs(idx % cols - safeCol) <= radius) continue;
+            pool[size++] = idx;
+        }
+        mineCount = Math.min(mineCount, size);
+        placement.choose(pool, size, mineCount, random);
+        for (int i = 0; i < mineCount; i++) setBit(mines, pool[i], true);
+        hiddenSafe = n - mineCount;
 
         // 2) compute numbers
         calculateNumbers();
 
         // 3) place questions on empty cells
-        placeRandomCells(CellType.QUESTION, difficulty.questionCells);
+        int safeIdx = hasSafe ? index(safeRow, safeCol) : -1;
+        size = 0;
+        for (int idx = 0; idx < n; idx++) {
+            if (idx != safeIdx && getType(idx) == CellType.EMPTY) pool[size++] = idx;
+        }
+        int q = Math.min(questionCount, size);
+        placement.choose(pool, size, q, random);
+        for (int i = 0; i < q; i++) setBit(questions, pool[i], true);
+
+        // 4) place surprises on the empty cells that are left
+        size -= q;
+        System.arraycopy(pool, q, pool, 0, size);
+        int s = Math.min(surpriseCount, size);
+        placement.choose(pool, size, s, random);
+        for (int i = 0; i < s; i++) setBit(surprises, pool[i], true);
 
-        // 4) place surprises on empty cells
-        placeRandomCells(CellType.SURPRISE, difficulty.surpriseCells);
+        generated = true;
     }
 
-    private void placeRandomCells(CellType type, int count) {
-        int placed = 0;
-        while (placed < count) {
-            int r = random.nextInt(rows);
-            int c = random.nextInt(cols);
-            Cell current = grid[r][c];
-            if (current.getType() != CellType.EMPTY) continue;
+    /**
+     * Computes every adjacency count in one pass with separable sums:
+     * each row of the mine bitmap is turned into 3-wide horizontal sums,
+     * and a cell's count is the sum of those for the rows above, at and below.
+     * Only three rolling int rows are kept.
+     */
+    private void calculateNumbers() {
+        int[] above = new int[cols];
+        int[] current = new int[cols];
+        int[] below = new int[cols];
+        rowSums(0, current);
+        if (rows > 1) rowSums(1, below);
 
-            switch (type) {
-                case MINE      -> grid[r][c] = new MineCell(r, c);
-                case QUESTION  -> grid[r][c] = new QuestionCell(r, c);
-                case SURPRISE  -> grid[r][c] = new SurpriseCell(r, c);
-                default -> throw new IllegalArgumentException("Unsupported placement type: " + type);
+        for (int r = 0; r < rows; r++) {
+            int base = r * cols;
+            for (int c = 0; c < cols; c++) {
+                int idx = base + c;
+                adjacent[idx] = bit(mines, idx) ? 0 : (byte) (above[c] + current[c] + below[c]);
             }
-            placed++;
+
+            int[] recycled = above;
+            above = current;
+            current = below;
+            below = recycled;
+            if (r + 2 < rows) rowSums(r + 2, below);
+            else Arrays.fill(below, 0);
         }
     }
 
-    private void calculateNumbers() {
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                if (grid[r][c].getType() == CellType.MINE) continue;
+    /** out[c] = mines at (row, c-1) + (row, c) + (row, c+1). */
+    private void rowSums(int row, int[] out) {
+        int base = row * cols;
+        int left = 0;
+        int mid = bit(mines, base) ? 1 : 0;
+        for (int c = 0; c < cols; c++) {
+            int right = (c + 1 < cols && bit(mines, base + c + 1)) ? 1 : 0;
+            out[c] = left + mid + right;
+            left = mid;
+            mid = right;
+        }
+    }
 
-                int minesAround = countAdjacentMines(r, c);
-                if (minesAround > 0) {
-                    grid[r][c] = new NumberCell(r, c, minesAround);
-                } else {
-                    ((Cell) grid[r][c]).setAdjacentMines(0);
-                }
+    /**
+     * Moves a hidden mine to another hidden, non-special cell and patches the
+     * adjacency counts around both cells (±1 per neighbour) instead of
+     * recomputing the board. Useful for relocating a mine under a first click.
+     */
+    public void moveMine(int from, int to) {
+        if (!isMine(from) || isRevealed(from)) {
+            throw new IllegalArgumentException("No hidden mine at index " + from);
+        }
+        CellType target = getType(to);
+        if ((target != CellType.EMPTY && target != CellType.NUMBER) || isRevealed(to)) {
+            throw new IllegalArgumentException("Cannot move a mine onto index " + to);
+        }
+
+        setBit(mines, from, false);
+        addAround(from, -1);
+        setBit(mines, to, true);
+        addAround(to, +1);
+
+        adjacent[to] = 0;
+        adjacent[from] = (byte) countAdjacentMines(from / cols, from % cols);
+    }
+
+    private void addAround(int idx, int delta) {
+        int row = idx / cols, col = idx % cols;
+        for (int dr = -1; dr <= 1; dr++) {
+            for (int dc = -1; dc <= 1; dc++) {
+                if (dr == 0 && dc == 0) continue;
+                int nr = row + dr, nc = col + dc;
+                if (!isInside(nr, nc)) continue;
+                int n = index(nr, nc);
+                if (!bit(mines, n)) adjacent[n] += delta;
             }
         }
     }
@@ -106,7 +417,7 @@ public class Board {
             for (int dc = -1; dc <= 1; dc++) {
                 if (dr == 0 && dc == 0) continue;
                 int nr = row + dr, nc = col + dc;
-                if (isInside(nr, nc) && grid[nr][nc].getType() == CellType.MINE) {
+                if (isInside(nr, nc) && bit(mines, index(nr, nc))) {
                     count++;
                 }
             }
@@ -123,59 +434,267 @@ public class Board {
      * Returns the list of all cells that became revealed now.
      */
     public List<Cell> revealCascade(int row, int col) {
-        List<Cell> revealed = new ArrayList<>();
-        Cell start = getCell(row, col);
-        if (start.isRevealed() || start.isFlagged()) return revealed;
-
-        Queue<Cell> queue = new ArrayDeque<>();
-        queue.add(start);
-
-        while (!queue.isEmpty()) {
-            Cell cell = queue.remove();
-            if (cell.isRevealed() || cell.isFlagged()) continue;
-
-            cell.reveal();
-            revealed.add(cell);
-
-            if (cell.getType() == CellType.EMPTY) {
-                int r = cell.getRow();
-                int c = cell.getCol();
-                for (int dr = -1; dr <= 1; dr++) {
-                    for (int dc = -1; dc <= 1; dc++) {
-                        if (dr == 0 && dc == 0) continue;
-                        int nr = r + dr, nc = c + dc;
-                        if (isInside(nr, nc)) {
-                            Cell neighbor = grid[nr][nc];
-                            if (!neighbor.isRevealed() && !neighbor.isFlagged()) {
-                                queue.add(neighbor);
-                            }
+        List<Cell> revealedNow = new ArrayList<>();
+        revealCascade(row, col, idx -> revealedNow.add(
+                new BoardCell(this, idx, idx / cols, idx % cols, getType(idx))));
+        return revealedNow;
+    }
+
+    /**
+     * Allocation-free variant of {@link #revealCascade(int, int)}.
+     * Uses a scanline flood fill over the board's reusable int work stack:
+     * every cell is revealed (and pushed, if empty) at most once, and each
+     * newly revealed index is passed to {@code onRevealed} (may be null).
+     * A safe-first-click board that is still waiting is laid out around
+     * (row,col) first.
+     *
+     * @return how many cells became revealed
+     */
+    public int revealCascade(int row, int col, IntConsumer onRevealed) {
+        if (!isInside(row, col)) {
+            throw new IndexOutOfBoundsException("Cell out of board: " + row + "," + col);
+        }
+        ensureGenerated(row, col);
+        int start = index(row, col);
+        if (isRevealed(start) || isFlagged(start)) return 0;
+
+        open(start, onRevealed);
+        if (!isEmptyAt(start)) return 1;
+
+        work = ensureCapacity(work, 1);
+        work[0] = start;
+        return 1 + flood(1, onRevealed);
+    }
+
+    /**
+     * Reveal a whole block at once ("chording"): if (row,col) is a revealed
+     * number with exactly that many flagged neighbours, every other hidden
+     * neighbour is opened. Cascades started by those neighbours are merged
+     * into a single flood fill. A wrongly placed flag means a mine gets
+     * opened too – it is reported like any other cell.
+     *
+     * @return all cells that became revealed now (empty if the chord does not apply)
+     */
+    public List<Cell> chord(int row, int col) {
+        List<Cell> revealedNow = new ArrayList<>();
+        chord(row, col, idx -> revealedNow.add(
+                new BoardCell(this, idx, idx / cols, idx % cols, getType(idx))));
+        return revealedNow;
+    }
+
+    /** Allocation-free variant of {@link #chord(int, int)}; returns how many cells became revealed. */
+    public int chord(int row, int col, IntConsumer onRevealed) {
+        if (!isInside(row, col)) {
+            throw new IndexOutOfBoundsException("Cell out of board: " + row + "," + col);
+        }
+        int center = index(row, col);
+        if (!isRevealed(center) || getType(center) != CellType.NUMBER) return 0;
+
+        int r0 = Math.max(row - 1, 0), r1 = Math.min(row + 1, rows - 1);
+        int c0 = Math.max(col - 1, 0), c1 = Math.min(col + 1, cols - 1);
+        int flags = 0;
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                if (isFlagged(r * cols + c)) flags++;
+            }
+        }
+        if (flags != adjacent[center]) return 0;
+
+        int opened = 0;
+        int sp = 0;
+        work = ensureCapacity(work, 9);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int n = r * cols + c;
+                if (isRevealed(n) || isFlagged(n)) continue;
+                open(n, onRevealed);
+                opened++;
+                if (isEmptyAt(n)) work[sp++] = n;
+            }
+        }
+        return opened + flood(sp, onRevealed);
+    }
+
+    /**
+     * Scanline flood fill from the empty cells on the work stack (already
+     * opened). Every cell is revealed (and pushed, if empty) at most once.
+     *
+     * @return how many more cells became revealed
+     */
+    private int flood(int sp, IntConsumer onRevealed) {
+        int opened = 0;
+        while (sp > 0) {
+            int seed = work[--sp];
+            int r = seed / cols;
+            int base = r * cols;
+            int c = seed - base;
+
+            // grow the run of empty cells left and right; the first
+            // non-empty cell on each side is opened as its border
+            int lo = c;
+            while (lo > 0) {
+                int n = base + lo - 1;
+                if (isRevealed(n) || isFlagged(n)) break;
+                open(n, onRevealed);
+                opened++;
+                if (!isEmptyAt(n)) break;
+                lo--;
+            }
+            int hi = c;
+            while (hi < cols - 1) {
+                int n = base + hi + 1;
+                if (isRevealed(n) || isFlagged(n)) break;
+                open(n, onRevealed);
+                opened++;
+                if (!isEmptyAt(n)) break;
+                hi++;
+            }
+
+            // rows above and below: open borders, seed one cell per empty run
+            int from = Math.max(lo - 1, 0);
+            int to = Math.min(hi + 1, cols - 1);
+            for (int nr = r - 1; nr <= r + 1; nr += 2) {
+                if (nr < 0 || nr >= rows) continue;
+                int nbase = nr * cols;
+                boolean inRun = false;
+                for (int x = from; x <= to; x++) {
+                    int n = nbase + x;
+                    if (isRevealed(n) || isFlagged(n)) {
+                        inRun = false;
+                        continue;
+                    }
+                    if (isEmptyAt(n)) {
+                        // the rest of this run is opened when the seed grows
+                        if (!inRun) {
+                            open(n, onRevealed);
+                            opened++;
+                            work = ensureCapacity(work, sp + 1);
+                            work[sp++] = n;
+                            inRun = true;
                         }
+                    } else {
+                        open(n, onRevealed);
+                        opened++;
+                        inRun = false;
                     }
                 }
             }
         }
 
-        return revealed;
+        return opened;
+    }
+
+    private void open(int idx, IntConsumer onRevealed) {
+        reveal(idx);
+        if (onRevealed != null) onRevealed.accept(idx);
+    }
+
+    /** True for a plain EMPTY cell – the only type that continues a cascade. */
+    private boolean isEmptyAt(int idx) {
+        if (adjacent[idx] != 0) return false;
+        long mask = 1L << idx;
+        int w = idx >>> 6;
+        return ((mines[w] | questions[w] | surprises[w]) & mask) == 0;
+    }
+
+    private static int[] ensureCapacity(int[] a, int size) {
+        return size <= a.length ? a : Arrays.copyOf(a, Math.max(size, a.length * 2));
     }
 
 
+    /** Number of non-mine cells that are still hidden. */
+    public int remainingSafeCells() {
+        return hiddenSafe;
+    }
+
     public boolean isAllSafeCellsRevealed() {
-        // Go over all cells in the board
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                Cell cell = getCell(r, c);
+        // All non-mine cells are revealed → board is cleared
+        return hiddenSafe == 0;
+    }
 
-                // "Safe" = any cell that is NOT a mine
-                if (cell.getType() != CellType.MINE && !cell.isRevealed()) {
-                    // There is at least one safe cell still hidden → not yet won
-                    return false;
-                }
+    // ---------- compact state (snapshots) ----------
+
+    private static final int STATE_HEADER = 2 + 4 + 4 + 4 + 8;
+
+    /** Bytes {@link #writeState} uses: a small header plus eight bitsets. */
+    int stateBytes() {
+        return STATE_HEADER + 8 * mines.length * Long.BYTES;
+    }
+
+    /**
+     * Writes layout and play state as raw bitsets; adjacency counts are not
+     * stored since they follow from the mines.
+     */
+    void writeState(ByteBuffer out) {
+        out.put((byte) difficulty.ordinal());
+        out.put((byte) ((seeded ? 1 : 0) | (generated ? 2 : 0) | (safeFirstClick ? 4 : 0)));
+        out.putInt(rows).putInt(cols).putInt(mineCount).putLong(seed);
+        for (long[] bits : new long[][] {mines, questions, surprises, revealed, flagged,
+                                         specialUsed, flagScored, revealScored}) {
+            out.asLongBuffer().put(bits);
+            out.position(out.position() + bits.length * Long.BYTES);
+        }
+    }
+
+    /**
+     * Rebuilds a board written by {@link #writeState}.
+     * @throws IllegalArgumentException if the state is not one writeState can
+     *         produce (bad difficulty, sizes or mine count, or too few bytes left)
+     */
+    static Board readState(ByteBuffer in) {
+        int ordinal = in.get();
+        if (ordinal < 0 || ordinal >= Difficulty.values().length) {
+            throw new IllegalArgumentException("Bad board state: difficulty " + ordinal);
+        }
+        Difficulty diff = Difficulty.values()[ordinal];
+        int flags = in.get();
+        boolean seeded = (flags & 1) != 0;
+        boolean generated = (flags & 2) != 0;
+        boolean safeFirstClick = (flags & 4) != 0;
+        int rows = checkPositive(in.getInt());
+        int cols = checkPositive(in.getInt());
+        int mines = in.getInt();
+        long seed = in.getLong();
+        // the eight bitsets must still be in the buffer, which also bounds rows * cols
+        long cells = (long) rows * cols;
+        if (cells > (long) in.remaining() * Byte.SIZE) {
+            throw new IllegalArgumentException("Bad board state: " + rows + "x" + cols + " board");
+        }
+        long words = (cells + 63) >>> 6;
+        if (words * 8 * Long.BYTES > in.remaining()) {
+            throw new IllegalArgumentException("Bad board state: truncated bitsets");
+        }
+        if (mines < 0 || mines > cells) {
+            throw new IllegalArgumentException("Bad board state: " + mines + " mines on " + cells + " cells");
+        }
+
+        // an unplaced seeded board still needs its untouched seeded generator
+        RandomGenerator random = seeded ? new SplittableRandom(seed) : new SplittableRandom();
+        Board b = new Board(diff, random, PlacementStrategy.SHUFFLE, safeFirstClick, seeded, seed,
+                            rows, cols, mines, false);
+        for (long[] bits : new long[][] {b.mines, b.questions, b.surprises, b.revealed, b.flagged,
+                                         b.specialUsed, b.flagScored, b.revealScored}) {
+            in.asLongBuffer().get(bits);
+            in.position(in.position() + bits.length * Long.BYTES);
+        }
+
+        if (generated) {
+            b.generated = true;
+            b.calculateNumbers();
+            int placed = 0;
+            int hidden = 0;
+            for (int w = 0; w < b.mines.length; w++) {
+                placed += Long.bitCount(b.mines[w]);
+                hidden += Long.bitCount(~b.mines[w] & ~b.revealed[w]);
             }
-            
-   
+            // bits past the last cell of the last word are never set, so don't count them
+            hidden -= b.mines.length * 64 - rows * cols;
+            b.mineCount = placed;
+            b.hiddenSafe = hidden;
+        } else if (!safeFirstClick) {
+            b.generate(-1, -1);
         }
-        // All non-mine cells are revealed → board is cleared
-        return true;
+        return b;
     }
 
 }
@@ -0,0 +1,34 @@
+package Model;
+
+/**
+ * Flyweight view of one square of a {@link Board}.
+ * Holds only the board reference and the cell index; every getter and
+ * setter goes straight to the board's packed arrays.
+ */
+final class BoardCell extends Cell {
+
+    private final Board board;
+    private final int index;
+
+    BoardCell(Board board, int index, int row, int col, CellType type) {
+        super(row, col, type);
+        this.board = board;
+        this.index = index;
+    }
+
+    @Override public boolean isRevealed()   { return board.isRevealed(index); }
+    @Override public boolean isFlagged()    { return board.isFlagged(index); }
+    @Override public int getAdjacentMines() { return board.getAdjacentMines(index); }
+
+    @Override public void reveal()          { board.reveal(index); }
+    @Override public void toggleFlag()      { board.toggleFlag(index); }
+
+    @Override public boolean isSpecialUsed()             { return board.isSpecialUsed(index); }
+    @Override public void setSpecialUsed(boolean used)   { board.setSpecialUsed(index, used); }
+
+    @Override public boolean isFlagScored()              { return board.isFlagScored(index); }
+    @Override public void setFlagScored(boolean used)    { board.setFlagScored(index, used); }
+
+    @Override public boolean isRevealScored()            { return board.isRevealScored(index); }
+    @Override public void setRevealScored(boolean used)  { board.setRevealScored(index, used); }
+}
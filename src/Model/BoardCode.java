@@ -0,0 +1,89 @@
+package Model;
+
+/**
+ * Encodes a board's difficulty and 64-bit seed as a short, human-friendly
+ * code such as {@code 4Z0QF-8M2KD-7TXA9}, and decodes it back.
+ *
+ * Layout (Crockford base32, 15 symbols): one symbol for difficulty and the
+ * safe-first-click flag, 13 symbols for the seed, one check symbol.
+ * Decoding ignores dashes and case and accepts O/I/L for 0/1/1.
+ */
+public final class BoardCode {
+
+    private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    private static final int SEED_SYMBOLS = 13;   // 13 * 5 bits >= 64
+    private static final int LENGTH = 1 + SEED_SYMBOLS + 1;
+
+    private final Difficulty difficulty;
+    private final long seed;
+    private final boolean safeFirstClick;
+
+    private BoardCode(Difficulty difficulty, long seed, boolean safeFirstClick) {
+        this.difficulty = difficulty;
+        this.seed = seed;
+        this.safeFirstClick = safeFirstClick;
+    }
+
+    public Difficulty getDifficulty()  { return difficulty; }
+    public long getSeed()              { return seed; }
+    public boolean isSafeFirstClick()  { return safeFirstClick; }
+
+    public static String encode(Difficulty difficulty, long seed, boolean safeFirstClick) {
+        int[] digits = new int[LENGTH];
+        digits[0] = difficulty.ordinal() * 2 + (safeFirstClick ? 1 : 0);
+        for (int i = SEED_SYMBOLS; i >= 1; i--) {
+            digits[i] = (int) (seed & 31);
+            seed >>>= 5;
+        }
+        digits[LENGTH - 1] = checksum(digits);
+
+        StringBuilder sb = new StringBuilder(LENGTH + 2);
+        for (int i = 0; i < LENGTH; i++) {
+            if (i > 0 && i % 5 == 0) sb.append('-');
+            sb.append(ALPHABET.charAt(digits[i]));
+        }
+        return sb.toString();
+    }
+
+    /** @throws IllegalArgumentException if the code is malformed or fails its check symbol */
+    public static BoardCode decode(String code) {
+        if (code == null) throw new IllegalArgumentException("Board code is null");
+
+        int[] digits = new int[LENGTH];
+        int n = 0;
+        for (int i = 0; i < code.length(); i++) {
+            char ch = Character.toUpperCase(code.charAt(i));
+            if (ch == '-' || Character.isWhitespace(ch)) continue;
+            if (ch == 'O') ch = '0';
+            if (ch == 'I' || ch == 'L') ch = '1';
+            int v = ALPHABET.indexOf(ch);
+            if (v < 0 || n == LENGTH) {
+                throw new IllegalArgumentException("Invalid board code: " + code);
+            }
+            digits[n++] = v;
+        }
+        if (n != LENGTH || digits[LENGTH - 1] != checksum(digits)) {
+            throw new IllegalArgumentException("Invalid board code: " + code);
+        }
+
+        Difficulty[] all = Difficulty.values();
+        int diff = digits[0] / 2;
+        if (diff >= all.length || digits[1] > 15) {   // top symbol only carries 4 bits
+            throw new IllegalArgumentException("Invalid board code: " + code);
+        }
+
+        long seed = 0;
+        for (int i = 1; i <= SEED_SYMBOLS; i++) {
+            seed = (seed << 5) | digits[i];
+        }
+        return new BoardCode(all[diff], seed, (digits[0] & 1) != 0);
+    }
+
+    private static int checksum(int[] digits) {
+        int sum = 0;
+        for (int i = 0; i < LENGTH - 1; i++) {
+            sum = (sum * 7 + digits[i] + 1) % 31;
+        }
+        return sum;
+    }
+}
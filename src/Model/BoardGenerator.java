@@ -1,13 +1,124 @@
 package Model;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Factory-style class for creating Boards for the given difficulty.
  * Generates a full board with mines, question cells, surprise cells
  * and computes adjacency numbers according to the Difficulty config.
+ *
+ * Optionally keeps a small pool of ready boards per difficulty, refilled by
+ * one background thread, so {@link #take(Difficulty)} can hand out a board
+ * without generating it on the caller's (usually the EDT's) time.
+ * Only ordinary boards are pooled: safe-first-click and no-guess boards are
+ * laid out at the first click, so there is nothing to build ahead for them.
+ * {@link #close()} stops the thread.
  */
-public class BoardGenerator {
+public class BoardGenerator implements AutoCloseable {
+
+    private final int poolSize;
+    private final Map<Difficulty, BlockingQueue<Board>> pool = new EnumMap<>(Difficulty.class);
+    private final Map<Difficulty, AtomicBoolean> refilling = new EnumMap<>(Difficulty.class);
+    private ExecutorService worker;
+    private volatile boolean shutdown = false;
+
+    /** Generator without a pool – every board is built on demand. */
+    public BoardGenerator() {
+        this(0);
+    }
+
+    /** @param poolSize how many ready boards to keep per difficulty (0 = no pool) */
+    public BoardGenerator(int poolSize) {
+        this.poolSize = Math.max(0, poolSize);
+        for (Difficulty d : Difficulty.values()) {
+            pool.put(d, new ArrayBlockingQueue<>(Math.max(1, this.poolSize)));
+            refilling.put(d, new AtomicBoolean(false));
+        }
+    }
 
     public Board generate(Difficulty difficulty) {
         return new Board(difficulty);
     }
+
+    /**
+     * Same as {@link #generate(Difficulty)}, but with {@code safeFirstClick}
+     * the layout is deferred until {@link Board#ensureGenerated} is called
+     * with the player's first click.
+     */
+    public Board generate(Difficulty difficulty, boolean safeFirstClick) {
+        return new Board(difficulty, ThreadLocalRandom.current().nextLong(), safeFirstClick);
+    }
+
+    /** Rebuilds the exact board described by a code from {@link Board#getCode()}. */
+    public Board fromCode(String code) {
+        BoardCode decoded = BoardCode.decode(code);
+        return new Board(decoded.getDifficulty(), decoded.getSeed(), decoded.isSafeFirstClick());
+    }
+
+    /**
+     * Returns a pre-generated board if one is ready, otherwise generates one
+     * right away. Never waits on the background worker; always schedules a
+     * refill so the next call is likely to be served from the pool.
+     */
+    public Board take(Difficulty difficulty) {
+        if (difficulty == null) difficulty = Difficulty.EASY;
+        Board board = (poolSize > 0) ? pool.get(difficulty).poll() : null;
+        warmUp(difficulty);
+        return (board != null) ? board : generate(difficulty);
+    }
+
+    /** Asks the background worker to fill the pool for this difficulty. */
+    public void warmUp(Difficulty difficulty) {
+        if (poolSize == 0 || shutdown || difficulty == null) return;
+        AtomicBoolean flag = refilling.get(difficulty);
+        if (flag.compareAndSet(false, true)) {
+            worker().execute(() -> refill(difficulty, flag));
+        }
+    }
+
+    /** Number of boards currently waiting in the pool. */
+    public int pooled(Difficulty difficulty) {
+        return pool.get(difficulty).size();
+    }
+
+    /** Stops the background worker; {@link #take} keeps working synchronously. */
+    @Override
+    public synchronized void close() {
+        shutdown = true;
+        if (worker != null) worker.shutdownNow();
+    }
+
+    private void refill(Difficulty difficulty, AtomicBoolean flag) {
+        BlockingQueue<Board> queue = pool.get(difficulty);
+        try {
+            while (!shutdown && queue.remainingCapacity() > 0) {
+                queue.offer(generate(difficulty));
+            }
+        } finally {
+            flag.set(false);
+        }
+        // a take() may have slipped in between the last check and clearing the flag
+        if (!shutdown && queue.remainingCapacity() > 0) {
+            warmUp(difficulty);
+        }
+    }
+
+    private synchronized ExecutorService worker() {
+        if (worker == null) {
+            worker = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "board-pregen");
+                t.setDaemon(true);
+                t.setPriority(Thread.MIN_PRIORITY);
+                return t;
+            });
+        }
+        return worker;
+    }
 }
@@ -68,6 +68,180 @@ public class BoardGeneratorTest {
         }
     }
 
+    @Test
+    void testSafeFirstClickKeepsNeighbourhoodClear() {
+        for (int i = 0; i < 50; i++) {
+            Board board = generator.generate(Difficulty.HARD, true);
+            assertFalse(board.isGenerated(), "Layout should wait for the first click");
+
+            int row = i % Difficulty.HARD.rows;
+            int col = (i * 7) % Difficulty.HARD.cols;
+            board.ensureGenerated(row, col);
+            assertTrue(board.isGenerated());
+
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    int r = row + dr, c = col + dc;
+                    if (r < 0 || c < 0 || r >= board.getRows() || c >= board.getCols()) continue;
+                    assertNotEquals(CellType.MINE, board.getCell(r, c).getType(),
+                            "Mine next to first click at [" + r + "," + c + "]");
+                }
+            }
+            assertEquals(CellType.EMPTY, board.getCell(row, col).getType(),
+                    "First click should open a cascade");
+            assertEquals(Difficulty.HARD.mines, board.getMineCount());
+        }
+    }
+
+    @Test
+    void testCascadeLaysOutDeferredBoardAroundClick() {
+        Board board = generator.generate(Difficulty.MEDIUM, true);
+        int opened = board.revealCascade(4, 5, idx -> { });
+
+        assertTrue(board.isGenerated(), "Cascade should lay the board out first");
+        assertTrue(opened > 1, "First click should open a cascade");
+        assertFalse(board.isMine(board.index(4, 5)));
+    }
+
+    @Test
+    void testShufflePlacementPicksDistinctCellsAtFullDensity() {
+        int[] pool = new int[500];
+        for (int i = 0; i < pool.length; i++) pool[i] = i;
+
+        PlacementStrategy.SHUFFLE.choose(pool, pool.length, pool.length, new java.util.Random(1));
+
+        boolean[] seen = new boolean[pool.length];
+        for (int idx : pool) {
+            assertFalse(seen[idx], "Index picked twice: " + idx);
+            seen[idx] = true;
+        }
+    }
+
+    @Test
+    void testMoveMineKeepsAdjacentCountsConsistent() {
+        Board board = new Board(Difficulty.MEDIUM, new java.util.Random(42));
+        java.util.Random pick = new java.util.Random(9);
+
+        for (int move = 0; move < 40; move++) {
+            int from, to;
+            do { from = pick.nextInt(board.getCellCount()); } while (!board.isMine(from));
+            do { to = pick.nextInt(board.getCellCount()); }
+            while (board.getType(to) != CellType.EMPTY && board.getType(to) != CellType.NUMBER);
+
+            board.moveMine(from, to);
+            assertTrue(board.isMine(to));
+            assertFalse(board.isMine(from));
+        }
+
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                Cell cell = board.getCell(r, c);
+                if (cell.getType() == CellType.MINE) continue;
+                assertEquals(countNeighborMines(board, r, c), cell.getAdjacentMines(),
+                        "Wrong adjacent mine count at [" + r + "," + c + "] after moving mines");
+            }
+        }
+    }
+
+    @Test
+    void testPooledGeneratorServesBoardsOfRequestedDifficulty() throws InterruptedException {
+        BoardGenerator pooled = new BoardGenerator(2);
+        try {
+            pooled.warmUp(Difficulty.MEDIUM);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (pooled.pooled(Difficulty.MEDIUM) < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(2, pooled.pooled(Difficulty.MEDIUM), "Pool should fill in the background");
+
+            for (int i = 0; i < 5; i++) {
+                Board board = pooled.take(Difficulty.MEDIUM);
+                assertEquals(Difficulty.MEDIUM, board.getDifficulty());
+                assertEquals(Difficulty.MEDIUM.mines, board.getMineCount());
+            }
+        } finally {
+            pooled.close();
+        }
+        assertNotNull(pooled.take(Difficulty.EASY), "take() still works after close");
+    }
+
+    @Test
+    void testBoardCodeRebuildsIdenticalBoard() {
+        for (Difficulty diff : Difficulty.values()) {
+            Board original = generator.generate(diff);
+            String code = original.getCode();
+            assertNotNull(code, "Generated boards should be seeded");
+
+            Board copy = generator.fromCode(code.toLowerCase());
+            assertEquals(diff, copy.getDifficulty());
+            assertEquals(original.getSeed(), copy.getSeed());
+            for (int idx = 0; idx < original.getCellCount(); idx++) {
+                assertEquals(original.getType(idx), copy.getType(idx), "Layout differs at " + idx);
+                assertEquals(original.getAdjacentMines(idx), copy.getAdjacentMines(idx));
+            }
+        }
+    }
+
+    @Test
+    void testBoardCodeRoundTripAndValidation() {
+        long[] seeds = {0L, 1L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, 0x5DEECE66DL};
+        for (long seed : seeds) {
+            String code = BoardCode.encode(Difficulty.HARD, seed, true);
+            BoardCode decoded = BoardCode.decode(code);
+            assertEquals(seed, decoded.getSeed());
+            assertEquals(Difficulty.HARD, decoded.getDifficulty());
+            assertTrue(decoded.isSafeFirstClick());
+        }
+
+        String code = BoardCode.encode(Difficulty.EASY, 12345L, false);
+        char last = code.charAt(code.length() - 1);
+        String tampered = code.substring(0, code.length() - 1) + (last == '0' ? '1' : '0');
+        assertThrows(IllegalArgumentException.class, () -> BoardCode.decode(tampered));
+        assertThrows(IllegalArgumentException.class, () -> BoardCode.decode("ABC"));
+    }
+
+    @Test
+    void testSolverOnlyMakesCorrectDeductions() {
+        BoardSolver solver = new BoardSolver();
+        int solved = 0;
+        for (long seed = 0; seed < 300; seed++) {
+            Difficulty diff = Difficulty.values()[(int) (seed % 3)];
+            Board board = new Board(diff, seed, true);
+            // throws IllegalStateException if a deduction contradicts the real layout
+            if (solver.isSolvable(board, diff.rows / 2, diff.cols / 2)) solved++;
+        }
+        assertTrue(solved > 0, "Some random boards should be solvable without guessing");
+    }
+
+    @Test
+    void testNoGuessLayOutFillsWaitingBoard() {
+        Board board = generator.generate(Difficulty.EASY, true);
+        new NoGuessBoardGenerator().layOut(board, 3, 3);
+
+        assertTrue(board.isGenerated());
+        assertEquals(Difficulty.EASY.mines, board.getMineCount());
+        assertEquals(CellType.EMPTY, board.getCell(3, 3).getType());
+
+        Board rebuilt = generator.fromCode(board.getCode());
+        rebuilt.ensureGenerated(3, 3);
+        for (int idx = 0; idx < board.getCellCount(); idx++) {
+            assertEquals(board.getType(idx), rebuilt.getType(idx), "Code should rebuild the layout at " + idx);
+        }
+        assertThrows(IllegalStateException.class, () -> board.layOutFrom(rebuilt));
+    }
+
+    @Test
+    void testNoGuessGeneratorReturnsSolvableBoard() {
+        NoGuessBoardGenerator noGuess = new NoGuessBoardGenerator();
+        Board board = noGuess.tryGenerate(Difficulty.MEDIUM, 4, 5, 5000);
+        assertNotNull(board, "Expected a no-guess MEDIUM board within the budget");
+
+        assertTrue(board.isGenerated());
+        assertEquals(CellType.EMPTY, board.getCell(4, 5).getType());
+        assertTrue(new BoardSolver().isSolvable(board, 4, 5));
+        assertTrue(generator.fromCode(board.getCode()).isSafeFirstClick());
+    }
+
     private int countNeighborMines(Board board, int row, int col) {
         int count = 0;
         for (int dr = -1; dr <= 1; dr++) {
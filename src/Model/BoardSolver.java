@@ -0,0 +1,232 @@
+package Model;
+
+import java.util.Arrays;
+
+/**
+ * Deterministic Minesweeper solver used to reject boards that need guessing.
+ *
+ * Plays from a first click using only what a player could see: numbers on
+ * opened cells (question / surprise cells show no number, so they carry no
+ * information). Deductions are the single-cell rule, the subset rule for
+ * overlapping pairs of numbers, and the global mine count. All state lives
+ * in primitive arrays that are reused between calls, so one solver can check
+ * many candidate boards of the same size without allocating.
+ *
+ * Not thread-safe – use one instance per thread.
+ */
+public class BoardSolver {
+
+    private static final byte HIDDEN = 0;
+    private static final byte OPEN   = 1;   // opened, number known
+    private static final byte BLANK  = 2;   // opened special cell, no number shown
+    private static final byte MINE   = 3;   // deduced mine
+
+    private Board board;
+    private int rows, cols;
+    private byte[] state = new byte[0];
+    private int[] queue = new int[0];
+    private boolean[] queued = new boolean[0];
+    private int head, tail;
+    private int safeLeft, minesLeft;
+
+    /**
+     * @return true if every safe cell can be opened from (row,col) without
+     *         ever having to guess
+     */
+    public boolean isSolvable(Board board, int row, int col) {
+        board.ensureGenerated(row, col);
+        reset(board);
+
+        int start = board.index(row, col);
+        if (board.isMine(start)) return false;
+        open(start);
+
+        while (true) {
+            drainQueue();
+            if (safeLeft == 0) return true;
+            if (!applySubsetRule() && !applyGlobalCount()) return false;
+        }
+    }
+
+    private void reset(Board b) {
+        board = b;
+        rows = b.getRows();
+        cols = b.getCols();
+        int n = rows * cols;
+        if (state.length < n) {
+            state = new byte[n];
+            queue = new int[n];
+            queued = new boolean[n];
+        } else {
+            Arrays.fill(state, 0, n, HIDDEN);
+            Arrays.fill(queued, 0, n, false);
+        }
+        head = tail = 0;
+        safeLeft = n - b.getMineCount();
+        minesLeft = b.getMineCount();
+    }
+
+    // ---------- single-cell rule ----------
+
+    private void drainQueue() {
+        while (head != tail) {
+            int idx = queue[head];
+            head = (head + 1) % queue.length;
+            queued[idx] = false;
+            if (state[idx] != OPEN) continue;
+
+            int need = board.getAdjacentMines(idx) - countAround(idx, MINE);
+            int hidden = countAround(idx, HIDDEN);
+            if (hidden == 0) continue;
+
+            if (need == 0) {
+                markAround(idx, false);
+            } else if (need == hidden) {
+                markAround(idx, true);
+            }
+        }
+    }
+
+    // ---------- subset rule: hidden(A) ⊆ hidden(B) ----------
+
+    private boolean applySubsetRule() {
+        boolean progress = false;
+        int n = rows * cols;
+        for (int a = 0; a < n; a++) {
+            if (state[a] != OPEN) continue;
+            int hiddenA = countAround(a, HIDDEN);
+            if (hiddenA == 0) continue;
+            int needA = board.getAdjacentMines(a) - countAround(a, MINE);
+            int ra = a / cols, ca = a % cols;
+
+            for (int rb = Math.max(0, ra - 2); rb <= Math.min(rows - 1, ra + 2); rb++) {
+                for (int cb = Math.max(0, ca - 2); cb <= Math.min(cols - 1, ca + 2); cb++) {
+                    int b = rb * cols + cb;
+                    if (b == a || state[b] != OPEN) continue;
+                    if (!hiddenSubset(a, rb, cb)) continue;
+
+                    int hiddenB = countAround(b, HIDDEN);
+                    int extra = hiddenB - hiddenA;
+                    if (extra == 0) continue;
+                    int extraMines = board.getAdjacentMines(b) - countAround(b, MINE) - needA;
+
+                    if (extraMines == 0 || extraMines == extra) {
+                        markOutside(b, ra, ca, extraMines != 0);
+                        progress = true;
+                    }
+                }
+            }
+            if (progress) return true;
+        }
+        return false;
+    }
+
+    /** True if every hidden neighbour of a is also a neighbour of (rb,cb). */
+    private boolean hiddenSubset(int a, int rb, int cb) {
+        int ra = a / cols, ca = a % cols;
+        for (int r = Math.max(0, ra - 1); r <= Math.min(rows - 1, ra + 1); r++) {
+            for (int c = Math.max(0, ca - 1); c <= Math.min(cols - 1, ca + 1); c++) {
+                if (state[r * cols + c] != HIDDEN) continue;
+                if (Math.abs(r - rb) > 1 || Math.abs(c - cb) > 1) return false;
+            }
+        }
+        return true;
+    }
+
+    /** Marks hidden neighbours of b that are not neighbours of (ra,ca). */
+    private void markOutside(int b, int ra, int ca, boolean mine) {
+        int rb = b / cols, cb = b % cols;
+        for (int r = Math.max(0, rb - 1); r <= Math.min(rows - 1, rb + 1); r++) {
+            for (int c = Math.max(0, cb - 1); c <= Math.min(cols - 1, cb + 1); c++) {
+                int idx = r * cols + c;
+                if (state[idx] != HIDDEN) continue;
+                if (Math.abs(r - ra) <= 1 && Math.abs(c - ca) <= 1) continue;
+                if (mine) flag(idx); else open(idx);
+            }
+        }
+    }
+
+    // ---------- global mine count ----------
+
+    private boolean applyGlobalCount() {
+        if (minesLeft != 0 && minesLeft != countHidden()) return false;
+        boolean mine = minesLeft != 0;
+        int n = rows * cols;
+        for (int idx = 0; idx < n; idx++) {
+            if (state[idx] != HIDDEN) continue;
+            if (mine) flag(idx); else open(idx);
+        }
+        return true;
+    }
+
+    private int countHidden() {
+        int hidden = 0;
+        int n = rows * cols;
+        for (int idx = 0; idx < n; idx++) {
+            if (state[idx] == HIDDEN) hidden++;
+        }
+        return hidden;
+    }
+
+    // ---------- state changes ----------
+
+    private void open(int idx) {
+        if (board.isMine(idx)) {
+            throw new IllegalStateException("Solver deduced a mine as safe at index " + idx);
+        }
+        CellType type = board.getType(idx);
+        state[idx] = (type == CellType.QUESTION || type == CellType.SURPRISE) ? BLANK : OPEN;
+        safeLeft--;
+        enqueue(idx);
+        enqueueAround(idx);
+    }
+
+    private void flag(int idx) {
+        if (!board.isMine(idx)) {
+            throw new IllegalStateException("Solver deduced a safe cell as mine at index " + idx);
+        }
+        state[idx] = MINE;
+        minesLeft--;
+        enqueueAround(idx);
+    }
+
+    private void markAround(int idx, boolean mine) {
+        int r0 = idx / cols, c0 = idx % cols;
+        for (int r = Math.max(0, r0 - 1); r <= Math.min(rows - 1, r0 + 1); r++) {
+            for (int c = Math.max(0, c0 - 1); c <= Math.min(cols - 1, c0 + 1); c++) {
+                int n = r * cols + c;
+                if (state[n] != HIDDEN) continue;
+                if (mine) flag(n); else open(n);
+            }
+        }
+    }
+
+    private int countAround(int idx, byte wanted) {
+        int count = 0;
+        int r0 = idx / cols, c0 = idx % cols;
+        for (int r = Math.max(0, r0 - 1); r <= Math.min(rows - 1, r0 + 1); r++) {
+            for (int c = Math.max(0, c0 - 1); c <= Math.min(cols - 1, c0 + 1); c++) {
+                int n = r * cols + c;
+                if (n != idx && state[n] == wanted) count++;
+            }
+        }
+        return count;
+    }
+
+    private void enqueueAround(int idx) {
+        int r0 = idx / cols, c0 = idx % cols;
+        for (int r = Math.max(0, r0 - 1); r <= Math.min(rows - 1, r0 + 1); r++) {
+            for (int c = Math.max(0, c0 - 1); c <= Math.min(cols - 1, c0 + 1); c++) {
+                int n = r * cols + c;
+                if (n != idx && state[n] == OPEN) enqueue(n);
+            }
+        }
+    }
+
+    private void enqueue(int idx) {
+        if (queued[idx]) return;
+        queued[idx] = true;
+        queue[tail] = idx;
+        tail = (tail + 1) % queue.length;
+    }
+}
@@ -0,0 +1,172 @@
+package Model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for Board – packed cell state, cascade reveal and win detection.
+ */
+public class BoardTest {
+
+    @Test
+    void testCellViewsShareBoardState() {
+        Board board = new Board(Difficulty.EASY, new Random(7));
+
+        Cell first = board.getCell(2, 3);
+        first.toggleFlag();
+        first.setFlagScored(true);
+
+        Cell second = board.getCell(2, 3);
+        assertTrue(second.isFlagged(), "Flag set through one view should be visible through another");
+        assertTrue(second.isFlagScored(), "Score marker should live on the board, not the view");
+        assertEquals(2, second.getRow());
+        assertEquals(3, second.getCol());
+    }
+
+    @Test
+    void testAllSafeCellsRevealedAfterRevealingEverySafeCell() {
+        Board board = new Board(Difficulty.HARD, new Random(11));
+        assertFalse(board.isAllSafeCellsRevealed(), "Fresh board should not be cleared");
+        assertEquals(board.getCellCount() - Difficulty.HARD.mines, board.remainingSafeCells());
+
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                Cell cell = board.getCell(r, c);
+                if (cell.getType() != CellType.MINE) cell.reveal();
+            }
+        }
+        assertTrue(board.isAllSafeCellsRevealed(), "Board should be cleared once every safe cell is open");
+        assertEquals(0, board.remainingSafeCells());
+    }
+
+    @Test
+    void testRemainingSafeCellsIgnoresMinesAndRepeatReveals() {
+        Board board = new Board(Difficulty.EASY, new Random(5));
+        int before = board.remainingSafeCells();
+
+        int[] mine = findCell(board, CellType.MINE);
+        board.getCell(mine[0], mine[1]).reveal();
+        assertEquals(before, board.remainingSafeCells(), "Revealing a mine does not change the safe count");
+
+        int[] number = findCell(board, CellType.NUMBER);
+        Cell cell = board.getCell(number[0], number[1]);
+        cell.reveal();
+        cell.reveal();
+        assertEquals(before - 1, board.remainingSafeCells(), "A safe cell is only counted once");
+    }
+
+    @Test
+    void testCascadeFromEmptyCellRevealsBorderNumbers() {
+        Board board = new Board(Difficulty.MEDIUM, new Random(3));
+        int[] start = findCell(board, CellType.EMPTY);
+        assertNotNull(start, "Expected at least one empty cell");
+
+        List<Cell> opened = board.revealCascade(start[0], start[1]);
+        assertFalse(opened.isEmpty());
+        for (Cell cell : opened) {
+            assertTrue(cell.isRevealed());
+            assertNotEquals(CellType.MINE, cell.getType(), "Cascade must never open a mine");
+        }
+    }
+
+    @Test
+    void testScanlineCascadeMatchesNeighbourFloodFill() {
+        for (int seed = 0; seed < 200; seed++) {
+            Difficulty diff = Difficulty.values()[seed % 3];
+            Board fast = new Board(diff, new Random(seed));
+            Board reference = new Board(diff, new Random(seed));
+
+            // a few flags make the fill route around blocked cells
+            Random pick = new Random(seed * 31L);
+            for (int i = 0; i < 6; i++) {
+                int r = pick.nextInt(diff.rows), c = pick.nextInt(diff.cols);
+                fast.getCell(r, c).toggleFlag();
+                reference.getCell(r, c).toggleFlag();
+            }
+
+            int r = pick.nextInt(diff.rows), c = pick.nextInt(diff.cols);
+            Set<Integer> opened = new HashSet<>();
+            int count = fast.revealCascade(r, c, idx -> assertTrue(opened.add(idx), "Cell reported twice: " + idx));
+
+            Set<Integer> expected = referenceFill(reference, r, c);
+            assertEquals(expected, opened, "Cascade mismatch for seed " + seed);
+            assertEquals(expected.size(), count);
+        }
+    }
+
+    @Test
+    void testChordOpensNeighboursAndMergesCascades() {
+        for (int seed = 0; seed < 100; seed++) {
+            Difficulty diff = Difficulty.values()[seed % 3];
+            Board fast = new Board(diff, new Random(seed));
+            Board reference = new Board(diff, new Random(seed));
+            int[] number = findCell(fast, CellType.NUMBER);
+            int row = number[0], col = number[1];
+            fast.getCell(row, col).reveal();
+            reference.getCell(row, col).reveal();
+
+            assertEquals(0, fast.chord(row, col, null), "Chord needs the mines flagged first");
+
+            Set<Integer> expected = new HashSet<>();
+            for (int r = row - 1; r <= row + 1; r++) {
+                for (int c = col - 1; c <= col + 1; c++) {
+                    if (r < 0 || c < 0 || r >= diff.rows || c >= diff.cols) continue;
+                    if (fast.getCell(r, c).getType() == CellType.MINE) {
+                        fast.getCell(r, c).toggleFlag();
+                        reference.getCell(r, c).toggleFlag();
+                    }
+                }
+            }
+            for (int r = row - 1; r <= row + 1; r++) {
+                for (int c = col - 1; c <= col + 1; c++) {
+                    if (r < 0 || c < 0 || r >= diff.rows || c >= diff.cols) continue;
+                    expected.addAll(referenceFill(reference, r, c));
+                }
+            }
+
+            Set<Integer> opened = new HashSet<>();
+            int count = fast.chord(row, col, idx -> assertTrue(opened.add(idx), "Cell reported twice: " + idx));
+            assertEquals(expected, opened, "Chord mismatch for seed " + seed);
+            assertEquals(expected.size(), count);
+        }
+    }
+
+    /** Straightforward 8-neighbour flood fill used as the reference cascade. */
+    private Set<Integer> referenceFill(Board board, int row, int col) {
+        Set<Integer> out = new HashSet<>();
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        queue.add(new int[]{row, col});
+        while (!queue.isEmpty()) {
+            int[] p = queue.remove();
+            Cell cell = board.getCell(p[0], p[1]);
+            if (cell.isRevealed() || cell.isFlagged()) continue;
+            cell.reveal();
+            out.add(p[0] * board.getCols() + p[1]);
+            if (cell.getType() != CellType.EMPTY) continue;
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    int nr = p[0] + dr, nc = p[1] + dc;
+                    if (nr < 0 || nc < 0 || nr >= board.getRows() || nc >= board.getCols()) continue;
+                    queue.add(new int[]{nr, nc});
+                }
+            }
+        }
+        return out;
+    }
+
+    private int[] findCell(Board board, CellType type) {
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getCols(); c++) {
+                if (board.getCell(r, c).getType() == type) return new int[]{r, c};
+            }
+        }
+        return null;
+    }
+}
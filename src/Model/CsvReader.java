@@ -0,0 +1,208 @@
+package Model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Streaming RFC-4180 CSV reader shared by the question bank and the game
+ * history.
+ *
+ * Input is read through one reusable char buffer; each {@link #next()}
+ * copies the current record's field contents (quotes removed, {@code ""}
+ * unescaped) into a second reusable buffer and remembers where each field
+ * ends. Nothing is allocated per record: a field only becomes a String when
+ * {@link #get} asks for it, and {@link #getInt} parses straight from the
+ * buffer.
+ *
+ * Quoted fields may contain commas, quotes and line breaks. Records end at
+ * LF, CRLF or CR; a blank line is a record with one empty field.
+ */
+public final class CsvReader implements Closeable {
+
+    private final Reader in;
+    private final char[] buf = new char[1 << 16];
+    private int pos, lim;
+    private boolean eof;
+
+    private char[] rec = new char[256];
+    private int recLen;
+    private int[] ends = new int[16];
+    private int fields;
+    private long record;
+
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads the next record.
+     * @return false at end of input
+     */
+    public boolean next() throws IOException {
+        fields = 0;
+        recLen = 0;
+        if (pos == lim && !fill()) return false;
+
+        while (true) {
+            if (buf[pos] == '"') {
+                pos++;
+                readQuoted();
+            }
+            readPlain();
+            endField();
+
+            if (pos == lim && !fill()) break;   // last record without a line break
+            char c = buf[pos++];
+            if (c == ',') {
+                if (pos == lim && !fill()) {
+                    endField();               // "a," at end of input: trailing empty field
+                    break;
+                }
+                continue;
+            }
+            if (c == '\r' && (pos < lim || fill()) && buf[pos] == '\n') pos++;
+            break;
+        }
+        record++;
+        return true;
+    }
+
+    /** Number of fields in the current record. */
+    public int size() {
+        return fields;
+    }
+
+    /** 1-based number of the current record (the header is record 1). */
+    public long getRecordNumber() {
+        return record;
+    }
+
+    /** A line with nothing (or only spaces) on it. */
+    public boolean isBlank() {
+        if (fields != 1) return false;
+        for (int k = 0; k < recLen; k++) {
+            if (!Character.isWhitespace(rec[k])) return false;
+        }
+        return true;
+    }
+
+    /** Field {@code i} of the current record, or "" if the record is shorter. */
+    public String get(int i) {
+        if (i >= fields) return "";
+        int start = start(i);
+        return new String(rec, start, ends[i] - start);
+    }
+
+    /** Field {@code i} without surrounding whitespace. */
+    public String getTrimmed(int i) {
+        if (i >= fields) return "";
+        int s = start(i), e = ends[i];
+        while (s < e && rec[s] <= ' ') s++;
+        while (e > s && rec[e - 1] <= ' ') e--;
+        return new String(rec, s, e - s);
+    }
+
+    /** Field {@code i} as an int (surrounding spaces allowed), or {@code def} if it is not one. */
+    public int getInt(int i, int def) {
+        if (i >= fields) return def;
+        int s = start(i), e = ends[i];
+        while (s < e && rec[s] <= ' ') s++;
+        while (e > s && rec[e - 1] <= ' ') e--;
+        if (s == e) return def;
+
+        boolean neg = rec[s] == '-';
+        if (neg || rec[s] == '+') s++;
+        if (s == e || e - s > 10) return def;
+        long v = 0;
+        for (int k = s; k < e; k++) {
+            int d = rec[k] - '0';
+            if (d < 0 || d > 9) return def;
+            v = v * 10 + d;
+        }
+        if (neg) v = -v;
+        return v < Integer.MIN_VALUE || v > Integer.MAX_VALUE ? def : (int) v;
+    }
+
+    /** Whether field {@code i} is empty or only spaces. */
+    public boolean isEmpty(int i) {
+        if (i >= fields) return true;
+        for (int k = start(i); k < ends[i]; k++) {
+            if (rec[k] > ' ') return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // ---------- tokenising ----------
+
+    private int start(int i) {
+        return i == 0 ? 0 : ends[i - 1];
+    }
+
+    /** Unquoted run up to the next delimiter, copied in bulk. */
+    private void readPlain() throws IOException {
+        while (pos < lim || fill()) {
+            int start = pos;
+            char[] b = buf;
+            int end = lim;
+            while (pos < end) {
+                char c = b[pos];
+                if (c == ',' || c == '\n' || c == '\r') break;
+                pos++;
+            }
+            append(start, pos - start);
+            if (pos < lim) return;
+        }
+    }
+
+    /** Body of a quoted field; the opening quote is consumed, the closing one too. */
+    private void readQuoted() throws IOException {
+        while (pos < lim || fill()) {
+            int start = pos;
+            char[] b = buf;
+            int end = lim;
+            while (pos < end && b[pos] != '"') pos++;
+            append(start, pos - start);
+            if (pos == lim) continue;            // quote not in this buffer yet
+
+            pos++;                               // the quote
+            if ((pos < lim || fill()) && buf[pos] == '"') {
+                append(pos, 1);                  // "" is a literal quote
+                pos++;
+            } else {
+                return;                          // closing quote
+            }
+        }
+    }
+
+    private void append(int from, int n) {
+        if (n == 0) return;
+        if (recLen + n > rec.length) rec = Arrays.copyOf(rec, Math.max(rec.length * 2, recLen + n));
+        System.arraycopy(buf, from, rec, recLen, n);
+        recLen += n;
+    }
+
+    private void endField() {
+        if (fields == ends.length) ends = Arrays.copyOf(ends, fields * 2);
+        ends[fields++] = recLen;
+    }
+
+    private boolean fill() throws IOException {
+        if (eof) return false;
+        int n = in.read(buf, 0, buf.length);
+        if (n <= 0) {
+            eof = true;
+            pos = lim = 0;
+            return false;
+        }
+        pos = 0;
+        lim = n;
+        return true;
+    }
+}
@@ -0,0 +1,81 @@
+package Model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for CsvReader / CsvWriter – quoting, line breaks and round trips.
+ */
+public class CsvReaderTest {
+
+    private static List<String[]> readAll(String text) throws Exception {
+        List<String[]> rows = new ArrayList<>();
+        try (CsvReader csv = new CsvReader(new StringReader(text))) {
+            while (csv.next()) {
+                String[] row = new String[csv.size()];
+                for (int i = 0; i < row.length; i++) row[i] = csv.get(i);
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    void testQuotedFieldsAndLineEndings() throws Exception {
+        List<String[]> rows = readAll("a,\"b,c\",\"say \"\"hi\"\"\"\r\n"
+                + "\"two\nlines\",,x\n"
+                + "\n"
+                + "last,\"\"");
+        assertEquals(4, rows.size());
+        assertArrayEquals(new String[]{"a", "b,c", "say \"hi\""}, rows.get(0));
+        assertArrayEquals(new String[]{"two\nlines", "", "x"}, rows.get(1));
+        assertArrayEquals(new String[]{""}, rows.get(2));
+        assertArrayEquals(new String[]{"last", ""}, rows.get(3));
+    }
+
+    @Test
+    void testGetIntAndBlank() throws Exception {
+        try (CsvReader csv = new CsvReader(new StringReader(" 42 ,-7,x,,99999999999\n  \n"))) {
+            assertTrue(csv.next());
+            assertEquals(42, csv.getInt(0, 0));
+            assertEquals(-7, csv.getInt(1, 0));
+            assertEquals(5, csv.getInt(2, 5));
+            assertTrue(csv.isEmpty(3));
+            assertEquals(1, csv.getInt(4, 1));
+            assertEquals(1, csv.getInt(9, 1));
+            assertTrue(csv.next());
+            assertTrue(csv.isBlank());
+            assertFalse(csv.next());
+        }
+    }
+
+    @Test
+    void testWriterRoundTrip() throws Exception {
+        SplittableRandom rnd = new SplittableRandom(3);
+        String alphabet = "ab ,\"\n\ré";
+        List<String[]> rows = new ArrayList<>();
+        StringWriter text = new StringWriter();
+        try (CsvWriter out = new CsvWriter(text)) {
+            for (int r = 0; r < 2000; r++) {
+                String[] row = new String[1 + rnd.nextInt(6)];
+                for (int i = 0; i < row.length; i++) {
+                    StringBuilder sb = new StringBuilder();
+                    for (int k = rnd.nextInt(40); k > 0; k--) sb.append(alphabet.charAt(rnd.nextInt(alphabet.length())));
+                    row[i] = sb.toString();
+                }
+                rows.add(row);
+                out.record(row);
+            }
+        }
+        List<String[]> back = readAll(text.toString());
+        assertEquals(rows.size(), back.size());
+        for (int r = 0; r < rows.size(); r++) assertArrayEquals(rows.get(r), back.get(r), "row " + r);
+    }
+}
@@ -0,0 +1,112 @@
+package Model;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Streaming RFC-4180 CSV writer, the counterpart of {@link CsvReader}.
+ *
+ * Fields are written into one reusable char buffer that goes to the
+ * underlying writer when full. A field is quoted only when it contains a
+ * comma, quote or line break (quotes inside are doubled). Records end with
+ * LF, like the CSV files already in the project.
+ */
+public final class CsvWriter implements Closeable, Flushable {
+
+    private final Writer out;
+    private final char[] buf = new char[1 << 13];
+    private int len;
+    private boolean first = true;
+
+    public CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    /** Appends one field to the current record; null is written as empty. */
+    public CsvWriter field(String s) throws IOException {
+        separator();
+        if (s == null) return this;
+        if (!needsQuotes(s)) {
+            put(s);
+            return this;
+        }
+        put('"');
+        int from = 0;
+        for (int q = s.indexOf('"'); q >= 0; q = s.indexOf('"', q + 1)) {
+            put(s, from, q + 1);
+            put('"');
+            from = q + 1;
+        }
+        put(s, from, s.length());
+        put('"');
+        return this;
+    }
+
+    public CsvWriter field(int v) throws IOException {
+        return field(Integer.toString(v));
+    }
+
+    /** Ends the current record. */
+    public void endRecord() throws IOException {
+        put('\n');
+        first = true;
+    }
+
+    /** Writes {@code fields} as one record. */
+    public void record(String... fields) throws IOException {
+        for (String f : fields) field(f);
+        endRecord();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        drain();
+        out.close();
+    }
+
+    private static boolean needsQuotes(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') return true;
+        }
+        return false;
+    }
+
+    private void separator() throws IOException {
+        if (first) first = false;
+        else put(',');
+    }
+
+    private void put(char c) throws IOException {
+        if (len == buf.length) drain();
+        buf[len++] = c;
+    }
+
+    private void put(String s) throws IOException {
+        put(s, 0, s.length());
+    }
+
+    private void put(String s, int from, int to) throws IOException {
+        while (from < to) {
+            if (len == buf.length) drain();
+            int n = Math.min(to - from, buf.length - len);
+            s.getChars(from, from + n, buf, len);
+            len += n;
+            from += n;
+        }
+    }
+
+    private void drain() throws IOException {
+        if (len == 0) return;
+        out.write(buf, 0, len);
+        len = 0;
+    }
+}
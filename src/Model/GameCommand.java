@@ -0,0 +1,59 @@
+package Model;
+
+/**
+ * One player action for {@link GameEngine#apply(GameCommand)}.
+ *
+ * Activating a question cell carries the question that was asked and the
+ * option the player picked (A–D), or 0 if the question was dismissed; the
+ * engine decides whether the answer is correct.
+ */
+public final class GameCommand {
+
+    public enum Kind { REVEAL, FLAG, ACTIVATE, CHORD }
+
+    private final Kind kind;
+    private final int player;
+    private final int row;
+    private final int col;
+    private final Question question;
+    private final char answer;
+
+    private GameCommand(Kind kind, int player, int row, int col, Question question, char answer) {
+        this.kind = kind;
+        this.player = player;
+        this.row = row;
+        this.col = col;
+        this.question = question;
+        this.answer = answer;
+    }
+
+    public static GameCommand reveal(int player, int row, int col) {
+        return new GameCommand(Kind.REVEAL, player, row, col, null, (char) 0);
+    }
+
+    public static GameCommand flag(int player, int row, int col) {
+        return new GameCommand(Kind.FLAG, player, row, col, null, (char) 0);
+    }
+
+    /** Opens the hidden neighbours of a revealed number whose mines are all flagged. */
+    public static GameCommand chord(int player, int row, int col) {
+        return new GameCommand(Kind.CHORD, player, row, col, null, (char) 0);
+    }
+
+    /** Activates a revealed surprise cell. */
+    public static GameCommand activate(int player, int row, int col) {
+        return new GameCommand(Kind.ACTIVATE, player, row, col, null, (char) 0);
+    }
+
+    /** Activates a revealed question cell with the player's answer (0 = dismissed). */
+    public static GameCommand answer(int player, int row, int col, Question question, char answer) {
+        return new GameCommand(Kind.ACTIVATE, player, row, col, question, answer);
+    }
+
+    public Kind getKind()          { return kind; }
+    public int getPlayer()         { return player; }
+    public int getRow()            { return row; }
+    public int getCol()            { return col; }
+    public Question getQuestion()  { return question; }
+    public char getAnswer()        { return answer; }
+}
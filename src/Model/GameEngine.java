@@ -0,0 +1,409 @@
+package Model;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.function.IntConsumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * The rules of a two-player game: both players share one score and one pool
+ * of lives, each plays on their own board, and they take turns.
+ *
+ * Every action goes through {@link #apply(GameCommand)} (or the matching
+ * primitive method) and comes back as a {@link MoveResult}; the engine has no
+ * UI dependency, so the same rules run in the Swing game and headless. The
+ * result object is reused between moves.
+ *
+ * Turn rules:
+ *  - only the current player may act, and only on their own board
+ *  - revealing at least one new cell (also by a chord) passes the turn
+ *  - flags and activating a question / surprise keep the turn
+ *
+ * With {@link #setLog(GameLog)} every accepted move is appended to a game
+ * log, whichever way it reached the engine. A log that fails to write is
+ * dropped (the stack trace is printed) so the game itself carries on.
+ *
+ * With {@link #enableUndo(int)} the engine also keeps an undo / redo history
+ * (see {@link MoveJournal}). Undo is a practice feature: a {@link GameLog}
+ * only records forward moves, so logged games should not be rewound.
+ */
+public class GameEngine {
+
+    private final Board[] boards;
+    private final GameRules rules;
+    private final ScoreManager score;
+    private final RandomGenerator random;
+    private final MoveResult result = new MoveResult();
+    private final IntConsumer onRevealed = this::scoreReveal;
+    private final IntConsumer onChorded = this::collectChord;
+    private MoveJournal journal;
+    private GameLog log;
+
+    private int currentPlayer = 0;
+
+    // score / lives when the current move started, for the result deltas
+    private int scoreBefore;
+    private int livesBefore;
+
+    // the running move, for the log
+    private GameCommand.Kind moveKind;
+    private int moveRow, moveCol;
+    private Question moveQuestion;
+    private char moveAnswer;
+
+    // cells opened by the running chord, scored together at the end
+    private int chordSafe;
+    private int chordMines;
+
+    public GameEngine(Board board1, Board board2, GameRules rules) {
+        this(board1, board2, rules, new SplittableRandom());
+    }
+
+    public GameEngine(Board board1, Board board2, GameRules rules, RandomGenerator random) {
+        this.boards = new Board[] {board1, board2};
+        this.rules = (rules != null) ? rules : new GameRules(board1.getDifficulty());
+        this.score = new ScoreManager(this.rules);
+        this.random = random;
+    }
+
+    public Board getBoard(int player)   { return boards[player]; }
+    public GameRules getRules()          { return rules; }
+    public ScoreManager getScoreManager() { return score; }
+    public int getScore()                { return score.getScore(); }
+    public int getLives()                { return score.getLives(); }
+    public int getCurrentPlayer()        { return currentPlayer; }
+    public boolean isGameOver()          { return score.isGameOver(); }
+
+    /** True once either player has opened every safe cell on their board. */
+    public boolean isWon() {
+        return getWinner() >= 0;
+    }
+
+    /** @return the player whose board is cleared, or -1 */
+    public int getWinner() {
+        if (boards[0].isAllSafeCellsRevealed()) return 0;
+        if (boards[1].isAllSafeCellsRevealed()) return 1;
+        return -1;
+    }
+
+    /** Restores shared score, lives and turn of a saved game. */
+    void restore(int score, int lives, int currentPlayer) {
+        this.score.restore(score, lives);
+        this.currentPlayer = currentPlayer & 1;
+    }
+
+    // ---------- undo / redo ----------
+
+    /** Keeps the last {@code depth} moves for {@link #undo()} / {@link #redo()}. */
+    public void enableUndo(int depth) {
+        journal = new MoveJournal(depth);
+    }
+
+    /** Appends every accepted move to {@code log} from now on; null stops logging. */
+    public void setLog(GameLog log) { this.log = log; }
+    public GameLog getLog()         { return log; }
+
+    public boolean canUndo() { return journal != null && journal.canUndo(); }
+    public boolean canRedo() { return journal != null && journal.canRedo(); }
+
+    /**
+     * Takes back the last move: its cells, score, lives and turn. The result
+     * lists the cells that changed (empty if there was nothing to undo).
+     */
+    public MoveResult undo() {
+        if (journal == null || !journal.undo(this, result)) result.reset(currentPlayer);
+        return result;
+    }
+
+    /** Plays the last undone move again. */
+    public MoveResult redo() {
+        if (journal == null || !journal.redo(this, result)) result.reset(currentPlayer);
+        return result;
+    }
+
+    public MoveResult apply(GameCommand cmd) {
+        return switch (cmd.getKind()) {
+            case REVEAL   -> reveal(cmd.getPlayer(), cmd.getRow(), cmd.getCol());
+            case FLAG     -> toggleFlag(cmd.getPlayer(), cmd.getRow(), cmd.getCol());
+            case CHORD    -> chord(cmd.getPlayer(), cmd.getRow(), cmd.getCol());
+            case ACTIVATE -> activate(cmd.getPlayer(), cmd.getRow(), cmd.getCol(),
+                                      cmd.getQuestion(), cmd.getAnswer());
+        };
+    }
+
+    // ---------- reveal ----------
+
+    public MoveResult reveal(int player, int row, int col) {
+        if (!begin(GameCommand.Kind.REVEAL, player, row, col)) return result;
+        Board board = boards[player];
+        board.ensureGenerated(row, col);
+        int idx = board.index(row, col);
+        if (board.isRevealed(idx) || board.isFlagged(idx)) return finish();
+
+        if (board.isMine(idx)) {
+            board.reveal(idx);
+            result.addChanged(idx, Board.STATE_REVEALED);
+            result.set(MoveResult.MINE_HIT);
+            score.addPoints(-rules.minePenalty);
+            score.loseLife(1);
+        } else if (board.getType(idx) == CellType.EMPTY) {
+            board.revealCascade(row, col, onRevealed);
+        } else {
+            board.reveal(idx);
+            scoreReveal(idx);
+        }
+        return passTurn(board);
+    }
+
+    /**
+     * Chord on a revealed number (see {@link Board#chord(int, int, IntConsumer)}).
+     * All opened cells are scored as one batch: one score update for the safe
+     * cells, one for any mines behind a wrong flag.
+     */
+    public MoveResult chord(int player, int row, int col) {
+        if (!begin(GameCommand.Kind.CHORD, player, row, col)) return result;
+        Board board = boards[player];
+        chordSafe = 0;
+        chordMines = 0;
+        board.chord(row, col, onChorded);
+
+        if (chordSafe > 0) score.addPoints(chordSafe * rules.revealPoints);
+        if (chordMines > 0) {
+            result.set(MoveResult.MINE_HIT);
+            score.addPoints(-chordMines * rules.minePenalty);
+            score.loseLife(chordMines);
+        }
+        return passTurn(board);
+    }
+
+    private MoveResult passTurn(Board board) {
+        if (result.isAccepted()) {
+            result.set(MoveResult.TURN_SWITCHED);
+            if (board.isAllSafeCellsRevealed()) result.set(MoveResult.BOARD_CLEARED);
+            currentPlayer = 1 - currentPlayer;
+        }
+        return finish();
+    }
+
+    private void scoreReveal(int idx) {
+        Board board = boards[result.getPlayer()];
+        int bits = Board.STATE_REVEALED;
+        if (!board.isRevealScored(idx) && !board.isMine(idx)) {
+            score.addPoints(rules.revealPoints);
+            board.setRevealScored(idx, true);
+            bits |= Board.STATE_REVEAL_SCORED;
+        }
+        result.addChanged(idx, bits);
+    }
+
+    private void collectChord(int idx) {
+        Board board = boards[result.getPlayer()];
+        int bits = Board.STATE_REVEALED;
+        if (board.isMine(idx)) {
+            chordMines++;
+        } else if (!board.isRevealScored(idx)) {
+            board.setRevealScored(idx, true);
+            bits |= Board.STATE_REVEAL_SCORED;
+            chordSafe++;
+        }
+        result.addChanged(idx, bits);
+    }
+
+    // ---------- flags ----------
+
+    /**
+     * Places or removes a flag; only the first flag placed on a cell is scored.
+     * Flags placed before a safe-first-click board is laid out are not scored
+     * (there are no mines yet to score them against).
+     */
+    public MoveResult toggleFlag(int player, int row, int col) {
+        if (!begin(GameCommand.Kind.FLAG, player, row, col)) return result;
+        Board board = boards[player];
+        int idx = board.index(row, col);
+        if (board.isRevealed(idx)) return finish();
+
+        board.toggleFlag(idx);
+        int bits = Board.STATE_FLAGGED;
+        if (board.isFlagged(idx)) {
+            result.set(MoveResult.FLAGGED);
+            if (board.isGenerated() && !board.isFlagScored(idx)) {
+                score.addPoints(board.isMine(idx) ? rules.correctFlagPoints : -rules.wrongFlagPenalty);
+                board.setFlagScored(idx, true);
+                bits |= Board.STATE_FLAG_SCORED;
+            }
+        }
+        result.addChanged(idx, bits);
+        return finish();
+    }
+
+    // ---------- question / surprise ----------
+
+    /**
+     * Activates a revealed, unused question or surprise cell. For a question,
+     * {@code answer} is the option picked (A–D) or 0 if it was dismissed –
+     * the activation cost is paid either way.
+     */
+    public MoveResult activate(int player, int row, int col, Question question, char answer) {
+        if (!begin(GameCommand.Kind.ACTIVATE, player, row, col)) return result;
+        moveQuestion = question;
+        moveAnswer = answer;
+        Board board = boards[player];
+        int idx = board.index(row, col);
+        CellType type = board.getType(idx);
+        if (!board.isRevealed(idx) || board.isSpecialUsed(idx)
+                || (type != CellType.QUESTION && type != CellType.SURPRISE)) {
+            return finish();
+        }
+
+        score.addPoints(-rules.activationCost);
+
+        if (type == CellType.SURPRISE) {
+            boolean good = roll();
+            int points = good ? rules.surpriseMagnitude : -rules.surpriseMagnitude;
+            int lives = good ? 1 : -1;
+            if (good) result.set(MoveResult.SURPRISE_GOOD);
+            result.setSpecialEffect(points, lives);
+            applyEffect(points, lives);
+        } else if (question != null && answer != 0) {
+            boolean correct = Character.toUpperCase(answer) == Character.toUpperCase(question.getCorrect());
+            if (correct) result.set(MoveResult.ANSWER_CORRECT);
+            questionOutcome(question.getDifficulty(), correct);
+            applyEffect(result.getSpecialPoints(), result.getSpecialLives());
+        }
+
+        board.setSpecialUsed(idx, true);
+        result.addChanged(idx, Board.STATE_SPECIAL_USED);
+        result.set(MoveResult.SPECIAL_USED);
+        return finish();
+    }
+
+    /** A coin flip, kept in the result so a log can replay it. */
+    private boolean roll() {
+        boolean heads = random.nextBoolean();
+        result.addRoll(heads);
+        return heads;
+    }
+
+    private void applyEffect(int points, int lives) {
+        if (points != 0) score.addPoints(points);
+        if (lives > 0) score.gainLife(lives);
+        else if (lives < 0) score.loseLife(-lives);
+    }
+
+    /**
+     * Points / lives for a trivia answer, by game difficulty and question
+     * difficulty ("easy","medium","hard","pro"); some cells of the table are
+     * a coin flip between two outcomes.
+     */
+    private void questionOutcome(String questionDifficulty, boolean correct) {
+        String q = (questionDifficulty == null) ? "easy" : questionDifficulty.trim().toLowerCase();
+        int pts = 0;
+        int life = 0;
+
+        switch (rules.difficulty) {
+            case EASY -> {
+                switch (q) {
+                    case "easy" -> {
+                        if (correct) { pts = 3; life = 1; }
+                        else if (roll()) pts = -3;
+                    }
+                    case "medium" -> {
+                        if (correct) pts = 6;
+                        else if (roll()) pts = -6;
+                    }
+                    case "hard" -> pts = correct ? 10 : -10;
+                    case "pro" -> {
+                        if (correct) { pts = 15; life = 2; }
+                        else         { pts = -15; life = -1; }
+                    }
+                    default -> { }
+                }
+            }
+            case MEDIUM -> {
+                switch (q) {
+                    case "easy" -> {
+                        if (correct) { pts = 8; life = 1; }
+                        else pts = -8;
+                    }
+                    case "medium" -> {
+                        if (correct) { pts = 10; life = 1; }
+                        else if (roll()) { pts = -10; life = -1; }
+                    }
+                    case "hard" -> {
+                        if (correct) { pts = 15; life = 1; }
+                        else         { pts = -15; life = -1; }
+                    }
+                    case "pro" -> {
+                        if (correct) { pts = 20; life = 2; }
+                        else         { pts = -20; life = roll() ? -1 : -2; }
+                    }
+                    default -> { }
+                }
+            }
+            case HARD -> {
+                switch (q) {
+                    case "easy" -> {
+                        if (correct) { pts = 10; life = 1; }
+                        else         { pts = -10; life = -1; }
+                    }
+                    case "medium" -> {
+                        if (correct) { pts = 15; life = roll() ? 1 : 2; }
+                        else         { pts = -15; life = -1; }
+                    }
+                    case "hard" -> {
+                        if (correct) { pts = 20; life = 2; }
+                        else         { pts = -20; life = -2; }
+                    }
+                    case "pro" -> {
+                        if (correct) { pts = 40; life = 3; }
+                        else         { pts = -40; life = -3; }
+                    }
+                    default -> { }
+                }
+            }
+        }
+        result.setSpecialEffect(pts, life);
+    }
+
+    // ---------- bookkeeping ----------
+
+    /** Resets the result; false (and an empty result) if the move is not allowed now. */
+    private boolean begin(GameCommand.Kind kind, int player, int row, int col) {
+        result.reset(player);
+        moveKind = kind;
+        moveRow = row;
+        moveCol = col;
+        moveQuestion = null;
+        moveAnswer = 0;
+        scoreBefore = score.getScore();
+        livesBefore = score.getLives();
+        return player == currentPlayer && !score.isGameOver();
+    }
+
+    private MoveResult finish() {
+        result.setDeltas(score.getScore() - scoreBefore, score.getLives() - livesBefore);
+        if (livesBefore > 0 && score.isGameOver()) result.set(MoveResult.GAME_OVER);
+        if (journal != null && result.isAccepted()) {
+            journal.record(result, result.has(MoveResult.TURN_SWITCHED),
+                    scoreBefore, livesBefore, score.getScore(), score.getLives());
+        }
+        if (log != null && result.isAccepted()) record();
+        return result;
+    }
+
+    private void record() {
+        int player = result.getPlayer();
+        GameCommand cmd = switch (moveKind) {
+            case REVEAL   -> GameCommand.reveal(player, moveRow, moveCol);
+            case FLAG     -> GameCommand.flag(player, moveRow, moveCol);
+            case CHORD    -> GameCommand.chord(player, moveRow, moveCol);
+            case ACTIVATE -> GameCommand.answer(player, moveRow, moveCol, moveQuestion, moveAnswer);
+        };
+        try {
+            log.record(cmd, boards[player], result);
+        } catch (IOException e) {
+            e.printStackTrace();
+            log = null;
+        }
+    }
+}
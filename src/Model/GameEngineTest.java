@@ -0,0 +1,177 @@
+package Model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for GameEngine – the shared two-player rules.
+ */
+public class GameEngineTest {
+
+    private static GameEngine newEngine(long seed) {
+        Board b1 = new Board(Difficulty.EASY, seed);
+        Board b2 = new Board(Difficulty.EASY, seed + 1);
+        return new GameEngine(b1, b2, new GameRules(Difficulty.EASY), new SplittableRandom(seed));
+    }
+
+    private static int find(Board board, CellType type) {
+        for (int idx = 0; idx < board.getCellCount(); idx++) {
+            if (board.getType(idx) == type) return idx;
+        }
+        fail("No " + type + " cell on board");
+        return -1;
+    }
+
+    private static MoveResult reveal(GameEngine engine, int player, int idx) {
+        Board b = engine.getBoard(player);
+        return engine.reveal(player, idx / b.getCols(), idx % b.getCols());
+    }
+
+    @Test
+    void testRevealNumberScoresAndSwitchesTurn() {
+        GameEngine engine = newEngine(11L);
+        int idx = find(engine.getBoard(0), CellType.NUMBER);
+
+        MoveResult r = reveal(engine, 0, idx);
+
+        assertTrue(r.has(MoveResult.TURN_SWITCHED));
+        assertEquals(1, r.getChangedCount());
+        assertEquals(1, r.getScoreDelta());
+        assertEquals(1, engine.getCurrentPlayer());
+    }
+
+    @Test
+    void testWrongPlayerIsIgnored() {
+        GameEngine engine = newEngine(12L);
+        int idx = find(engine.getBoard(1), CellType.NUMBER);
+
+        MoveResult r = reveal(engine, 1, idx);
+
+        assertFalse(r.isAccepted());
+        assertFalse(engine.getBoard(1).isRevealed(idx));
+        assertEquals(0, engine.getCurrentPlayer());
+    }
+
+    @Test
+    void testMineCostsLifeAndScoreNeverNegative() {
+        GameEngine engine = newEngine(13L);
+        int lives = engine.getLives();
+        int idx = find(engine.getBoard(0), CellType.MINE);
+
+        MoveResult r = reveal(engine, 0, idx);
+
+        assertTrue(r.has(MoveResult.MINE_HIT));
+        assertEquals(-1, r.getLifeDelta());
+        assertEquals(0, engine.getScore(), "Score is floored at zero");
+        assertEquals(lives - 1, engine.getLives());
+    }
+
+    @Test
+    void testOnlyFirstFlagOnCellIsScored() {
+        GameEngine engine = newEngine(14L);
+        Board b = engine.getBoard(0);
+        int mine = find(b, CellType.MINE);
+        int row = mine / b.getCols(), col = mine % b.getCols();
+
+        assertEquals(1, engine.toggleFlag(0, row, col).getScoreDelta());
+        assertEquals(0, engine.toggleFlag(0, row, col).getScoreDelta());
+        MoveResult again = engine.toggleFlag(0, row, col);
+        assertTrue(again.has(MoveResult.FLAGGED));
+        assertEquals(0, again.getScoreDelta());
+        assertEquals(0, engine.getCurrentPlayer(), "Flags keep the turn");
+    }
+
+    @Test
+    void testFlagBeforeLayoutIsNotScored() {
+        Board b1 = new Board(Difficulty.EASY, 21L, true);
+        Board b2 = new Board(Difficulty.EASY, 22L, true);
+        GameEngine engine = new GameEngine(b1, b2, new GameRules(Difficulty.EASY), new SplittableRandom(21L));
+
+        MoveResult early = engine.toggleFlag(0, 0, 0);
+        assertTrue(early.has(MoveResult.FLAGGED));
+        assertEquals(0, early.getScoreDelta());
+        assertFalse(b1.isFlagScored(0));
+
+        engine.toggleFlag(0, 0, 0);
+        engine.reveal(0, 4, 4);
+        engine.reveal(1, 4, 4);
+        int scoreBefore = engine.getScore();
+        MoveResult late = engine.toggleFlag(0, 0, 0);
+        int expected = b1.isMine(0) ? engine.getRules().correctFlagPoints : -engine.getRules().wrongFlagPenalty;
+        assertEquals(Math.max(0, scoreBefore + expected), engine.getScore(), "Once laid out, the flag is scored");
+        assertTrue(late.has(MoveResult.FLAGGED));
+        assertTrue(b1.isFlagScored(0));
+    }
+
+    @Test
+    void testSurpriseActivationIsPaidOnceAndKeepsTurn() {
+        GameEngine engine = newEngine(15L);
+        Board b = engine.getBoard(0);
+        int idx = find(b, CellType.SURPRISE);
+        int row = idx / b.getCols(), col = idx % b.getCols();
+
+        // open it, let player 2 pass with a number, then activate
+        reveal(engine, 0, idx);
+        reveal(engine, 1, find(engine.getBoard(1), CellType.NUMBER));
+        int before = engine.getScore();
+        int livesBefore = engine.getLives();
+
+        MoveResult r = engine.apply(GameCommand.activate(0, row, col));
+
+        assertTrue(r.has(MoveResult.SPECIAL_USED));
+        assertTrue(b.isSpecialUsed(idx));
+        assertEquals(Math.abs(r.getSpecialPoints()), engine.getRules().surpriseMagnitude);
+        assertEquals(engine.getScore() - before, r.getScoreDelta());
+        GameRules rules = engine.getRules();
+        int expected = Math.max(0, Math.max(0, before - rules.activationCost) + r.getSpecialPoints());
+        if (r.has(MoveResult.SURPRISE_GOOD) && livesBefore == rules.maxLives) {
+            expected += rules.overflowPointsPerLife;
+        }
+        assertEquals(expected, engine.getScore(), "Cost is paid first, then the surprise, each floored at zero");
+        assertEquals(0, engine.getCurrentPlayer());
+        assertFalse(engine.apply(GameCommand.activate(0, row, col)).isAccepted(), "A used cell cannot be activated again");
+    }
+
+    @Test
+    void testCorrectAnswerUsesQuestionTable() {
+        GameEngine engine = newEngine(16L);
+        Board b = engine.getBoard(0);
+        int idx = find(b, CellType.QUESTION);
+        int row = idx / b.getCols(), col = idx % b.getCols();
+        reveal(engine, 0, idx);
+        reveal(engine, 1, find(engine.getBoard(1), CellType.NUMBER));
+
+        Question q = new Question(1, "Q", "a", "b", "c", "d", 'B', null, null, null, "pro");
+        MoveResult r = engine.apply(GameCommand.answer(0, row, col, q, 'b'));
+
+        assertTrue(r.has(MoveResult.ANSWER_CORRECT));
+        assertEquals(15, r.getSpecialPoints());
+        assertEquals(2, r.getSpecialLives());
+    }
+
+    @Test
+    void testChordScoresBatchAndPassesTurn() {
+        GameEngine engine = newEngine(17L);
+        Board board = engine.getBoard(0);
+        int idx = find(board, CellType.NUMBER);
+        int row = idx / board.getCols(), col = idx % board.getCols();
+        board.reveal(idx);
+        for (int r = row - 1; r <= row + 1; r++) {
+            for (int c = col - 1; c <= col + 1; c++) {
+                if (r < 0 || c < 0 || r >= board.getRows() || c >= board.getCols()) continue;
+                if (board.isMine(board.index(r, c))) board.toggleFlag(board.index(r, c));
+            }
+        }
+
+        MoveResult r = engine.chord(0, row, col);
+
+        assertTrue(r.isAccepted());
+        assertFalse(r.has(MoveResult.MINE_HIT));
+        assertEquals(r.getChangedCount(), r.getScoreDelta(), "One point per newly opened cell");
+        assertTrue(r.has(MoveResult.TURN_SWITCHED));
+        assertEquals(1, engine.getCurrentPlayer());
+    }
+}
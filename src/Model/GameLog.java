@@ -0,0 +1,188 @@
+package Model;
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.LongSupplier;
+
+/**
+ * Append-only binary log of one game: a header with everything needed to
+ * rebuild the starting position (difficulty, both board seeds, start lives),
+ * then one record per accepted move. {@link GameReplayer} reads it back.
+ *
+ * Record layout (usually 3–4 bytes):
+ * <pre>
+ *   head   bits 0-1 kind (0 reveal, 1 flag, 2 activate, 3 chord)
+ *          bit  2   player
+ *          bits 3-4 number of coin flips, bits 5-6 their values
+ *          bit  7   activate: an answer byte follows,
+ *                   reveal: a new board seed follows
+ *   answer bits 0-2 question difficulty (0 easy .. 3 pro, 4 other),
+ *          bit  3   correct, bit 4 answered (optional)
+ *   seed   8 bytes, big-endian (optional)
+ *   varint cell index
+ *   varint milliseconds since the previous record
+ * </pre>
+ * Coin flips are logged as outcomes, so a replay never depends on a random
+ * generator. A board laid out from another seed on its first reveal (a
+ * no-guess board, see {@link Board#layOutFrom}) logs that seed with the
+ * reveal; the replay lays its board out from it the same way.
+ */
+public class GameLog implements Closeable {
+
+    static final int MAGIC   = 0x4D534C31;   // "MSL1"
+    static final int VERSION = 2;   // 2: seed changes on reveal records
+
+    static final int KIND_REVEAL   = 0;
+    static final int KIND_FLAG     = 1;
+    static final int KIND_ACTIVATE = 2;
+    static final int KIND_CHORD    = 3;
+
+    static final String[] QUESTION_LEVELS = {"easy", "medium", "hard", "pro"};
+
+    private final OutputStream out;
+    private final LongSupplier clock;
+    private final byte[] buf = new byte[24];
+    private final long[] seeds;
+    private long lastMillis;
+    private int moves;
+    private long length;
+
+    /** Logs with wall-clock timestamps. */
+    public GameLog(OutputStream out, Board board1, Board board2, GameRules rules) throws IOException {
+        this(out, board1, board2, rules, System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock millisecond time source (injectable for tests and simulations)
+     * @throws IllegalArgumentException if a board was not built from a seed
+     */
+    public GameLog(OutputStream out, Board board1, Board board2, GameRules rules, LongSupplier clock)
+            throws IOException {
+        this(out, board1, board2, clock);
+
+        DataOutputStream header = new DataOutputStream(out);
+        header.writeInt(MAGIC);
+        header.writeByte(VERSION);
+        header.writeByte(board1.getDifficulty().ordinal());
+        header.writeByte(board1.isSafeFirstClick() ? 1 : 0);
+        header.writeByte(rules.startLives);
+        header.writeLong(board1.getSeed());
+        header.writeLong(board2.getSeed());
+        header.writeLong(lastMillis);
+        header.flush();
+        length = header.size();
+    }
+
+    private GameLog(OutputStream out, Board board1, Board board2, LongSupplier clock) {
+        if (!board1.isSeeded() || !board2.isSeeded()) {
+            throw new IllegalArgumentException("Only games on seeded boards can be logged");
+        }
+        this.out = out;
+        this.clock = clock;
+        this.lastMillis = clock.getAsLong();
+        this.seeds = new long[] {board1.getSeed(), board2.getSeed()};
+    }
+
+    /**
+     * Continues the log of a game resumed from a snapshot: {@code out} appends
+     * to the first {@code length} bytes of the log (as {@link #getLength()}
+     * reported when the snapshot was taken; anything after them must already
+     * be cut off) and no header is written. The boards must be the resumed
+     * ones; the first record's time counts from the resume.
+     */
+    public static GameLog resume(OutputStream out, Board board1, Board board2, long length) {
+        GameLog log = new GameLog(out, board1, board2, System::currentTimeMillis);
+        log.length = length;
+        return log;
+    }
+
+    public int getMoveCount() {
+        return moves;
+    }
+
+    /** Bytes in the log so far, header included; a snapshot keeps it to resume the log from. */
+    public long getLength() {
+        return length;
+    }
+
+    /** Records {@code cmd} if the engine accepted it. */
+    public void record(GameCommand cmd, Board board, MoveResult result) throws IOException {
+        if (!result.isAccepted()) return;
+        int idx = board.index(cmd.getRow(), cmd.getCol());
+        switch (cmd.getKind()) {
+            case REVEAL -> {
+                boolean reseeded = board.getSeed() != seeds[cmd.getPlayer()];
+                seeds[cmd.getPlayer()] = board.getSeed();
+                record(KIND_REVEAL, cmd.getPlayer(), idx, -1, reseeded, board.getSeed(), result);
+            }
+            case FLAG   -> record(KIND_FLAG, cmd.getPlayer(), idx, -1, false, 0, result);
+            case CHORD  -> record(KIND_CHORD, cmd.getPlayer(), idx, -1, false, 0, result);
+            case ACTIVATE -> {
+                Question q = cmd.getQuestion();
+                int answer = -1;
+                if (q != null) {
+                    answer = levelCode(q.getDifficulty());
+                    if (cmd.getAnswer() != 0) {
+                        answer |= 1 << 4;
+                        if (result.has(MoveResult.ANSWER_CORRECT)) answer |= 1 << 3;
+                    }
+                }
+                record(KIND_ACTIVATE, cmd.getPlayer(), idx, answer, false, 0, result);
+            }
+        }
+    }
+
+    private void record(int kind, int player, int idx, int answer, boolean reseeded, long seed,
+                        MoveResult result) throws IOException {
+        int head = kind | (player << 2) | (result.getRollCount() << 3);
+        for (int i = 0; i < result.getRollCount(); i++) {
+            if (result.getRoll(i)) head |= 1 << (5 + i);
+        }
+        if (answer >= 0 || reseeded) head |= 1 << 7;
+
+        int n = 0;
+        buf[n++] = (byte) head;
+        if (answer >= 0) buf[n++] = (byte) answer;
+        if (reseeded) {
+            for (int shift = 56; shift >= 0; shift -= 8) buf[n++] = (byte) (seed >>> shift);
+        }
+        n = putVarint(buf, n, idx);
+
+        long now = clock.getAsLong();
+        n = putVarint(buf, n, (int) Math.max(0, Math.min(Integer.MAX_VALUE, now - lastMillis)));
+        lastMillis = now;
+
+        out.write(buf, 0, n);
+        length += n;
+        moves++;
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    static int levelCode(String difficulty) {
+        String d = (difficulty == null) ? "easy" : difficulty.trim().toLowerCase();
+        for (int i = 0; i < QUESTION_LEVELS.length; i++) {
+            if (QUESTION_LEVELS[i].equals(d)) return i;
+        }
+        return QUESTION_LEVELS.length;
+    }
+
+    /** Unsigned LEB128: 7 bits per byte, high bit set on all but the last. */
+    static int putVarint(byte[] buf, int pos, int value) {
+        while ((value & ~0x7F) != 0) {
+            buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos++] = (byte) value;
+        return pos;
+    }
+}
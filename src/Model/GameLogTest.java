@@ -0,0 +1,181 @@
+package Model;
+
+import Controller.GameController;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for GameLog / GameReplayer – a logged game replays to the same position.
+ */
+public class GameLogTest {
+
+    /** Plays random reveals, flags and activations; returns the controller. */
+    private static GameController playLogged(long seed, ByteArrayOutputStream out) throws Exception {
+        Board b1 = new Board(Difficulty.MEDIUM, seed, true);
+        Board b2 = new Board(Difficulty.MEDIUM, seed + 1, true);
+        GameController game = new GameController("A", "B",
+                new GameEngine(b1, b2, new GameRules(Difficulty.MEDIUM), new SplittableRandom(seed)));
+        long[] clock = {1_000_000L};
+        game.setLog(new GameLog(out, b1, b2, game.getEngine().getRules(), () -> clock[0] += 700));
+
+        SplittableRandom random = new SplittableRandom(seed);
+        Question q = new Question(1, "Q", "a", "b", "c", "d", 'C', null, null, null, "medium");
+        for (int i = 0; i < 400 && !game.isGameOver() && !game.isWon(); i++) {
+            int player = game.getCurrentPlayerIdx();
+            Board board = game.getBoard(player);
+            int row = random.nextInt(board.getRows());
+            int col = random.nextInt(board.getCols());
+            int idx = board.index(row, col);
+            CellType type = board.isGenerated() ? board.getType(idx) : CellType.EMPTY;
+
+            if (board.isRevealed(idx) && type == CellType.SURPRISE) {
+                game.apply(GameCommand.activate(player, row, col));
+            } else if (board.isRevealed(idx) && type == CellType.QUESTION) {
+                game.apply(GameCommand.answer(player, row, col, q, "ABCD".charAt(random.nextInt(4))));
+            } else if (random.nextInt(10) == 0) {
+                game.toggleFlag(player, row, col);
+            } else {
+                game.revealCell(player, row, col);
+            }
+        }
+        return game;
+    }
+
+    @Test
+    void testReplayRebuildsFinalPosition() throws Exception {
+        for (long seed = 1; seed <= 20; seed++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            GameController game = playLogged(seed, out);
+
+            GameEngine replayed = new GameReplayer(out.toByteArray()).replayAll();
+
+            assertEquals(game.getScoreManager().getScore(), replayed.getScore(), "score, seed " + seed);
+            assertEquals(game.getScoreManager().getLives(), replayed.getLives(), "lives, seed " + seed);
+            assertEquals(game.getCurrentPlayerIdx(), replayed.getCurrentPlayer(), "turn, seed " + seed);
+            for (int p = 0; p < 2; p++) {
+                Board a = game.getBoard(p);
+                Board b = replayed.getBoard(p);
+                for (int idx = 0; idx < a.getCellCount(); idx++) {
+                    assertEquals(a.isRevealed(idx), b.isRevealed(idx), "revealed " + idx + ", seed " + seed);
+                    assertEquals(a.isFlagged(idx), b.isFlagged(idx), "flagged " + idx + ", seed " + seed);
+                    assertEquals(a.isSpecialUsed(idx), b.isSpecialUsed(idx), "used " + idx + ", seed " + seed);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testRecordsStaySmallAndKeepTimestamps() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GameController game = playLogged(99L, out);
+        int moves = game.getLog().getMoveCount();
+        assertTrue(moves > 0);
+
+        double bytesPerMove = (out.size() - 32) / (double) moves;
+        assertTrue(bytesPerMove <= 5.0, "Expected at most 5 bytes per move, got " + bytesPerMove);
+
+        GameReplayer replayer = new GameReplayer(out.toByteArray());
+        replayer.replay(3);
+        assertEquals(3, replayer.getMoveCount());
+        assertTrue(replayer.getMillis() > replayer.getStartMillis());
+    }
+
+    @Test
+    void testReplaysBoardsLaidOutFromAnotherSeed() throws Exception {
+        Board b1 = new Board(Difficulty.EASY, 5L, true);
+        Board b2 = new Board(Difficulty.EASY, 6L, true);
+        GameEngine engine = new GameEngine(b1, b2, new GameRules(Difficulty.EASY), new SplittableRandom(5));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        engine.setLog(new GameLog(out, b1, b2, engine.getRules()));
+
+        // what a no-guess game does: each board takes its layout from another seed on the first click
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < 60 && !engine.isGameOver() && !engine.isWon(); i++) {
+            int player = engine.getCurrentPlayer();
+            Board board = engine.getBoard(player);
+            int row = random.nextInt(board.getRows());
+            int col = random.nextInt(board.getCols());
+            if (!board.isGenerated()) {
+                Board laidOut = new Board(Difficulty.EASY, 1000L + player, true);
+                laidOut.ensureGenerated(row, col);
+                board.layOutFrom(laidOut);
+            }
+            engine.reveal(player, row, col);
+        }
+
+        GameEngine replayed = new GameReplayer(out.toByteArray()).replayAll();
+        assertEquals(engine.getScore(), replayed.getScore());
+        assertEquals(engine.getLives(), replayed.getLives());
+        for (int p = 0; p < 2; p++) {
+            assertEquals(engine.getBoard(p).getSeed(), replayed.getBoard(p).getSeed());
+            for (int idx = 0; idx < b1.getCellCount(); idx++) {
+                assertEquals(engine.getBoard(p).isMine(idx), replayed.getBoard(p).isMine(idx), "mine " + idx);
+                assertEquals(engine.getBoard(p).isRevealed(idx), replayed.getBoard(p).isRevealed(idx), "revealed " + idx);
+            }
+        }
+    }
+
+    @Test
+    void testTornLastRecordIsNotReplayed() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GameController game = playLogged(3L, out);
+        byte[] log = out.toByteArray();
+        int moves = game.getLog().getMoveCount();
+
+        // cut into the last record, as if the app died while writing it
+        byte[] torn = java.util.Arrays.copyOf(log, log.length - 1);
+        GameReplayer replayer = new GameReplayer(torn);
+        replayer.replayAll();
+        assertEquals(moves - 1, replayer.getMoveCount());
+        assertFalse(replayer.hasNext());
+        assertThrows(java.util.NoSuchElementException.class, replayer::next);
+    }
+
+    @Test
+    void testResumedLogContinuesFromSnapshotLength() throws Exception {
+        Board b1 = new Board(Difficulty.EASY, 21L, true);
+        Board b2 = new Board(Difficulty.EASY, 22L, true);
+        GameEngine engine = new GameEngine(b1, b2, new GameRules(Difficulty.EASY), new SplittableRandom(21));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        engine.setLog(new GameLog(out, b1, b2, engine.getRules()));
+        SplittableRandom random = new SplittableRandom(21);
+        for (int i = 0; i < 6; i++) {
+            engine.toggleFlag(engine.getCurrentPlayer(), random.nextInt(9), random.nextInt(9));
+        }
+        long saved = engine.getLog().getLength();
+        assertEquals(out.size(), saved);
+
+        // the session goes on past the snapshot, then the resumed game cuts the log back to it
+        engine.toggleFlag(engine.getCurrentPlayer(), 0, 0);
+        ByteArrayOutputStream resumed = new ByteArrayOutputStream();
+        resumed.write(out.toByteArray(), 0, (int) saved);
+        GameEngine restored = new GameReplayer(resumed.toByteArray()).replayAll();
+        restored.setLog(GameLog.resume(resumed, restored.getBoard(0), restored.getBoard(1), saved));
+        restored.reveal(restored.getCurrentPlayer(), 4, 4);
+        assertEquals(resumed.size(), restored.getLog().getLength());
+
+        GameEngine replayed = new GameReplayer(resumed.toByteArray()).replayAll();
+        assertEquals(restored.getScore(), replayed.getScore());
+        for (int idx = 0; idx < b1.getCellCount(); idx++) {
+            assertEquals(restored.getBoard(0).isRevealed(idx), replayed.getBoard(0).isRevealed(idx));
+            assertEquals(restored.getBoard(0).isFlagged(idx), replayed.getBoard(0).isFlagged(idx));
+        }
+    }
+
+    @Test
+    void testRejectsUnseededBoardsAndForeignData() {
+        Board unseeded = new Board(Difficulty.EASY, new java.util.Random(1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new GameLog(new ByteArrayOutputStream(), unseeded, unseeded, new GameRules(Difficulty.EASY)));
+        assertThrows(IllegalArgumentException.class, () -> new GameReplayer(new byte[40]));
+
+        // a log header with a difficulty that does not exist
+        byte[] bad = new byte[40];
+        java.nio.ByteBuffer.wrap(bad).putInt(GameLog.MAGIC).put((byte) GameLog.VERSION).put((byte) 7);
+        assertThrows(IllegalArgumentException.class, () -> new GameReplayer(bad));
+    }
+}
@@ -0,0 +1,198 @@
+package Model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.NoSuchElementException;
+import java.util.random.RandomGenerator;
+
+/**
+ * Rebuilds a game from a {@link GameLog}: the boards are regenerated from
+ * their seeds and every record is applied to a fresh {@link GameEngine}, with
+ * the logged coin flips fed back in place of a random generator. Boards
+ * that were laid out from another seed (no-guess boards) are laid out from
+ * the seed logged with their first reveal.
+ *
+ * Step through with {@link #next()} to stop at any position, or call
+ * {@link #replayAll()}. Decoding works on the raw bytes and allocates nothing
+ * per move.
+ */
+public class GameReplayer {
+
+    private final byte[] data;
+    private int pos;
+
+    private final Difficulty difficulty;
+    private final boolean safeFirstClick;
+    private final GameEngine engine;
+    private final ScriptedRolls rolls = new ScriptedRolls();
+    private final Question[] answerQuestions = new Question[GameLog.QUESTION_LEVELS.length + 1];
+    private final long startMillis;
+    private long millis;
+    private int moves;
+
+    public GameReplayer(InputStream in) throws IOException {
+        this(in.readAllBytes());
+    }
+
+    /** @throws IllegalArgumentException if {@code log} is not a game log */
+    public GameReplayer(byte[] log) {
+        this.data = log;
+        ByteBuffer header = ByteBuffer.wrap(log);
+        if (log.length < 32 || header.getInt() != GameLog.MAGIC) {
+            throw new IllegalArgumentException("Not a game log");
+        }
+        int version = header.get();
+        if (version < 1 || version > GameLog.VERSION) {
+            throw new IllegalArgumentException("Unsupported game log version " + version);
+        }
+        int ordinal = header.get();
+        if (ordinal < 0 || ordinal >= Difficulty.values().length) {
+            throw new IllegalArgumentException("Bad game log: difficulty " + ordinal);
+        }
+        difficulty = Difficulty.values()[ordinal];
+        safeFirstClick = header.get() != 0;
+        int startLives = header.get();
+        long seed1 = header.getLong();
+        long seed2 = header.getLong();
+        startMillis = header.getLong();
+        millis = startMillis;
+        pos = header.position();
+
+        engine = new GameEngine(
+                new Board(difficulty, seed1, safeFirstClick),
+                new Board(difficulty, seed2, safeFirstClick),
+                new GameRules(difficulty, startLives),
+                rolls);
+
+        for (int i = 0; i < answerQuestions.length; i++) {
+            String level = i < GameLog.QUESTION_LEVELS.length ? GameLog.QUESTION_LEVELS[i] : "other";
+            answerQuestions[i] = new Question(0, "", "", "", "", "", 'A', null, null, null, level);
+        }
+    }
+
+    public GameEngine getEngine()   { return engine; }
+    public int getMoveCount()       { return moves; }
+    public long getStartMillis()    { return startMillis; }
+    /** Wall-clock time of the last replayed move. */
+    public long getMillis()         { return millis; }
+
+    /** Whether a whole record is left; a torn last record (the app died mid-write) is ignored. */
+    public boolean hasNext() {
+        if (pos >= data.length) return false;
+        int head = data[pos] & 0xFF;
+        int end = pos + 1;
+        if ((head & 0x80) != 0) end += ((head & 3) == GameLog.KIND_ACTIVATE) ? 1 : 8;
+        end = skipVarint(end);
+        return end >= 0 && skipVarint(end) >= 0;
+    }
+
+    /**
+     * Applies the next logged move and returns the engine's result for it.
+     * @throws NoSuchElementException if no whole record is left
+     */
+    public MoveResult next() {
+        if (!hasNext()) throw new NoSuchElementException("No more moves in the game log");
+        int head = data[pos++] & 0xFF;
+        boolean extra = (head & 0x80) != 0;
+        int answer = -1;
+        long seed = 0;
+        boolean reseeded = false;
+        if (extra && (head & 3) == GameLog.KIND_ACTIVATE) {
+            answer = data[pos++] & 0xFF;
+        } else if (extra) {
+            reseeded = true;   // only version 2 sets the bit on other records
+            for (int i = 0; i < 8; i++) seed = (seed << 8) | (data[pos++] & 0xFF);
+        }
+        int idx = readVarint();
+        millis += readVarint();
+
+        rolls.load((head >>> 3) & 3, (head >>> 5) & 3);
+
+        int player = (head >>> 2) & 1;
+        Board board = engine.getBoard(player);
+        int row = idx / board.getCols();
+        int col = idx % board.getCols();
+
+        MoveResult result = switch (head & 3) {
+            case GameLog.KIND_REVEAL -> {
+                if (reseeded && !board.isGenerated()) {
+                    Board laidOut = new Board(difficulty, seed, safeFirstClick);
+                    laidOut.ensureGenerated(row, col);
+                    board.layOutFrom(laidOut);
+                }
+                yield engine.reveal(player, row, col);
+            }
+            case GameLog.KIND_FLAG   -> engine.toggleFlag(player, row, col);
+            case GameLog.KIND_CHORD  -> engine.chord(player, row, col);
+            default -> {
+                Question q = null;
+                char picked = 0;
+                if (answer >= 0) {
+                    q = answerQuestions[Math.min(answer & 7, answerQuestions.length - 1)];
+                    if ((answer & (1 << 4)) != 0) picked = ((answer & (1 << 3)) != 0) ? 'A' : 'B';
+                }
+                yield engine.activate(player, row, col, q, picked);
+            }
+        };
+        moves++;
+        return result;
+    }
+
+    /** Replays the rest of the log; returns the engine in its final state. */
+    public GameEngine replayAll() {
+        while (hasNext()) next();
+        return engine;
+    }
+
+    /** Replays at most {@code count} more moves. */
+    public GameEngine replay(int count) {
+        for (int i = 0; i < count && hasNext(); i++) next();
+        return engine;
+    }
+
+    /** @return the position after the varint at {@code p}, or -1 if it runs past the data */
+    private int skipVarint(int p) {
+        while (p < data.length) {
+            if (data[p++] >= 0) return p;
+        }
+        return -1;
+    }
+
+    private int readVarint() {
+        int value = 0;
+        int shift = 0;
+        while (true) {
+            int b = data[pos++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+            shift += 7;
+        }
+    }
+
+    /** Feeds logged coin flips back to the engine. */
+    private static final class ScriptedRolls implements RandomGenerator {
+        private int count;
+        private int bits;
+        private int next;
+
+        void load(int count, int bits) {
+            this.count = count;
+            this.bits = bits;
+            this.next = 0;
+        }
+
+        @Override
+        public boolean nextBoolean() {
+            if (next >= count) {
+                throw new IllegalStateException("Game log has fewer coin flips than the replay needs");
+            }
+            return (bits & (1 << next++)) != 0;
+        }
+
+        @Override
+        public long nextLong() {
+            throw new UnsupportedOperationException("Replays only use logged coin flips");
+        }
+    }
+}
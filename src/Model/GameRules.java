@@ -0,0 +1,64 @@
+package Model;
+
+/**
+ * Point and life values for one game, as played in the two-player mode.
+ *
+ *  - Reveal a safe cell (first time)   → +1 point
+ *  - Reveal a mine                     → -3 points, -1 shared life
+ *  - Place a flag (first time per cell)→ +1 on a mine, -3 otherwise
+ *  - Activate a question / surprise    → pay {@link #activationCost} first
+ *  - Surprise                          → 50/50: ±{@link #surpriseMagnitude} points and ±1 life
+ *  - Score never drops below zero
+ *  - Lives above {@link #maxLives} are converted into
+ *    {@link #overflowPointsPerLife} points each
+ */
+public final class GameRules {
+
+    /** Hard cap on shared lives (also the number of hearts the UI can show). */
+    public static final int MAX_LIVES = 10;
+
+    public final Difficulty difficulty;
+    public final int startLives;
+    public final int maxLives;
+    public final int overflowPointsPerLife;
+    public final int activationCost;
+    public final int surpriseMagnitude;
+
+    public final int revealPoints      = 1;
+    public final int minePenalty       = 3;
+    public final int correctFlagPoints = 1;
+    public final int wrongFlagPenalty  = 3;
+    public final boolean scoreFloorAtZero = true;
+
+    public GameRules(Difficulty difficulty) {
+        this(difficulty, MAX_LIVES);
+    }
+
+    /** @param livesLimit upper bound on the starting lives (e.g. from Settings) */
+    public GameRules(Difficulty difficulty, int livesLimit) {
+        if (difficulty == null) {
+            difficulty = Difficulty.EASY;
+        }
+        this.difficulty = difficulty;
+        this.maxLives = MAX_LIVES;
+        this.startLives = Math.max(1, Math.min(difficulty.startLives, Math.min(livesLimit, MAX_LIVES)));
+
+        switch (difficulty) {
+            case EASY -> {
+                activationCost = 5;
+                surpriseMagnitude = 8;
+                overflowPointsPerLife = 1;
+            }
+            case MEDIUM -> {
+                activationCost = 8;
+                surpriseMagnitude = 12;
+                overflowPointsPerLife = 2;
+            }
+            default -> {
+                activationCost = 12;
+                surpriseMagnitude = 16;
+                overflowPointsPerLife = 3;
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package Model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Autosave file for a running game: both boards (bit-packed), shared score,
+ * lives, turn, player names and the length of the game's {@link GameLog},
+ * so a resumed game can cut the log back to the saved position.
+ *
+ * The file is memory-mapped and holds two slots. Each save goes to the slot
+ * not holding the newest snapshot, and the slot header (sequence number,
+ * length, CRC) is written after the payload. A crash mid-save leaves a slot
+ * whose CRC does not match, and {@link #load()} falls back to the other one.
+ *
+ * A save is a handful of bulk copies into the mapping, so it can run after
+ * every move. Writes reach the OS page cache immediately (they survive the
+ * app crashing); pass {@code force = true} to also flush them to disk.
+ */
+public class GameSnapshot implements Closeable {
+
+    private static final int MAGIC      = 0x4D535331;   // "MSS1"
+    private static final int VERSION    = 2;   // 2: game log length at the end
+    private static final int FILE_HEAD  = 16;
+    // slot header: magic @0, sequence @4, payload length @12, payload CRC32 @16
+    private static final int SLOT_HEAD  = 24;
+    private static final int PAGE       = 4096;
+
+    /** A game read back from a snapshot. */
+    public static final class Saved {
+        public final GameEngine engine;
+        public final String player1;
+        public final String player2;
+        /** Length of the game's log when it was saved ({@link GameLog#getLength()}), or -1 if none. */
+        public final long logLength;
+
+        Saved(GameEngine engine, String player1, String player2, long logLength) {
+            this.engine = engine;
+            this.player1 = player1;
+            this.player2 = player2;
+            this.logLength = logLength;
+        }
+    }
+
+    private final FileChannel channel;
+    private MappedByteBuffer map;
+    private int slotSize;
+    private long sequence;
+    private final CRC32 crc = new CRC32();
+
+    public GameSnapshot(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size >= FILE_HEAD) {
+            map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (map.getInt(0) == MAGIC) {
+                slotSize = map.getInt(4);
+                sequence = Math.max(slotSequence(0), slotSequence(1));
+            } else {
+                slotSize = 0;
+            }
+        }
+    }
+
+    /** Saves the game without forcing it to disk. */
+    public void save(GameEngine engine, String player1, String player2) throws IOException {
+        save(engine, player1, player2, false);
+    }
+
+    public void save(GameEngine engine, String player1, String player2, boolean force) throws IOException {
+        byte[] n1 = utf8(player1);
+        byte[] n2 = utf8(player2);
+        Board b1 = engine.getBoard(0);
+        Board b2 = engine.getBoard(1);
+        int payload = 4 + 4 + 4 + 1 + 1 + 2 + n1.length + 2 + n2.length + b1.stateBytes() + b2.stateBytes() + 8;
+        ensureSlotSize(SLOT_HEAD + payload);
+
+        long seq = sequence + 1;
+        int base = slotBase((int) (seq & 1));
+
+        ByteBuffer out = map.duplicate();
+        out.position(base + SLOT_HEAD);
+        out.putInt(VERSION);
+        out.putInt(engine.getScore());
+        out.putInt(engine.getLives());
+        out.put((byte) engine.getCurrentPlayer());
+        out.put((byte) engine.getRules().startLives);
+        out.putShort((short) n1.length).put(n1);
+        out.putShort((short) n2.length).put(n2);
+        b1.writeState(out);
+        b2.writeState(out);
+        out.putLong(engine.getLog() != null ? engine.getLog().getLength() : -1);
+
+        crc.reset();
+        crc.update(map.duplicate().position(base + SLOT_HEAD).limit(base + SLOT_HEAD + payload));
+
+        // header last: a torn write leaves a CRC mismatch, never a half-valid slot
+        map.putLong(base + 4, seq);
+        map.putInt(base + 12, payload);
+        map.putInt(base + 16, (int) crc.getValue());
+        map.putInt(base, MAGIC);
+        sequence = seq;
+
+        if (force) map.force();
+    }
+
+    /** @return the newest intact snapshot, or null if there is none */
+    public Saved load() {
+        if (slotSize == 0) return null;
+        int best = -1;
+        long bestSeq = -1;
+        for (int slot = 0; slot < 2; slot++) {
+            long seq = slotSequence(slot);
+            if (seq > bestSeq && slotValid(slot)) {
+                best = slot;
+                bestSeq = seq;
+            }
+        }
+        if (best < 0) return null;
+        Saved saved = decode(best);
+        // an intact slot whose contents make no sense is treated like a torn one
+        int other = 1 - best;
+        if (saved == null && slotValid(other)) saved = decode(other);
+        return saved;
+    }
+
+    /** @return the game in {@code slot}, or null if its payload does not decode */
+    private Saved decode(int slot) {
+        int base = slotBase(slot);
+        ByteBuffer in = map.duplicate();
+        in.limit(base + SLOT_HEAD + map.getInt(base + 12)).position(base + SLOT_HEAD);
+        try {
+            return read(in);
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            return null;
+        }
+    }
+
+    private static Saved read(ByteBuffer in) {
+        int version = in.getInt();
+        if (version < 1 || version > VERSION) return null;
+        int score = in.getInt();
+        int lives = in.getInt();
+        int turn = in.get();
+        int startLives = in.get();
+        String p1 = readName(in);
+        String p2 = readName(in);
+        Board b1 = Board.readState(in);
+        Board b2 = Board.readState(in);
+        long logLength = version >= 2 ? in.getLong() : -1;
+
+        GameEngine engine = new GameEngine(b1, b2, new GameRules(b1.getDifficulty(), startLives));
+        engine.restore(score, lives, turn);
+        return new Saved(engine, p1, p2, logLength);
+    }
+
+    /** Forgets the saved game (e.g. when it is over). */
+    public void clear() {
+        if (slotSize == 0) return;
+        map.putInt(slotBase(0), 0);
+        map.putInt(slotBase(1), 0);
+    }
+
+    public boolean hasSnapshot() {
+        return slotSize != 0 && (slotValid(0) || slotValid(1));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (map != null) map.force();
+        channel.close();
+    }
+
+    // ---------- layout ----------
+
+    private int slotBase(int slot) {
+        return FILE_HEAD + slot * slotSize;
+    }
+
+    private long slotSequence(int slot) {
+        int base = slotBase(slot);
+        if (base + SLOT_HEAD > map.capacity() || map.getInt(base) != MAGIC) return -1;
+        return map.getLong(base + 4);
+    }
+
+    private boolean slotValid(int slot) {
+        int base = slotBase(slot);
+        if (slotSequence(slot) < 0) return false;
+        int length = map.getInt(base + 12);
+        if (length <= 0 || length > slotSize - SLOT_HEAD || base + SLOT_HEAD + length > map.capacity()) {
+            return false;
+        }
+        CRC32 check = new CRC32();
+        check.update(map.duplicate().position(base + SLOT_HEAD).limit(base + SLOT_HEAD + length));
+        return (int) check.getValue() == map.getInt(base + 16);
+    }
+
+    /**
+     * Grows (and remaps) the file when a bigger game needs more room. Board
+     * sizes are fixed within a game, so older snapshots are dropped.
+     */
+    private void ensureSlotSize(int needed) throws IOException {
+        if (needed <= slotSize) return;
+        int newSlot = (needed + PAGE - 1) / PAGE * PAGE;
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_HEAD + 2L * newSlot);
+        map.putInt(0, MAGIC);
+        map.putInt(4, newSlot);
+        slotSize = newSlot;
+        clear();
+    }
+
+    private static byte[] utf8(String s) {
+        byte[] b = (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+        return b.length <= Short.MAX_VALUE ? b : java.util.Arrays.copyOf(b, Short.MAX_VALUE);
+    }
+
+    private static String readName(ByteBuffer in) {
+        byte[] b = new byte[in.getShort() & 0xFFFF];
+        in.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
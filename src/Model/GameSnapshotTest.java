@@ -0,0 +1,171 @@
+package Model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for GameSnapshot – save / resume through the mapped file.
+ */
+public class GameSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private static GameEngine playSome(long seed) {
+        GameEngine engine = new GameEngine(new Board(Difficulty.MEDIUM, seed, true),
+                new Board(Difficulty.MEDIUM, seed + 1, true), new GameRules(Difficulty.MEDIUM));
+        java.util.SplittableRandom random = new java.util.SplittableRandom(seed);
+        for (int i = 0; i < 40 && !engine.isGameOver(); i++) {
+            int p = engine.getCurrentPlayer();
+            int r = random.nextInt(13), c = random.nextInt(13);
+            if (random.nextInt(6) == 0) engine.toggleFlag(p, r, c);
+            else engine.reveal(p, r, c);
+        }
+        return engine;
+    }
+
+    private static void assertSameGame(GameEngine a, GameEngine b) {
+        assertEquals(a.getScore(), b.getScore());
+        assertEquals(a.getLives(), b.getLives());
+        assertEquals(a.getCurrentPlayer(), b.getCurrentPlayer());
+        for (int p = 0; p < 2; p++) {
+            Board x = a.getBoard(p), y = b.getBoard(p);
+            assertEquals(x.remainingSafeCells(), y.remainingSafeCells());
+            for (int idx = 0; idx < x.getCellCount(); idx++) {
+                assertEquals(x.getType(idx), y.getType(idx));
+                assertEquals(x.getAdjacentMines(idx), y.getAdjacentMines(idx));
+                assertEquals(x.isRevealed(idx), y.isRevealed(idx));
+                assertEquals(x.isFlagged(idx), y.isFlagged(idx));
+                assertEquals(x.isFlagScored(idx), y.isFlagScored(idx));
+            }
+        }
+    }
+
+    @Test
+    void testSaveAndLoadAcrossReopen() throws Exception {
+        Path file = dir.resolve("autosave.bin");
+        GameEngine engine = playSome(5L);
+        try (GameSnapshot snap = new GameSnapshot(file)) {
+            snap.save(engine, "Alice", "Bob");
+        }
+        try (GameSnapshot snap = new GameSnapshot(file)) {
+            GameSnapshot.Saved saved = snap.load();
+            assertNotNull(saved);
+            assertEquals("Alice", saved.player1);
+            assertEquals("Bob", saved.player2);
+            assertEquals(-1, saved.logLength);   // played without a log
+            assertSameGame(engine, saved.engine);
+        }
+    }
+
+    @Test
+    void testTornWriteFallsBackToPreviousSave() throws Exception {
+        Path file = dir.resolve("autosave.bin");
+        GameEngine first = playSome(6L);
+        GameEngine second = playSome(7L);
+        try (GameSnapshot snap = new GameSnapshot(file)) {
+            snap.save(first, "A", "B");
+            snap.save(second, "A", "B");
+        }
+        // corrupt the payload of the newest slot, as if the app died mid-save
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            int slotSize = readIntAt(raf, 4);
+            long seq0 = readLongAt(raf, 16 + 4);
+            long seq1 = readLongAt(raf, 16 + slotSize + 4);
+            long pos = 16 + (seq1 > seq0 ? slotSize : 0) + 24 + 8;
+            raf.seek(pos);
+            int b = raf.read();
+            raf.seek(pos);
+            raf.write(b ^ 0xFF);
+        }
+        try (GameSnapshot snap = new GameSnapshot(file)) {
+            assertSameGame(first, snap.load().engine);
+        }
+    }
+
+    @Test
+    void testClearForgetsGame() throws Exception {
+        try (GameSnapshot snap = new GameSnapshot(dir.resolve("autosave.bin"))) {
+            assertNull(snap.load());
+            snap.save(playSome(8L), "A", "B");
+            assertTrue(snap.hasSnapshot());
+            snap.clear();
+            assertFalse(snap.hasSnapshot());
+            assertNull(snap.load());
+        }
+    }
+
+    @Test
+    void testImpossibleBoardStateFallsBackLikeATornWrite() throws Exception {
+        Path file = dir.resolve("autosave.bin");
+        GameEngine first = playSome(9L);
+        GameEngine second = playSome(10L);
+        try (GameSnapshot snap = new GameSnapshot(file)) {
+            snap.save(first, "A", "B");
+            snap.save(second, "A", "B");
+        }
+        // payload: version, score, lives, turn, start lives, names "A" and "B", then board 1
+        int board1 = 4 + 4 + 4 + 1 + 1 + 3 + 3;
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            int slotSize = readIntAt(raf, 4);
+            boolean newestIsOne = readLongAt(raf, 16 + slotSize + 4) > readLongAt(raf, 16 + 4);
+            long newest = 16 + (newestIsOne ? slotSize : 0);
+            long older = 16 + (newestIsOne ? 0 : slotSize);
+            rewriteWithValidCrc(raf, newest, board1, new byte[] {9});                      // no such difficulty
+            rewriteWithValidCrc(raf, older, board1 + 2, new byte[] {0x7F, 0, 0, 0});     // huge row count
+        }
+        try (GameSnapshot snap = new GameSnapshot(file)) {
+            assertTrue(snap.hasSnapshot());   // both CRCs match
+            assertNull(snap.load());
+        }
+    }
+
+    @Test
+    void testBadMineCountFallsBackToPreviousSave() throws Exception {
+        Path file = dir.resolve("autosave.bin");
+        GameEngine first = playSome(11L);
+        GameEngine second = playSome(12L);
+        try (GameSnapshot snap = new GameSnapshot(file)) {
+            snap.save(first, "A", "B");
+            snap.save(second, "A", "B");
+        }
+        int board1Mines = 4 + 4 + 4 + 1 + 1 + 3 + 3 + 1 + 1 + 4 + 4;
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            int slotSize = readIntAt(raf, 4);
+            boolean newestIsOne = readLongAt(raf, 16 + slotSize + 4) > readLongAt(raf, 16 + 4);
+            rewriteWithValidCrc(raf, 16 + (newestIsOne ? slotSize : 0), board1Mines, new byte[] {0, 0, 0x10, 0});
+        }
+        try (GameSnapshot snap = new GameSnapshot(file)) {
+            assertSameGame(first, snap.load().engine);
+        }
+    }
+
+    /** Overwrites payload bytes of the slot at {@code slot} and fixes its CRC, so only decoding can notice. */
+    private static void rewriteWithValidCrc(RandomAccessFile raf, long slot, int offset, byte[] bytes) throws Exception {
+        raf.seek(slot + 24 + offset);
+        raf.write(bytes);
+        int length = readIntAt(raf, slot + 12);
+        byte[] payload = new byte[length];
+        raf.seek(slot + 24);
+        raf.readFully(payload);
+        java.util.zip.CRC32 crc = new java.util.zip.CRC32();
+        crc.update(payload);
+        raf.seek(slot + 16);
+        raf.writeInt((int) crc.getValue());
+    }
+
+    private static int readIntAt(RandomAccessFile raf, long pos) throws Exception {
+        raf.seek(pos);
+        return raf.readInt();
+    }
+
+    private static long readLongAt(RandomAccessFile raf, long pos) throws Exception {
+        raf.seek(pos);
+        return raf.readLong();
+    }
+}
@@ -0,0 +1,507 @@
+package Model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Memory-mapped, column-oriented copy of the game history for queries.
+ *
+ * Each finished game is one row spread over five columns: player, result
+ * and difficulty as ids into a shared string dictionary, the score as an int
+ * and the date as epoch millis. Every block of {@link #BLOCK} rows keeps the
+ * min / max of each column, so a {@link Query} skips whole blocks that cannot
+ * match (a date range, a difficulty, a player) and only touches the column
+ * values it filters or aggregates on. Nothing but the dictionary lives on the
+ * heap.
+ *
+ * The CSV written by {@link HistoryStore} stays the record of truth; this
+ * file is derived from it and can be {@link #rebuild rebuilt} whenever the
+ * two disagree (e.g. after a crash). The row count in the header is written
+ * after the row itself, so a torn append is simply not counted.
+ *
+ * Not thread-safe; the UI uses it from the EDT.
+ */
+public class HistoryIndex implements Closeable {
+
+    private static final int MAGIC   = 0x4D534849;   // "MSHI"
+    private static final int VERSION = 1;
+    // header: magic @0, version @4, count @8, capacity @12, dict entries @16, dict bytes @20, dict capacity @24
+    private static final int HEAD    = 64;
+    public static final int BLOCK    = 1024;
+    // block index entry: min/max player, result, difficulty, score (ints), min/max date (longs)
+    private static final int BLOCK_ENTRY = 8 * 4 + 2 * 8;
+
+    private static final int C_PLAYER = 0, C_RESULT = 1, C_DIFFICULTY = 2, C_SCORE = 3;
+    private static final int INT_COLUMNS = 4;
+
+    /** Date value of a row whose date could not be parsed. */
+    public static final long NO_DATE = Long.MIN_VALUE;
+
+    private final FileChannel channel;
+    private MappedByteBuffer map;
+    // views of the column regions of map
+    private final IntBuffer[] columns = new IntBuffer[INT_COLUMNS];
+    private LongBuffer dates;
+    private int count;
+    private int capacity;
+    private int dictBytes;
+    private int dictCapacity;
+
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    public HistoryIndex(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = channel.size();
+            boolean valid = false;
+            if (size >= HEAD) {
+                mapFile(size);
+                valid = map.getInt(0) == MAGIC && map.getInt(4) == VERSION
+                        && layoutSize(map.getInt(12), map.getInt(24)) <= size;
+            }
+            if (valid) {
+                count = map.getInt(8);
+                capacity = map.getInt(12);
+                dictBytes = map.getInt(20);
+                dictCapacity = map.getInt(24);
+                readDictionary(map.getInt(16));
+                viewColumns();
+            } else {
+                reset();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Number of games in the index. */
+    public int size() {
+        return count;
+    }
+
+    /** Drops everything and fills the index from the records in {@code source}. */
+    public void rebuild(HistoryStore source) throws IOException {
+        reset();
+        try {
+            source.forEachRecord(row -> {
+                try {
+                    append(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /** Adds one game: {player, result, score, difficulty, date}. */
+    public void append(String[] row) throws IOException {
+        int player = id(row[0]);
+        int result = id(row[1]);
+        int difficulty = id(row[3]);
+        int score = parseScore(row[2]);
+        long date = parseDate(row[4]);
+
+        if (count == capacity) grow(capacity * 2, dictCapacity);
+        int i = count;
+        map.putInt(intColumn(C_PLAYER) + 4 * i, player);
+        map.putInt(intColumn(C_RESULT) + 4 * i, result);
+        map.putInt(intColumn(C_DIFFICULTY) + 4 * i, difficulty);
+        map.putInt(intColumn(C_SCORE) + 4 * i, score);
+        map.putLong(dateColumn() + 8 * i, date);
+
+        int e = blockEntry(i / BLOCK);
+        int[] values = {player, result, difficulty, score};
+        boolean first = i % BLOCK == 0;
+        for (int c = 0; c < INT_COLUMNS; c++) {
+            int min = e + 8 * c, max = min + 4;
+            if (first || values[c] < map.getInt(min)) map.putInt(min, values[c]);
+            if (first || values[c] > map.getInt(max)) map.putInt(max, values[c]);
+        }
+        int dmin = e + 8 * INT_COLUMNS, dmax = dmin + 8;
+        if (first || date < map.getLong(dmin)) map.putLong(dmin, date);
+        if (first || date > map.getLong(dmax)) map.putLong(dmax, date);
+
+        // count last: a row is only visible once all of it is written
+        count = i + 1;
+        map.putInt(8, count);
+    }
+
+    /** Game {@code i} in the CSV shape it was appended in (date at millisecond precision). */
+    public String[] row(int i) {
+        if (i < 0 || i >= count) throw new IndexOutOfBoundsException(i);
+        long date = getDate(i);
+        return new String[]{
+                names.get(map.getInt(intColumn(C_PLAYER) + 4 * i)),
+                names.get(map.getInt(intColumn(C_RESULT) + 4 * i)),
+                String.valueOf(getScore(i)),
+                names.get(map.getInt(intColumn(C_DIFFICULTY) + 4 * i)),
+                date == NO_DATE ? "" : LocalDateTime.ofInstant(Instant.ofEpochMilli(date), ZoneId.systemDefault()).toString()
+        };
+    }
+
+    public int getScore(int i) {
+        return map.getInt(intColumn(C_SCORE) + 4 * i);
+    }
+
+    public long getDate(int i) {
+        return map.getLong(dateColumn() + 8 * i);
+    }
+
+    /** A query over all games; narrow it with the filter methods. */
+    public Query query() {
+        return new Query();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // ---------- queries ----------
+
+    /** Aggregates over the games a query matched. */
+    public static final class Stats {
+        public final int games;
+        public final int wins;
+        public final long totalScore;
+        /** Best score, or 0 if no game matched. */
+        public final int bestScore;
+
+        static final Stats NONE = new Stats(0, 0, 0, 0);
+
+        Stats(int games, int wins, long totalScore, int bestScore) {
+            this.games = games;
+            this.wins = wins;
+            this.totalScore = totalScore;
+            this.bestScore = bestScore;
+        }
+
+        /** Share of games ending with a cleared board ("Cleared ..."), 0..1. */
+        public double winRate() {
+            return games == 0 ? 0 : wins / (double) games;
+        }
+
+        public double averageScore() {
+            return games == 0 ? 0 : totalScore / (double) games;
+        }
+    }
+
+    /**
+     * Filter over the index. Filters combine with AND; the result methods
+     * read the index as it is when they are called.
+     */
+    public final class Query {
+        private String player;
+        private String difficulty;
+        private long from = Long.MIN_VALUE, to = Long.MAX_VALUE;
+
+        private Query() {
+        }
+
+        /** Games played by {@code name}, alone or as one of a "A & B" pair. */
+        public Query player(String name) {
+            this.player = name;
+            return this;
+        }
+
+        public Query difficulty(Difficulty d) {
+            this.difficulty = d.name();
+            return this;
+        }
+
+        /** Games finished within [fromMillis, toMillis] (epoch millis, inclusive). */
+        public Query between(long fromMillis, long toMillis) {
+            this.from = fromMillis;
+            this.to = toMillis;
+            return this;
+        }
+
+        /** Number of matching games. */
+        public int count() {
+            return scan(null).games;
+        }
+
+        /** Row numbers of the matching games, oldest first. */
+        public int[] rows() {
+            int[] out = new int[count()];
+            scan(out);
+            return out;
+        }
+
+        public Stats stats() {
+            return scan(null);
+        }
+
+        /**
+         * One pass over the matching rows, block by block, skipping blocks
+         * whose min / max rule them out. Row numbers go to {@code out} if given.
+         */
+        private Stats scan(int[] out) {
+            // per dictionary id: 1 if the value passes the filter
+            int[] pm = null;
+            int pMin = Integer.MAX_VALUE, pMax = Integer.MIN_VALUE;
+            if (player != null) {
+                pm = new int[names.size()];
+                for (int id = 0; id < pm.length; id++) {
+                    if (playedBy(names.get(id), player)) {
+                        pm[id] = 1;
+                        pMin = Math.min(pMin, id);
+                        pMax = Math.max(pMax, id);
+                    }
+                }
+                if (pMin > pMax) return Stats.NONE;
+            }
+            int diff = -1;
+            int[] dm = null;
+            if (difficulty != null) {
+                Integer id = ids.get(difficulty);
+                if (id == null) return Stats.NONE;
+                diff = id;
+                dm = new int[names.size()];
+                dm[diff] = 1;
+            }
+            int[] wm = mask("Cleared");
+            boolean dated = from != Long.MIN_VALUE || to != Long.MAX_VALUE;
+
+            // one block of each needed column at a time is copied into scratch arrays
+            int[] ps = new int[BLOCK], rs = new int[BLOCK], ds = new int[BLOCK], ss = new int[BLOCK];
+            long[] ts = new long[BLOCK];
+            int games = 0, wins = 0, best = Integer.MIN_VALUE;
+            long total = 0;
+            for (int b = 0; b * BLOCK < count; b++) {
+                int e = blockEntry(b);
+                if (player != null && (map.getInt(e + 8 * C_PLAYER + 4) < pMin || map.getInt(e + 8 * C_PLAYER) > pMax)) continue;
+                if (diff >= 0 && (map.getInt(e + 8 * C_DIFFICULTY + 4) < diff || map.getInt(e + 8 * C_DIFFICULTY) > diff)) continue;
+                long dMin = map.getLong(e + 8 * INT_COLUMNS), dMax = map.getLong(e + 8 * INT_COLUMNS + 8);
+                if (dMax < from || dMin > to) continue;
+                boolean allDates = !dated || (dMin >= from && dMax <= to);
+
+                int start = b * BLOCK;
+                int n = Math.min(count - start, BLOCK);
+                columns[C_RESULT].get(start, rs, 0, n);
+                columns[C_SCORE].get(start, ss, 0, n);
+                if (player != null) columns[C_PLAYER].get(start, ps, 0, n);
+                if (diff >= 0) columns[C_DIFFICULTY].get(start, ds, 0, n);
+                if (!allDates) dates.get(start, ts, 0, n);
+
+                // branch-free per row: m is 1 for a match, 0 otherwise
+                for (int k = 0; k < n; k++) {
+                    int m = 1;
+                    if (player != null) m = pm[ps[k]];
+                    if (diff >= 0) m &= dm[ds[k]];
+                    if (!allDates) m &= (ts[k] >= from ? 1 : 0) & (ts[k] <= to ? 1 : 0);
+                    int score = ss[k];
+                    total += score & -m;
+                    best = Math.max(best, m != 0 ? score : Integer.MIN_VALUE);
+                    wins += m & wm[rs[k]];
+                    if (out != null && m != 0) out[games] = start + k;
+                    games += m;
+                }
+            }
+            return games == 0 ? Stats.NONE : new Stats(games, wins, total, best);
+        }
+    }
+
+    private static boolean playedBy(String players, String name) {
+        if (players.equals(name)) return true;
+        for (String p : players.split(" & ")) {
+            if (p.trim().equals(name)) return true;
+        }
+        return false;
+    }
+
+    /** 1 for every dictionary entry starting with {@code prefix}. */
+    private int[] mask(String prefix) {
+        int[] m = new int[names.size()];
+        for (int id = 0; id < m.length; id++) m[id] = names.get(id).startsWith(prefix) ? 1 : 0;
+        return m;
+    }
+
+    // ---------- parsing ----------
+
+    private static int parseScore(String s) {
+        try {
+            return Integer.parseInt(s.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static long parseDate(String s) {
+        try {
+            return LocalDateTime.parse(s.trim()).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return NO_DATE;
+        }
+    }
+
+    // ---------- dictionary ----------
+
+    private int id(String s) throws IOException {
+        Integer id = ids.get(s);
+        if (id != null) return id;
+
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        if (b.length > Short.MAX_VALUE) b = Arrays.copyOf(b, Short.MAX_VALUE);
+        if (dictBytes + 2 + b.length > dictCapacity) {
+            grow(capacity, Math.max(dictCapacity * 2, dictBytes + 2 + b.length));
+        }
+        ByteBuffer out = map.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        out.position(dictionary() + dictBytes);
+        out.putShort((short) b.length).put(b);
+        dictBytes += 2 + b.length;
+
+        int newId = names.size();
+        names.add(s);
+        ids.put(s, newId);
+        map.putInt(20, dictBytes);
+        map.putInt(16, names.size());
+        return newId;
+    }
+
+    private void readDictionary(int entries) {
+        ByteBuffer in = map.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        in.position(dictionary());
+        for (int k = 0; k < entries; k++) {
+            byte[] b = new byte[in.getShort()];
+            in.get(b);
+            String s = new String(b, StandardCharsets.UTF_8);
+            ids.put(s, names.size());
+            names.add(s);
+        }
+    }
+
+    // ---------- layout ----------
+
+    // [head][player int × cap][result int × cap][difficulty int × cap][score int × cap]
+    // [date long × cap][block index × cap/BLOCK][dictionary bytes]
+
+    private int intColumn(int c) {
+        return HEAD + c * 4 * capacity;
+    }
+
+    private int dateColumn() {
+        return HEAD + INT_COLUMNS * 4 * capacity;
+    }
+
+    private int blockEntry(int block) {
+        return dateColumn() + 8 * capacity + block * BLOCK_ENTRY;
+    }
+
+    private int dictionary() {
+        return blockEntry(capacity / BLOCK);
+    }
+
+    private static long layoutSize(int capacity, int dictCapacity) {
+        if (capacity <= 0 || capacity % BLOCK != 0 || dictCapacity <= 0) return -1;
+        return HEAD + (long) capacity * (INT_COLUMNS * 4 + 8)
+                + (long) (capacity / BLOCK) * BLOCK_ENTRY + dictCapacity;
+    }
+
+    private void reset() throws IOException {
+        count = 0;
+        dictBytes = 0;
+        names.clear();
+        ids.clear();
+        capacity = 4 * BLOCK;
+        dictCapacity = 4096;
+        // the file is never shrunk (a mapped file cannot be truncated everywhere)
+        mapFile(Math.max(channel.size(), layoutSize(capacity, dictCapacity)));
+        writeHeader();
+        viewColumns();
+        map.putInt(0, MAGIC);
+    }
+
+    private void writeHeader() {
+        map.putInt(4, VERSION);
+        map.putInt(8, count);
+        map.putInt(12, capacity);
+        map.putInt(16, names.size());
+        map.putInt(20, dictBytes);
+        map.putInt(24, dictCapacity);
+    }
+
+    /**
+     * Enlarges the file and slides the regions to their new offsets, last
+     * region first so nothing is overwritten before it has moved.
+     */
+    private void grow(int newCapacity, int newDictCapacity) throws IOException {
+        long size = layoutSize(newCapacity, newDictCapacity);
+        if (size > Integer.MAX_VALUE) throw new IOException("history index too large");
+        int oldDict = dictionary();
+        int oldBlocks = blockEntry(0);
+        int oldDate = dateColumn();
+        int[] oldInts = new int[INT_COLUMNS];
+        for (int c = 0; c < INT_COLUMNS; c++) oldInts[c] = intColumn(c);
+        map.putInt(0, 0);   // invalid until every region has moved
+
+        mapFile(size);
+        int oldCapacity = capacity;
+        capacity = newCapacity;
+        dictCapacity = newDictCapacity;
+
+        if (capacity != oldCapacity) {
+            move(oldDict, dictionary(), dictBytes);
+            move(oldBlocks, blockEntry(0), ((count + BLOCK - 1) / BLOCK) * BLOCK_ENTRY);
+            move(oldDate, dateColumn(), 8 * count);
+            for (int c = INT_COLUMNS - 1; c > 0; c--) move(oldInts[c], intColumn(c), 4 * count);
+        }
+        writeHeader();
+        viewColumns();
+        map.putInt(0, MAGIC);
+    }
+
+    private void mapFile(long size) throws IOException {
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        map.order(ByteOrder.LITTLE_ENDIAN);   // the byte order of the machines this runs on
+    }
+
+    /** Re-creates the column views after the mapping or the capacity changed. */
+    private void viewColumns() {
+        for (int c = 0; c < INT_COLUMNS; c++) columns[c] = region(intColumn(c), 4 * capacity).asIntBuffer();
+        dates = region(dateColumn(), 8 * capacity).asLongBuffer();
+    }
+
+    private ByteBuffer region(int offset, int length) {
+        ByteBuffer b = map.duplicate();
+        b.position(offset).limit(offset + length);
+        return b.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /** Copies {@code len} bytes towards the end of the file, back to front (regions may overlap). */
+    private void move(int from, int to, int len) {
+        byte[] chunk = new byte[Math.min(len, 1 << 16)];
+        int done = 0;
+        while (done < len) {
+            int n = Math.min(chunk.length, len - done);
+            int off = len - done - n;
+            map.get(from + off, chunk, 0, n);
+            map.put(to + off, chunk, 0, n);
+            done += n;
+        }
+    }
+}
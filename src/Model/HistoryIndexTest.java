@@ -0,0 +1,104 @@
+package Model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for HistoryIndex – queries against a brute-force scan of the same rows.
+ */
+public class HistoryIndexTest {
+
+    @TempDir
+    Path dir;
+
+    private static final String[] PLAYERS = {"Alice", "Bob", "Carol", "Dan"};
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static String[] game(SplittableRandom rnd, int i) {
+        String a = PLAYERS[rnd.nextInt(PLAYERS.length)];
+        String b = PLAYERS[rnd.nextInt(PLAYERS.length)];
+        boolean won = rnd.nextInt(3) == 0;
+        return new String[]{
+                won ? a : a + " & " + b,
+                won ? "Cleared Board" : "Game Over (0 lives)",
+                String.valueOf(rnd.nextInt(-20, 200)),
+                Difficulty.values()[rnd.nextInt(3)].name(),
+                START.plusMinutes(i * 7L).toString()
+        };
+    }
+
+    private static long millis(LocalDateTime t) {
+        return t.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /** Writes {@code n} random games to a CSV and builds the index from it. */
+    private HistoryIndex build(int n) throws Exception {
+        Path csv = dir.resolve("game_history.csv");
+        SplittableRandom rnd = new SplittableRandom(5);
+        try (HistoryStore store = new HistoryStore(csv)) {
+            for (int i = 0; i < n; i++) store.append(game(rnd, i));
+        }
+        HistoryIndex index = new HistoryIndex(dir.resolve("game_history.idx"));
+        try (HistoryStore store = new HistoryStore(csv)) {
+            index.rebuild(store);
+        }
+        return index;
+    }
+
+    @Test
+    void testQueriesMatchBruteForce() throws Exception {
+        int n = 5 * HistoryIndex.BLOCK + 77;   // forces the file to grow
+        long from = millis(START.plusDays(3)), to = millis(START.plusDays(9));
+        try (HistoryIndex index = build(n)) {
+            assertEquals(n, index.size());
+
+            int games = 0, wins = 0, best = Integer.MIN_VALUE;
+            long total = 0;
+            int count = 0;
+            for (int i = 0; i < n; i++) {
+                String[] row = index.row(i);
+                long t = index.getDate(i);
+                boolean alice = row[0].equals("Alice") || row[0].startsWith("Alice &") || row[0].endsWith("& Alice");
+                if (alice && row[3].equals("HARD") && t >= from && t <= to) {
+                    games++;
+                    int score = Integer.parseInt(row[2]);
+                    total += score;
+                    best = Math.max(best, score);
+                    if (row[1].startsWith("Cleared")) wins++;
+                }
+                if (row[3].equals("EASY")) count++;
+            }
+
+            HistoryIndex.Stats stats = index.query().player("Alice").difficulty(Difficulty.HARD).between(from, to).stats();
+            assertTrue(games > 0);
+            assertEquals(games, stats.games);
+            assertEquals(wins, stats.wins);
+            assertEquals(total, stats.totalScore);
+            assertEquals(best, stats.bestScore);
+            assertEquals(count, index.query().difficulty(Difficulty.EASY).count());
+            assertEquals(0, index.query().player("Nobody").count());
+        }
+    }
+
+    @Test
+    void testReopenKeepsRowsAndAppends() throws Exception {
+        SplittableRandom rnd = new SplittableRandom(11);
+        String[] last = game(rnd, 9999);
+        try (HistoryIndex index = build(1500)) {
+            index.append(last);
+        }
+        try (HistoryIndex index = new HistoryIndex(dir.resolve("game_history.idx"))) {
+            assertEquals(1501, index.size());
+            assertArrayEquals(last, index.row(1500));
+            int[] rows = index.query().between(millis(START.plusMinutes(9999 * 7L)), Long.MAX_VALUE).rows();
+            assertArrayEquals(new int[]{1500}, rows);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package Model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The game history file (game_history.csv), written one record at a time.
+ *
+ * {@link #append} only queues the row; a background thread writes whatever
+ * has queued up since its last pass in one flush (group commit) at
+ * the end of the file, and fsyncs at most every {@link #FSYNC_MILLIS} ms.
+ * Finishing a game therefore costs one short line of I/O, however long the
+ * history already is, and never blocks the caller.
+ *
+ * A record is complete once its newline is on disk. When the file is opened,
+ * a torn last line (the app died mid-write) is cut off, so the file always
+ * holds whole records.
+ */
+public class HistoryStore implements Closeable {
+
+    public static final String HEADER = "Player,Result,Score,Difficulty,Date";
+    public static final int COLUMNS = 5;
+
+    static final long FSYNC_MILLIS = 1000;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int existing;
+    private final Thread writer;
+
+    // guarded by this
+    private List<String[]> pending = new ArrayList<>();
+    private List<String[]> draining = new ArrayList<>();
+    private long appended;     // rows handed to append()
+    private long durable;      // rows written and fsynced
+    private boolean forceNow;
+    private boolean closed;
+    private IOException failure;
+
+    // writer thread only; appends at the channel position (the end of the file)
+    private final CsvWriter out;
+
+    public HistoryStore(Path file) throws IOException {
+        this.file = file;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            recoverTail();
+            if (channel.size() == 0) {
+                write((HEADER + "\n").getBytes(StandardCharsets.UTF_8));
+                channel.force(false);
+            }
+            existing = countRecords();
+            channel.position(channel.size());
+            out = new CsvWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        writer = new Thread(this::run, "history-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /** Number of records in the file when it was opened (header excluded). */
+    public int getRecordCount() {
+        return existing;
+    }
+
+    /**
+     * Streams the records that were in the file when it was opened, oldest
+     * first, without keeping them.
+     */
+    public void forEachRecord(Consumer<String[]> action) throws IOException {
+        try (CsvReader csv = new CsvReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            csv.next();   // header
+            int n = 0;
+            while (n < existing && csv.next()) {
+                if (csv.size() >= COLUMNS) {
+                    action.accept(new String[]{csv.get(0), csv.get(1), csv.get(2), csv.get(3), csv.get(4)});
+                    n++;
+                }
+            }
+        }
+    }
+
+    /** Queues one finished game; it reaches the file shortly after. */
+    public synchronized void append(String[] row) {
+        if (closed) throw new IllegalStateException("history store is closed");
+        pending.add(row.clone());
+        appended++;
+        notifyAll();
+    }
+
+    /** Waits until every row appended so far has been written and fsynced. */
+    public synchronized void flush() throws IOException {
+        long target = appended;
+        forceNow = true;
+        notifyAll();
+        try {
+            while (durable < target && failure == null) wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while flushing history", e);
+        }
+        if (failure != null) throw failure;
+    }
+
+    /** Flushes, stops the writer thread and closes the file. */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        synchronized (this) {
+            if (failure != null) throw failure;
+        }
+    }
+
+    // ---------- writer thread ----------
+
+    private void run() {
+        long lastForce = System.currentTimeMillis();
+        boolean dirty = false;
+        while (true) {
+            List<String[]> batch;
+            long batchEnd;
+            boolean force, stop;
+            synchronized (this) {
+                long now = System.currentTimeMillis();
+                while (pending.isEmpty() && !closed && !forceNow
+                        && !(dirty && now - lastForce >= FSYNC_MILLIS)) {
+                    try {
+                        wait(dirty ? Math.max(1, FSYNC_MILLIS - (now - lastForce)) : 0);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    now = System.currentTimeMillis();
+                }
+                batch = pending;
+                pending = draining;
+                draining = batch;
+                batchEnd = appended;
+                stop = closed;
+                force = forceNow || stop || now - lastForce >= FSYNC_MILLIS;
+                forceNow = false;
+            }
+
+            try {
+                if (!batch.isEmpty()) {
+                    writeBatch(batch);
+                    dirty = true;
+                }
+                batch.clear();
+                if (force && dirty) {
+                    channel.force(false);
+                    lastForce = System.currentTimeMillis();
+                    dirty = false;
+                }
+                synchronized (this) {
+                    if (!dirty) durable = batchEnd;
+                    notifyAll();
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+                synchronized (this) {
+                    failure = e;
+                    notifyAll();
+                }
+                return;
+            }
+            if (stop) return;
+        }
+    }
+
+    private void writeBatch(List<String[]> batch) throws IOException {
+        for (String[] row : batch) out.record(row);
+        out.flush();
+    }
+
+    // ---------- opening ----------
+
+    private void write(byte[] bytes) throws IOException {
+        ByteBuffer b = ByteBuffer.wrap(bytes);
+        while (b.hasRemaining()) channel.write(b, channel.size());
+    }
+
+    /**
+     * Cuts the file back to the end of its last whole record, dropping a
+     * half-written one. Records end at a newline outside quotes; a torn
+     * record may stop inside a quoted field that holds newlines of its own,
+     * so the file is scanned from the start with the same quote state as
+     * {@link #countRecords()}.
+     */
+    private void recoverTail() throws IOException {
+        long size = channel.size();
+        if (size == 0) return;
+        long keep = lastRecordEnd() + 1;   // 0 if no record ends at all
+        if (keep == size) return;
+        channel.truncate(keep);
+        channel.force(false);
+    }
+
+    /** @return position of the last '\n' outside quotes, or -1 */
+    private long lastRecordEnd() throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(1 << 16);
+        long pos = 0, last = -1;
+        boolean quoted = false;
+        while (true) {
+            chunk.clear();
+            int n = channel.read(chunk, pos);
+            if (n <= 0) break;
+            for (int k = 0; k < n; k++) {
+                byte b = chunk.get(k);
+                if (b == '"') quoted = !quoted;
+                else if (b == '\n' && !quoted) last = pos + k;
+            }
+            pos += n;
+        }
+        return last;
+    }
+
+    /**
+     * Records after the header with all columns, i.e. what {@link #forEachRecord}
+     * will produce. Every record is whole after {@link #recoverTail()}.
+     */
+    private int countRecords() throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(1 << 16);
+        long pos = 0;
+        int records = 0, commas = 0;
+        boolean header = true, quoted = false;
+        while (true) {
+            chunk.clear();
+            int n = channel.read(chunk, pos);
+            if (n <= 0) break;
+            for (int k = 0; k < n; k++) {
+                byte b = chunk.get(k);
+                if (b == '"') {
+                    quoted = !quoted;
+                } else if (quoted) {
+                    continue;
+                } else if (b == ',') {
+                    commas++;
+                } else if (b == '\n') {
+                    if (!header && commas >= COLUMNS - 1) records++;
+                    header = false;
+                    commas = 0;
+                }
+            }
+            pos += n;
+        }
+        return records;
+    }
+}
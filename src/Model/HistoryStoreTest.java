@@ -0,0 +1,100 @@
+package Model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for HistoryStore – appending records and recovering a torn tail.
+ */
+public class HistoryStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private static String[] row(int i) {
+        return new String[]{"P" + i, "Cleared Board", String.valueOf(i * 10), "EASY", "2024-01-01T10:00:" + i};
+    }
+
+    private static List<String[]> records(HistoryStore store) throws Exception {
+        List<String[]> rows = new ArrayList<>();
+        store.forEachRecord(rows::add);
+        return rows;
+    }
+
+    @Test
+    void testAppendedRowsAreReadBackAfterReopen() throws Exception {
+        Path file = dir.resolve("game_history.csv");
+        try (HistoryStore store = new HistoryStore(file)) {
+            assertEquals(0, store.getRecordCount());
+            for (int i = 0; i < 500; i++) store.append(row(i));
+            store.flush();
+            store.append(row(500));
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(HistoryStore.HEADER, lines.get(0));
+        assertEquals(502, lines.size());
+
+        try (HistoryStore store = new HistoryStore(file)) {
+            assertEquals(501, store.getRecordCount());
+            List<String[]> rows = records(store);
+            assertEquals(501, rows.size());
+            for (int i = 0; i <= 500; i++) assertArrayEquals(row(i), rows.get(i));
+        }
+    }
+
+    @Test
+    void testTornLastRecordIsCutOff() throws Exception {
+        Path file = dir.resolve("game_history.csv");
+        try (HistoryStore store = new HistoryStore(file)) {
+            store.append(row(1));
+            store.append(row(2));
+        }
+        long whole = Files.size(file);
+        Files.write(file, "P3,Game Ov".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        try (HistoryStore store = new HistoryStore(file)) {
+            assertEquals(2, store.getRecordCount());
+            assertEquals(whole, Files.size(file));
+            store.append(row(3));
+        }
+        try (HistoryStore store = new HistoryStore(file)) {
+            assertEquals(3, store.getRecordCount());
+            assertArrayEquals(row(3), records(store).get(2));
+        }
+    }
+
+    @Test
+    void testTornRecordInsideQuotedNewlineIsCutOff() throws Exception {
+        Path file = dir.resolve("game_history.csv");
+        try (HistoryStore store = new HistoryStore(file)) {
+            store.append(row(1));
+        }
+        long whole = Files.size(file);
+        // died after the newline inside a quoted player name
+        Files.write(file, "\"Ann\nBo".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        try (HistoryStore store = new HistoryStore(file)) {
+            assertEquals(1, store.getRecordCount());
+            assertEquals(whole, Files.size(file));
+            store.append(new String[]{"Ann\nBob", "Game Over", "5", "EASY", "2024-01-01T10:00:02"});
+            store.append(row(3));
+        }
+        try (HistoryStore store = new HistoryStore(file)) {
+            List<String[]> rows = records(store);
+            assertEquals(3, rows.size());
+            assertEquals("Ann\nBob", rows.get(1)[0]);
+            assertArrayEquals(row(3), rows.get(2));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package Model;
+
+/**
+ * Undo / redo history of a {@link GameEngine}, kept as per-move deltas rather
+ * than board copies.
+ *
+ * A move is stored as the cells it touched, each with the {@code Board.STATE_*}
+ * bits it flipped, plus score / lives before and after and who moved. Undo
+ * flips the same bits back, redo flips them again, so both cost
+ * O(cells changed). Everything lives in primitive ring buffers: once the
+ * newest {@code depth} moves are kept the oldest ones are dropped, and
+ * recording or rewinding a move allocates nothing (the cell ring only grows
+ * if a single move is larger than the whole ring).
+ */
+final class MoveJournal {
+
+    private static final int MIN_CELLS = 1024;
+
+    private final int depth;
+
+    // per move, at slot (move % depth)
+    private final long[] moveStart;    // first entry in the cell ring (absolute position)
+    private final int[] moveCount;
+    private final int[] moveMeta;      // bit 0 player, bit 1 turn switched
+    private final int[] scoreBefore;
+    private final int[] livesBefore;
+    private final int[] scoreAfter;
+    private final int[] livesAfter;
+
+    // cell ring: (idx << STATE_BITS) | flipped bits
+    private int[] cells;
+    private long cellHead;             // absolute position of the oldest kept entry
+    private long cellTail;             // absolute position after the newest entry
+
+    // absolute move numbers: oldest kept <= applied <= end
+    private long oldest;
+    private long applied;
+    private long end;
+
+    MoveJournal(int depth) {
+        if (depth <= 0) throw new IllegalArgumentException("Undo depth must be positive: " + depth);
+        this.depth = depth;
+        moveStart   = new long[depth];
+        moveCount   = new int[depth];
+        moveMeta    = new int[depth];
+        scoreBefore = new int[depth];
+        livesBefore = new int[depth];
+        scoreAfter  = new int[depth];
+        livesAfter  = new int[depth];
+        cells = new int[Math.max(MIN_CELLS, Integer.highestOneBit(depth) << 4)];
+    }
+
+    int getDepth()      { return depth; }
+    boolean canUndo()   { return applied > oldest; }
+    boolean canRedo()   { return end > applied; }
+
+    void clear() {
+        oldest = applied = end = 0;
+        cellHead = cellTail = 0;
+    }
+
+    /** Records an accepted move; anything that could be redone is dropped. */
+    void record(MoveResult move, boolean turnSwitched, int scoreBefore, int livesBefore,
+                int scoreAfter, int livesAfter) {
+        end = applied;
+        cellTail = (end > oldest) ? moveStart[slot(end - 1)] + moveCount[slot(end - 1)] : cellHead;
+
+        int n = move.getChangedCount();
+        if (end - oldest == depth) dropOldest();
+        while (cellTail - cellHead + n > cells.length && oldest < end) dropOldest();
+        if (n > cells.length) grow(n);
+
+        int m = slot(end);
+        moveStart[m] = cellTail;
+        moveCount[m] = n;
+        moveMeta[m] = move.getPlayer() | (turnSwitched ? 2 : 0);
+        this.scoreBefore[m] = scoreBefore;
+        this.livesBefore[m] = livesBefore;
+        this.scoreAfter[m] = scoreAfter;
+        this.livesAfter[m] = livesAfter;
+
+        int mask = cells.length - 1;
+        for (int i = 0; i < n; i++) {
+            cells[(int) (cellTail++ & mask)] = (move.getChanged(i) << Board.STATE_BITS) | move.getChangedBits(i);
+        }
+        applied = ++end;
+    }
+
+    /** Takes back the newest applied move; false if there is none. */
+    boolean undo(GameEngine engine, MoveResult out) {
+        if (!canUndo()) return false;
+        int m = slot(--applied);
+        int player = moveMeta[m] & 1;
+        flip(m, engine.getBoard(player), out, player);
+        if ((moveMeta[m] & 2) != 0) out.set(MoveResult.TURN_SWITCHED);
+        out.setDeltas(scoreBefore[m] - scoreAfter[m], livesBefore[m] - livesAfter[m]);
+        engine.restore(scoreBefore[m], livesBefore[m], player);
+        return true;
+    }
+
+    /** Applies the next undone move again; false if there is none. */
+    boolean redo(GameEngine engine, MoveResult out) {
+        if (!canRedo()) return false;
+        int m = slot(applied++);
+        int player = moveMeta[m] & 1;
+        boolean switched = (moveMeta[m] & 2) != 0;
+        flip(m, engine.getBoard(player), out, player);
+        if (switched) out.set(MoveResult.TURN_SWITCHED);
+        out.setDeltas(scoreAfter[m] - scoreBefore[m], livesAfter[m] - livesBefore[m]);
+        engine.restore(scoreAfter[m], livesAfter[m], switched ? 1 - player : player);
+        return true;
+    }
+
+    private void flip(int m, Board board, MoveResult out, int player) {
+        out.reset(player);
+        int mask = cells.length - 1;
+        long pos = moveStart[m];
+        for (int i = 0; i < moveCount[m]; i++) {
+            int entry = cells[(int) ((pos + i) & mask)];
+            int idx = entry >>> Board.STATE_BITS;
+            int bits = entry & ((1 << Board.STATE_BITS) - 1);
+            board.flipState(idx, bits);
+            out.addChanged(idx, bits);
+        }
+    }
+
+    private void dropOldest() {
+        oldest++;
+        cellHead = (oldest < end) ? moveStart[slot(oldest)] : cellTail;
+    }
+
+    /** Enlarges the cell ring (power of two) to fit {@code needed} entries, unwrapping it. */
+    private void grow(int needed) {
+        int size = Integer.highestOneBit(needed - 1) << 1;
+        int[] bigger = new int[size];
+        int oldMask = cells.length - 1;
+        for (long p = cellHead; p < cellTail; p++) {
+            bigger[(int) (p & (size - 1))] = cells[(int) (p & oldMask)];
+        }
+        cells = bigger;
+    }
+
+    private int slot(long move) {
+        return (int) (move % depth);
+    }
+}
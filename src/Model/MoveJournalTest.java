@@ -0,0 +1,128 @@
+package Model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for undo / redo in GameEngine (MoveJournal).
+ */
+public class MoveJournalTest {
+
+    private static GameEngine newEngine(long seed, int depth) {
+        GameEngine engine = new GameEngine(
+                new Board(Difficulty.MEDIUM, seed),
+                new Board(Difficulty.MEDIUM, seed + 1),
+                new GameRules(Difficulty.MEDIUM), new SplittableRandom(seed));
+        engine.enableUndo(depth);
+        return engine;
+    }
+
+    /** Whole game state: both boards, score, lives, turn. */
+    private static byte[] state(GameEngine engine) {
+        Board b1 = engine.getBoard(0);
+        Board b2 = engine.getBoard(1);
+        ByteBuffer buf = ByteBuffer.allocate(b1.stateBytes() + b2.stateBytes() + 12);
+        b1.writeState(buf);
+        b2.writeState(buf);
+        buf.putInt(engine.getScore()).putInt(engine.getLives()).putInt(engine.getCurrentPlayer());
+        return buf.array();
+    }
+
+    /** One accepted move by the current player: mostly reveals, some flags and activations. */
+    private static void playMove(GameEngine engine, SplittableRandom rnd) {
+        int player = engine.getCurrentPlayer();
+        Board board = engine.getBoard(player);
+        while (true) {
+            int idx = rnd.nextInt(board.getCellCount());
+            int row = idx / board.getCols();
+            int col = idx % board.getCols();
+            MoveResult r = switch (rnd.nextInt(6)) {
+                case 0 -> engine.toggleFlag(player, row, col);
+                case 1 -> engine.activate(player, row, col, null, (char) 0);
+                default -> board.isMine(idx) && rnd.nextInt(4) != 0
+                        ? engine.toggleFlag(player, row, col)
+                        : engine.reveal(player, row, col);
+            };
+            if (r.isAccepted()) return;
+        }
+    }
+
+    @Test
+    void testUndoAllThenRedoAllRestoresEveryPosition() {
+        GameEngine engine = newEngine(41L, 500);
+        SplittableRandom rnd = new SplittableRandom(7);
+        List<byte[]> positions = new ArrayList<>();
+
+        positions.add(state(engine));
+        int moves = 0;
+        while (moves < 120 && !engine.isGameOver() && !engine.isWon()) {
+            playMove(engine, rnd);
+            positions.add(state(engine));
+            moves++;
+        }
+
+        for (int i = moves - 1; i >= 0; i--) {
+            assertTrue(engine.undo().isAccepted());
+            assertArrayEquals(positions.get(i), state(engine), "after undoing to move " + i);
+        }
+        assertFalse(engine.canUndo());
+        assertFalse(engine.undo().isAccepted());
+
+        for (int i = 1; i <= moves; i++) {
+            assertTrue(engine.redo().isAccepted());
+            assertArrayEquals(positions.get(i), state(engine), "after redoing move " + i);
+        }
+        assertFalse(engine.canRedo());
+    }
+
+    @Test
+    void testUndoCascadeReportsItsCellsAndHidesThem() {
+        GameEngine engine = newEngine(42L, 8);
+        Board board = engine.getBoard(0);
+        int empty = -1;
+        for (int idx = 0; idx < board.getCellCount() && empty < 0; idx++) {
+            if (board.getType(idx) == CellType.EMPTY) empty = idx;
+        }
+        assertTrue(empty >= 0);
+
+        int hidden = board.remainingSafeCells();
+        MoveResult r = engine.reveal(0, empty / board.getCols(), empty % board.getCols());
+        int opened = r.getChangedCount();
+        int score = r.getScoreDelta();
+
+        MoveResult undo = engine.undo();
+        assertEquals(opened, undo.getChangedCount());
+        assertEquals(-score, undo.getScoreDelta());
+        assertTrue(undo.has(MoveResult.TURN_SWITCHED));
+        assertEquals(0, engine.getCurrentPlayer());
+        assertEquals(hidden, board.remainingSafeCells());
+        for (int i = 0; i < undo.getChangedCount(); i++) {
+            assertFalse(board.isRevealed(undo.getChanged(i)));
+        }
+    }
+
+    @Test
+    void testDepthLimitAndNewMoveDropsRedo() {
+        GameEngine engine = newEngine(43L, 3);
+        SplittableRandom rnd = new SplittableRandom(9);
+        for (int i = 0; i < 6; i++) playMove(engine, rnd);
+
+        int undone = 0;
+        while (engine.canUndo()) {
+            engine.undo();
+            undone++;
+        }
+        assertEquals(3, undone);
+
+        engine.redo();
+        assertTrue(engine.canRedo());
+        playMove(engine, rnd);
+        assertFalse(engine.canRedo());
+    }
+}
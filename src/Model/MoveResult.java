@@ -0,0 +1,97 @@
+package Model;
+
+/**
+ * What one move changed, for the UI (or a bot) to render.
+ *
+ * A {@link GameEngine} hands out the same instance for every move and
+ * overwrites it, so read it before applying the next command. The changed
+ * cells are indices into the board of {@link #getPlayer()}.
+ */
+public final class MoveResult {
+
+    /** The move was accepted and the turn passed to the other player. */
+    public static final int TURN_SWITCHED  = 1;
+    /** A mine was revealed. */
+    public static final int MINE_HIT       = 1 << 1;
+    /** A question or surprise cell was activated and is now used. */
+    public static final int SPECIAL_USED   = 1 << 2;
+    /** The activated surprise was a good one. */
+    public static final int SURPRISE_GOOD  = 1 << 3;
+    /** The question was answered correctly. */
+    public static final int ANSWER_CORRECT = 1 << 4;
+    /** A flag is now on the cell (cleared when one was taken off). */
+    public static final int FLAGGED        = 1 << 5;
+    /** This move opened the last safe cell of the player's board. */
+    public static final int BOARD_CLEARED  = 1 << 6;
+    /** Lives reached zero with this move. */
+    public static final int GAME_OVER      = 1 << 7;
+
+    private int player;
+    private int[] changed = new int[16];
+    private int[] changedBits = new int[16];   // Board.STATE_* bits each cell flipped
+    private int changedCount;
+    private int scoreDelta;
+    private int lifeDelta;
+    private int specialPoints;
+    private int specialLives;
+    private int flags;
+    private int rollCount;
+    private int rollBits;
+
+    void reset(int player) {
+        this.player = player;
+        changedCount = 0;
+        scoreDelta = 0;
+        lifeDelta = 0;
+        specialPoints = 0;
+        specialLives = 0;
+        flags = 0;
+        rollCount = 0;
+        rollBits = 0;
+    }
+
+    void addChanged(int idx, int stateBits) {
+        if (changedCount == changed.length) {
+            changed = java.util.Arrays.copyOf(changed, changedCount * 2);
+            changedBits = java.util.Arrays.copyOf(changedBits, changedCount * 2);
+        }
+        changedBits[changedCount] = stateBits;
+        changed[changedCount++] = idx;
+    }
+
+    void addRoll(boolean heads) {
+        if (heads) rollBits |= 1 << rollCount;
+        rollCount++;
+    }
+
+    void set(int flag)                      { flags |= flag; }
+    void setDeltas(int score, int lives)    { scoreDelta = score; lifeDelta = lives; }
+    void setSpecialEffect(int points, int lives) {
+        specialPoints = points;
+        specialLives = lives;
+    }
+
+    public int getPlayer()          { return player; }
+    public int getChangedCount()    { return changedCount; }
+    public int getChanged(int i)    { return changed[i]; }
+    int getChangedBits(int i)       { return changedBits[i]; }
+
+    /** Net change of the shared score, after costs and the zero floor. */
+    public int getScoreDelta()      { return scoreDelta; }
+    /** Net change of the shared lives. */
+    public int getLifeDelta()       { return lifeDelta; }
+
+    /** Points the activated question / surprise awarded (before cost and floor). */
+    public int getSpecialPoints()   { return specialPoints; }
+    /** Lives the activated question / surprise awarded. */
+    public int getSpecialLives()    { return specialLives; }
+
+    public boolean has(int flag)    { return (flags & flag) != 0; }
+
+    /** Coin flips the move used (surprise, question outcomes), in order; at most 2. */
+    public int getRollCount()       { return rollCount; }
+    public boolean getRoll(int i)   { return (rollBits & (1 << i)) != 0; }
+
+    /** False if the command was ignored (wrong turn, flagged cell, nothing to do...). */
+    public boolean isAccepted()     { return changedCount > 0; }
+}
@@ -0,0 +1,104 @@
+package Model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Generates boards that can be cleared from the first click without guessing.
+ *
+ * Candidates are seeded safe-first-click boards; each one is checked with a
+ * {@link BoardSolver}. Several candidates are tried in parallel on a
+ * ForkJoin pool until one passes or the difficulty's time budget runs out.
+ */
+public class NoGuessBoardGenerator {
+
+    private final ForkJoinPool pool;
+    private final SplittableRandom seeds;
+
+    public NoGuessBoardGenerator() {
+        this(ForkJoinPool.commonPool(), new SplittableRandom());
+    }
+
+    public NoGuessBoardGenerator(ForkJoinPool pool, SplittableRandom seeds) {
+        this.pool = pool;
+        this.seeds = seeds;
+    }
+
+    /** Time allowed for the search before falling back to an ordinary board. */
+    public static long budgetMillis(Difficulty difficulty) {
+        return switch (difficulty) {
+            case EASY   -> 200;
+            case MEDIUM -> 400;
+            case HARD   -> 800;
+        };
+    }
+
+    /** No-guess board for a first click in the middle of the board. */
+    public Board generate(Difficulty difficulty) {
+        if (difficulty == null) difficulty = Difficulty.EASY;
+        return generate(difficulty, difficulty.rows / 2, difficulty.cols / 2);
+    }
+
+    /**
+     * Returns a board already laid out for a first click at (row,col).
+     * If no no-guess board is found within {@link #budgetMillis}, the last
+     * candidate is returned instead (still safe on the first click).
+     */
+    public Board generate(Difficulty difficulty, int row, int col) {
+        if (difficulty == null) difficulty = Difficulty.EASY;
+        Board board = tryGenerate(difficulty, row, col, budgetMillis(difficulty));
+        if (board != null) return board;
+
+        Board fallback = new Board(difficulty, nextSeed(), true);
+        fallback.ensureGenerated(row, col);
+        return fallback;
+    }
+
+    /**
+     * Lays out a safe-first-click board that is still waiting as a no-guess
+     * board for its first click at (row,col); does nothing once it is laid out.
+     */
+    public void layOut(Board board, int row, int col) {
+        if (board.isGenerated()) return;
+        board.layOutFrom(generate(board.getDifficulty(), row, col));
+    }
+
+    /** @return a no-guess board, or null if none was found within the budget */
+    public Board tryGenerate(Difficulty difficulty, int row, int col, long budgetMillis) {
+        long deadline = System.nanoTime() + budgetMillis * 1_000_000L;
+        AtomicReference<Board> found = new AtomicReference<>();
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < pool.getParallelism(); i++) {
+            SplittableRandom rng = split();
+            tasks.add(pool.submit(() -> search(difficulty, row, col, rng, deadline, found)));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+        return found.get();
+    }
+
+    private void search(Difficulty difficulty, int row, int col, SplittableRandom rng,
+                        long deadline, AtomicReference<Board> found) {
+        BoardSolver solver = new BoardSolver();
+        while (found.get() == null && System.nanoTime() < deadline) {
+            Board candidate = new Board(difficulty, rng.nextLong(), true);
+            if (solver.isSolvable(candidate, row, col)) {
+                found.compareAndSet(null, candidate);
+            }
+        }
+    }
+
+    private synchronized SplittableRandom split() {
+        return seeds.split();
+    }
+
+    private synchronized long nextSeed() {
+        return seeds.nextLong();
+    }
+}
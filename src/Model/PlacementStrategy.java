@@ -0,0 +1,26 @@
+package Model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Decides where mines and special cells go when a Board is generated.
+ *
+ * Board builds a pool of candidate cell indices and asks the strategy to
+ * pick {@code count} of them; the picked indices must end up in
+ * {@code pool[0..count)}. Implementations should run in time bounded by
+ * the pool size so generation stays predictable at any mine density.
+ */
+public interface PlacementStrategy {
+
+    void choose(int[] pool, int size, int count, RandomGenerator random);
+
+    /** Default: partial Fisher–Yates shuffle, one random draw per picked cell. */
+    PlacementStrategy SHUFFLE = (pool, size, count, random) -> {
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(size - i);
+            int tmp = pool[i];
+            pool[i] = pool[j];
+            pool[j] = tmp;
+        }
+    };
+}
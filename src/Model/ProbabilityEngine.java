@@ -0,0 +1,643 @@
+package Model;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Exact mine probability for every hidden cell, from the player's point of view.
+ *
+ * Only opened cells are used as information (flags are treated as hidden,
+ * since a flag may be wrong; opened question / surprise cells show no
+ * number). Hidden cells next to a number form the frontier, which is split
+ * into independent connected components; each component is enumerated by
+ * backtracking, and the components are combined with the unconstrained
+ * interior using exact big-integer binomials.
+ *
+ * The components of each board are kept between calls and updated from the
+ * cells opened since the last one: only components within two cells of an
+ * opened cell can change, so only those are rebuilt, and the rest of the
+ * frontier is not looked at again. Component results are also cached by
+ * their cells and constraints, so a rebuilt component that comes out the
+ * same is not enumerated again.
+ *
+ * Components larger than {@link #EXACT_LIMIT} cells are not enumerated
+ * (the search is exponential in the worst case), and neither is one whose
+ * search visits more than {@link #NODE_BUDGET} nodes; their cells get an
+ * estimate from iteratively scaling each constraint to its mine count, and
+ * the component counts as holding the estimated number of mines.
+ */
+public class ProbabilityEngine {
+
+    /** Largest component that is enumerated exactly. */
+    public static final int EXACT_LIMIT = 40;
+
+    /** Search nodes one component may take before it is estimated instead (a few ms). */
+    public static final int NODE_BUDGET = 1 << 21;
+
+    private static final int ESTIMATE_ROUNDS = 64;
+
+    private final Map<ComponentKey, ComponentResult> cache;
+    private final Map<Board, Frontier> frontiers = new WeakHashMap<>();
+    private long cacheHits;
+    private long cacheMisses;
+
+    public ProbabilityEngine() {
+        this(4096);
+    }
+
+    /** @param cacheLimit how many component results to keep (least recently used are dropped) */
+    public ProbabilityEngine(int cacheLimit) {
+        this.cache = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ComponentKey, ComponentResult> eldest) {
+                return size() > cacheLimit;
+            }
+        };
+    }
+
+    public long getCacheHits()   { return cacheHits; }
+    public long getCacheMisses() { return cacheMisses; }
+
+    /**
+     * @return probability per cell index: 0 for opened safe cells, 1 for opened
+     *         mines, and the mine probability for every hidden cell (exact
+     *         unless a component exceeds {@link #EXACT_LIMIT} or {@link #NODE_BUDGET})
+     */
+    public double[] compute(Board board) {
+        Frontier f = frontiers.get(board);
+        if (f == null || !f.fits(board)) {
+            f = new Frontier(board.getRows(), board.getCols());
+            frontiers.put(board, f);
+        }
+        update(f, board);
+
+        double[] result = new double[f.n];
+        int interior = f.n - f.revealed;
+        for (Component comp : f.comps) interior -= comp.result.cells.length;
+        int remaining = board.getMineCount() - f.revealedMines;
+        double p = combine(f.comps, interior, remaining, result);
+        for (int idx = 0; idx < f.n; idx++) {
+            if (board.isRevealed(idx)) {
+                if (board.isMine(idx)) result[idx] = 1.0;
+            } else if (f.compOf[idx] < 0) {
+                result[idx] = p;
+            }
+        }
+        return result;
+    }
+
+    // ------------------------------------------------------------------
+    //  Incremental frontier
+    // ------------------------------------------------------------------
+
+    /** What {@link #compute} knows about one board from the previous call. */
+    private static final class Frontier {
+        final int rows, cols, n;
+        final long[] seen;            // revealed bits as of the last update
+        final int[] compOf;           // slot in comps per frontier cell, -1 elsewhere
+        final int[] need;             // per opened number: its mines not yet opened
+        final int[] parent;           // union-find, valid where mark == epoch
+        final int[] mark;
+        int epoch;
+        List<Component> comps = new ArrayList<>();
+        int revealed;
+        int revealedMines;
+
+        Frontier(int rows, int cols) {
+            this.rows = rows;
+            this.cols = cols;
+            this.n = rows * cols;
+            this.seen = new long[(n + 63) >>> 6];
+            this.compOf = new int[n];
+            Arrays.fill(compOf, -1);
+            this.need = new int[n];
+            this.parent = new int[n];
+            this.mark = new int[n];
+        }
+
+        /** False if the board changed shape or cells were hidden again (undo); then start over. */
+        boolean fits(Board board) {
+            if (board.getRows() != rows || board.getCols() != cols) return false;
+            for (int w = 0; w < seen.length; w++) {
+                if ((seen[w] & ~board.revealedWord(w)) != 0) return false;
+            }
+            return true;
+        }
+    }
+
+    private static final class Component {
+        final int[] cons;
+        final ComponentResult result;
+
+        Component(int[] cons, ComponentResult result) {
+            this.cons = cons;
+            this.result = result;
+        }
+    }
+
+    /** Rebuilds the components near the cells opened since the last update. */
+    private void update(Frontier f, Board board) {
+        int rows = f.rows, cols = f.cols;
+        int[] delta = new int[16];
+        int d = 0;
+        for (int w = 0; w < f.seen.length; w++) {
+            long fresh = board.revealedWord(w) & ~f.seen[w];
+            f.seen[w] |= fresh;
+            while (fresh != 0) {
+                if (d == delta.length) delta = Arrays.copyOf(delta, d * 2);
+                delta[d++] = (w << 6) + Long.numberOfTrailingZeros(fresh);
+                fresh &= fresh - 1;
+            }
+        }
+        if (d == 0) return;
+
+        // 1) components that can change: any with a cell within two of an opened cell
+        boolean[] dirty = new boolean[f.comps.size()];
+        for (int i = 0; i < d; i++) {
+            int idx = delta[i];
+            f.revealed++;
+            if (board.isMine(idx)) f.revealedMines++;
+            int r0 = idx / cols, c0 = idx % cols;
+            for (int r = Math.max(0, r0 - 2); r <= Math.min(rows - 1, r0 + 2); r++) {
+                for (int c = Math.max(0, c0 - 2); c <= Math.min(cols - 1, c0 + 2); c++) {
+                    int slot = f.compOf[r * cols + c];
+                    if (slot >= 0) dirty[slot] = true;
+                }
+            }
+        }
+
+        // 2) the constraints to look at again: those of dirty components and the opened cells' area
+        int epoch = ++f.epoch;
+        int[] cons = new int[16];
+        int nc = 0;
+        List<Component> kept = new ArrayList<>();
+        for (int slot = 0; slot < dirty.length; slot++) {
+            Component comp = f.comps.get(slot);
+            if (!dirty[slot]) {
+                kept.add(comp);
+                continue;
+            }
+            for (int cell : comp.result.cells) f.compOf[cell] = -1;
+            for (int con : comp.cons) {
+                if (nc == cons.length) cons = Arrays.copyOf(cons, nc * 2);
+                cons[nc++] = con;
+                f.mark[con] = epoch;
+            }
+        }
+        for (int i = 0; i < d; i++) {
+            int r0 = delta[i] / cols, c0 = delta[i] % cols;
+            for (int r = Math.max(0, r0 - 1); r <= Math.min(rows - 1, r0 + 1); r++) {
+                for (int c = Math.max(0, c0 - 1); c <= Math.min(cols - 1, c0 + 1); c++) {
+                    int nb = r * cols + c;
+                    if (f.mark[nb] == epoch || !board.isRevealed(nb)) continue;
+                    f.mark[nb] = epoch;
+                    if (nc == cons.length) cons = Arrays.copyOf(cons, nc * 2);
+                    cons[nc++] = nb;
+                }
+            }
+        }
+
+        // 3) refresh those constraints and join the hidden cells they touch
+        epoch = ++f.epoch;
+        int active = 0;
+        for (int i = 0; i < nc; i++) {
+            int con = cons[i];
+            if (!refresh(f, board, con)) continue;
+            cons[active++] = con;
+            int first = -1;
+            int r0 = con / cols, c0 = con % cols;
+            for (int r = Math.max(0, r0 - 1); r <= Math.min(rows - 1, r0 + 1); r++) {
+                for (int c = Math.max(0, c0 - 1); c <= Math.min(cols - 1, c0 + 1); c++) {
+                    int nb = r * cols + c;
+                    if (board.isRevealed(nb)) continue;
+                    if (f.mark[nb] != epoch) {
+                        f.mark[nb] = epoch;
+                        f.parent[nb] = nb;
+                    }
+                    if (first < 0) first = nb;
+                    else union(f.parent, first, nb);
+                }
+            }
+        }
+
+        // 4) group cells and constraints by root into the new components
+        int[] sortedCons = Arrays.copyOf(cons, active);
+        Arrays.sort(sortedCons);
+        Map<Integer, List<Integer>> consByRoot = new LinkedHashMap<>();
+        Map<Integer, List<Integer>> cellsByRoot = new LinkedHashMap<>();
+        epoch = ++f.epoch;
+        for (int con : sortedCons) {
+            int r0 = con / cols, c0 = con % cols;
+            boolean first = true;
+            for (int r = Math.max(0, r0 - 1); r <= Math.min(rows - 1, r0 + 1); r++) {
+                for (int c = Math.max(0, c0 - 1); c <= Math.min(cols - 1, c0 + 1); c++) {
+                    int nb = r * cols + c;
+                    if (board.isRevealed(nb)) continue;
+                    int root = find(f.parent, nb);
+                    if (first) {
+                        consByRoot.computeIfAbsent(root, k -> new ArrayList<>()).add(con);
+                        first = false;
+                    }
+                    if (f.mark[nb] != epoch) {
+                        f.mark[nb] = epoch;
+                        cellsByRoot.computeIfAbsent(root, k -> new ArrayList<>()).add(nb);
+                    }
+                }
+            }
+        }
+        for (Map.Entry<Integer, List<Integer>> e : consByRoot.entrySet()) {
+            int[] compCons = e.getValue().stream().mapToInt(Integer::intValue).toArray();
+            int[] cells = cellsByRoot.get(e.getKey()).stream().mapToInt(Integer::intValue).sorted().toArray();
+            kept.add(new Component(compCons, solveComponent(cells, compCons, f.need, cols)));
+        }
+        f.comps = kept;
+        for (int slot = 0; slot < kept.size(); slot++) {
+            for (int cell : kept.get(slot).result.cells) f.compOf[cell] = slot;
+        }
+    }
+
+    /**
+     * Re-reads one opened cell: whether it is a number that still touches a
+     * hidden cell, and how many of its mines are not opened yet.
+     */
+    private static boolean refresh(Frontier f, Board board, int idx) {
+        if (board.isMine(idx)) return false;
+        CellType type = board.getType(idx);
+        if (type != CellType.NUMBER && type != CellType.EMPTY) return false;
+
+        int rows = f.rows, cols = f.cols;
+        int r0 = idx / cols, c0 = idx % cols;
+        int mines = board.getAdjacentMines(idx);
+        boolean touchesHidden = false;
+        for (int r = Math.max(0, r0 - 1); r <= Math.min(rows - 1, r0 + 1); r++) {
+            for (int c = Math.max(0, c0 - 1); c <= Math.min(cols - 1, c0 + 1); c++) {
+                int nb = r * cols + c;
+                if (nb == idx) continue;
+                if (!board.isRevealed(nb)) touchesHidden = true;
+                else if (board.isMine(nb)) mines--;
+            }
+        }
+        f.need[idx] = mines;
+        return touchesHidden;
+    }
+
+    // ------------------------------------------------------------------
+    //  Component enumeration
+    // ------------------------------------------------------------------
+
+    private ComponentResult solveComponent(int[] cells, int[] cons, int[] need, int cols) {
+        // the same indices are different neighbourhoods on boards of another width
+        int[] keyData = new int[2 + cells.length + cons.length * 2];
+        keyData[0] = cols;
+        keyData[1] = cells.length;
+        System.arraycopy(cells, 0, keyData, 2, cells.length);
+        for (int i = 0; i < cons.length; i++) {
+            keyData[2 + cells.length + 2 * i] = cons[i];
+            keyData[3 + cells.length + 2 * i] = need[cons[i]];
+        }
+        ComponentKey key = new ComponentKey(keyData);
+
+        ComponentResult cached = cache.get(key);
+        if (cached != null) {
+            cacheHits++;
+            return cached;
+        }
+        cacheMisses++;
+
+        ComponentResult fresh = cells.length <= EXACT_LIMIT
+                ? new Enumerator(cells, cons, need, cols).run()
+                : null;
+        if (fresh == null) fresh = estimate(cells, cons, need, cols);
+        cache.put(key, fresh);
+        return fresh;
+    }
+
+    /** For each cell, the slots of the constraints next to it. */
+    private static int[][] cellConstraints(int[] cells, int[] cons, int cols) {
+        int[][] cellCons = new int[cells.length][];
+        for (int ci = 0; ci < cells.length; ci++) {
+            int r = cells[ci] / cols, c = cells[ci] % cols;
+            int[] tmp = new int[8];
+            int k = 0;
+            for (int s = 0; s < cons.length; s++) {
+                int cr = cons[s] / cols, cc = cons[s] % cols;
+                if (Math.abs(cr - r) <= 1 && Math.abs(cc - c) <= 1) tmp[k++] = s;
+            }
+            cellCons[ci] = Arrays.copyOf(tmp, k);
+        }
+        return cellCons;
+    }
+
+    /**
+     * Approximation for a component too large to enumerate. Cells that single
+     * constraints already decide (all safe or all mines) are fixed first;
+     * for the rest, starting from the mean density, each round scales every
+     * constraint's open cells so they add up to its remaining mine count, and
+     * each cell takes the mean of its constraints' proposals.
+     */
+    private static ComponentResult estimate(int[] cells, int[] cons, int[] need, int cols) {
+        int[][] cellCons = cellConstraints(cells, cons, cols);
+        int[][] consCells = new int[cons.length][];
+        int[] size = new int[cons.length];
+        for (int[] slots : cellCons) for (int s : slots) size[s]++;
+        for (int s = 0; s < cons.length; s++) consCells[s] = new int[size[s]];
+        Arrays.fill(size, 0);
+        for (int ci = 0; ci < cells.length; ci++) {
+            for (int s : cellCons[ci]) consCells[s][size[s]++] = ci;
+        }
+
+        // 1) single-constraint deductions, repeated until nothing changes
+        double[] p = new double[cells.length];
+        boolean[] fixed = new boolean[cells.length];
+        int[] want = new int[cons.length];
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int s = 0; s < cons.length; s++) {
+                int open = 0, mines = 0;
+                for (int ci : consCells[s]) {
+                    if (!fixed[ci]) open++;
+                    else if (p[ci] == 1) mines++;
+                }
+                want[s] = need[cons[s]] - mines;
+                if (open == 0 || (want[s] != 0 && want[s] != open)) continue;
+                double v = want[s] == 0 ? 0 : 1;
+                for (int ci : consCells[s]) {
+                    if (fixed[ci]) continue;
+                    fixed[ci] = true;
+                    p[ci] = v;
+                }
+                want[s] = 0;
+                changed = true;
+            }
+        }
+
+        // 2) scale the open cells towards each constraint's remaining count
+        double open = 0, wanted = 0;
+        for (int ci = 0; ci < cells.length; ci++) if (!fixed[ci]) open++;
+        for (int s = 0; s < cons.length; s++) wanted += Math.max(0, want[s]);
+        for (int ci = 0; ci < cells.length; ci++) {
+            if (!fixed[ci]) p[ci] = Math.min(1, wanted / open);
+        }
+        double[] sum = new double[cells.length];
+        int[] votes = new int[cells.length];
+        for (int round = 0; round < ESTIMATE_ROUNDS; round++) {
+            Arrays.fill(sum, 0);
+            Arrays.fill(votes, 0);
+            for (int s = 0; s < cons.length; s++) {
+                double mass = 0;
+                int free = 0;
+                for (int ci : consCells[s]) {
+                    if (fixed[ci]) continue;
+                    mass += p[ci];
+                    free++;
+                }
+                if (free == 0) continue;
+                for (int ci : consCells[s]) {
+                    if (fixed[ci]) continue;
+                    double proposal = mass > 0 ? p[ci] * want[s] / mass : (double) want[s] / free;
+                    sum[ci] += Math.max(0, Math.min(1, proposal));
+                    votes[ci]++;
+                }
+            }
+            for (int ci = 0; ci < cells.length; ci++) {
+                if (votes[ci] > 0) p[ci] = sum[ci] / votes[ci];
+            }
+        }
+
+        double expected = 0;
+        for (double v : p) expected += v;
+        long[] solutions = new long[(int) Math.round(expected) + 1];
+        solutions[solutions.length - 1] = 1;
+        return new ComponentResult(cells, solutions, null, p);
+    }
+
+    /** Backtracking over one component; counts solutions and per-cell mine tallies by mine count. */
+    private static final class Enumerator {
+        final int[] cells;
+        final int[][] cellCons;     // constraint slots touching each cell
+        final int[] consNeed;
+        final int[] consMines;
+        final int[] consOpen;       // unassigned cells per constraint
+        final boolean[] assign;
+        final long[] solutions;
+        final long[][] tally;
+        int nodes;
+
+        Enumerator(int[] cells, int[] cons, int[] need, int cols) {
+            this.cells = cells;
+            this.consNeed = new int[cons.length];
+            this.consMines = new int[cons.length];
+            this.consOpen = new int[cons.length];
+            for (int i = 0; i < cons.length; i++) consNeed[i] = need[cons[i]];
+            this.cellCons = cellConstraints(cells, cons, cols);
+            for (int[] slots : cellCons) for (int s : slots) consOpen[s]++;
+            this.assign = new boolean[cells.length];
+            this.solutions = new long[cells.length + 1];
+            this.tally = new long[cells.length + 1][cells.length];
+        }
+
+        /** @return the counts, or null if the search ran past {@link #NODE_BUDGET} */
+        ComponentResult run() {
+            search(0, 0);
+            return nodes > NODE_BUDGET ? null : new ComponentResult(cells, solutions, tally, null);
+        }
+
+        private void search(int pos, int mines) {
+            if (++nodes > NODE_BUDGET) return;
+            if (pos == cells.length) {
+                solutions[mines]++;
+                long[] row = tally[mines];
+                for (int i = 0; i < cells.length; i++) {
+                    if (assign[i]) row[i]++;
+                }
+                return;
+            }
+            for (int v = 0; v <= 1; v++) {
+                boolean mine = v == 1;
+                if (place(pos, mine)) {
+                    assign[pos] = mine;
+                    search(pos + 1, mines + v);
+                }
+                unplace(pos, mine);
+                if (nodes > NODE_BUDGET) return;
+            }
+        }
+
+        /** Applies the assignment; returns false if some constraint can no longer be met. */
+        private boolean place(int pos, boolean mine) {
+            boolean ok = true;
+            for (int s : cellCons[pos]) {
+                consOpen[s]--;
+                if (mine) consMines[s]++;
+                if (consMines[s] > consNeed[s] || consMines[s] + consOpen[s] < consNeed[s]) ok = false;
+            }
+            return ok;
+        }
+
+        private void unplace(int pos, boolean mine) {
+            for (int s : cellCons[pos]) {
+                consOpen[s]++;
+                if (mine) consMines[s]--;
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------
+    //  Combination
+    // ------------------------------------------------------------------
+
+    /**
+     * Fills in the frontier cells' probabilities.
+     * @return the probability of each interior (non-frontier hidden) cell
+     */
+    private double combine(List<Component> components, int interior, int remaining, double[] result) {
+        List<ComponentResult> comps = new ArrayList<>(components.size());
+        for (Component comp : components) comps.add(comp.result);
+        int m = comps.size();
+
+        // prefix[i] = convolution of comps[0..i), suffix[i] = convolution of comps[i..m)
+        BigInteger[][] prefix = new BigInteger[m + 1][];
+        BigInteger[][] suffix = new BigInteger[m + 1][];
+        prefix[0] = new BigInteger[]{BigInteger.ONE};
+        suffix[m] = new BigInteger[]{BigInteger.ONE};
+        for (int i = 0; i < m; i++) prefix[i + 1] = convolve(prefix[i], comps.get(i).distribution());
+        for (int i = m - 1; i >= 0; i--) suffix[i] = convolve(comps.get(i).distribution(), suffix[i + 1]);
+
+        BigInteger[] choose = binomials(interior, remaining);
+        BigInteger[] chooseLess = binomials(interior - 1, remaining);   // C(I-1, x)
+
+        // total weight and expected interior share
+        BigInteger total = BigInteger.ZERO;
+        BigInteger interiorMine = BigInteger.ZERO;
+        BigInteger[] all = prefix[m];
+        for (int k = 0; k < all.length; k++) {
+            int rest = remaining - k;
+            if (rest < 0 || rest > interior) continue;
+            total = total.add(all[k].multiply(choose[rest]));
+            if (interior > 0 && rest > 0) interiorMine = interiorMine.add(all[k].multiply(chooseLess[rest - 1]));
+        }
+        if (total.signum() == 0) return 0;   // inconsistent view; leave zeros
+        BigDecimal totalDec = new BigDecimal(total);
+
+        for (int ci = 0; ci < m; ci++) {
+            ComponentResult comp = comps.get(ci);
+            if (comp.estimate != null) {
+                for (int i = 0; i < comp.cells.length; i++) result[comp.cells[i]] = comp.estimate[i];
+                continue;
+            }
+            BigInteger[] others = convolve(prefix[ci], suffix[ci + 1]);
+
+            // weight of this component holding exactly k mines
+            BigInteger[] weight = new BigInteger[comp.solutions.length];
+            for (int k = 0; k < weight.length; k++) {
+                BigInteger w = BigInteger.ZERO;
+                for (int j = 0; j < others.length; j++) {
+                    int rest = remaining - k - j;
+                    if (rest < 0 || rest > interior) continue;
+                    w = w.add(others[j].multiply(choose[rest]));
+                }
+                weight[k] = w;
+            }
+
+            for (int i = 0; i < comp.cells.length; i++) {
+                BigInteger num = BigInteger.ZERO;
+                for (int k = 0; k < weight.length; k++) {
+                    long t = comp.tally[k][i];
+                    if (t != 0) num = num.add(BigInteger.valueOf(t).multiply(weight[k]));
+                }
+                result[comp.cells[i]] = ratio(num, totalDec);
+            }
+        }
+
+        return interior > 0 ? ratio(interiorMine, totalDec) : 0;
+    }
+
+    private static double ratio(BigInteger num, BigDecimal total) {
+        return new BigDecimal(num).divide(total, MathContext.DECIMAL64).doubleValue();
+    }
+
+    /** C(n, 0..max) (zero beyond n); empty-safe for n < 0. */
+    private static BigInteger[] binomials(int n, int max) {
+        BigInteger[] out = new BigInteger[Math.max(0, max) + 1];
+        Arrays.fill(out, BigInteger.ZERO);
+        if (n < 0) return out;
+        BigInteger c = BigInteger.ONE;
+        for (int x = 0; x <= max && x <= n; x++) {
+            out[x] = c;
+            c = c.multiply(BigInteger.valueOf(n - x)).divide(BigInteger.valueOf(x + 1));
+        }
+        return out;
+    }
+
+    private static BigInteger[] convolve(BigInteger[] a, BigInteger[] b) {
+        BigInteger[] out = new BigInteger[a.length + b.length - 1];
+        Arrays.fill(out, BigInteger.ZERO);
+        for (int i = 0; i < a.length; i++) {
+            if (a[i].signum() == 0) continue;
+            for (int j = 0; j < b.length; j++) {
+                out[i + j] = out[i + j].add(a[i].multiply(b[j]));
+            }
+        }
+        return out;
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int ra = find(parent, a), rb = find(parent, b);
+        if (ra != rb) parent[rb] = ra;
+    }
+
+    // ------------------------------------------------------------------
+
+    private static final class ComponentKey {
+        final int[] data;
+        final int hash;
+
+        ComponentKey(int[] data) {
+            this.data = data;
+            this.hash = Arrays.hashCode(data);
+        }
+
+        @Override public int hashCode() { return hash; }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ComponentKey other && hash == other.hash && Arrays.equals(data, other.data);
+        }
+    }
+
+    private static final class ComponentResult {
+        final int[] cells;
+        final long[] solutions;     // by number of mines in the component
+        final long[][] tally;       // [mines][cell] = solutions with that cell mined
+        final double[] estimate;    // per-cell probability if not enumerated, else null
+
+        ComponentResult(int[] cells, long[] solutions, long[][] tally, double[] estimate) {
+            this.cells = cells;
+            this.solutions = solutions;
+            this.tally = tally;
+            this.estimate = estimate;
+        }
+
+        BigInteger[] distribution() {
+            BigInteger[] d = new BigInteger[solutions.length];
+            for (int k = 0; k < d.length; k++) d[k] = BigInteger.valueOf(solutions[k]);
+            return d;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package Model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ProbabilityEngine – compares against brute-force enumeration.
+ */
+public class ProbabilityEngineTest {
+
+    @Test
+    void testProbabilitiesMatchBruteForce() {
+        for (long seed = 1; seed <= 5; seed++) {
+            Board board = new Board(Difficulty.EASY, seed);
+            Random pick = new Random(seed);
+
+            // open everything except the mines and a handful of safe cells
+            List<Integer> hiddenSafe = new ArrayList<>();
+            for (int idx = 0; idx < board.getCellCount(); idx++) {
+                if (!board.isMine(idx)) hiddenSafe.add(idx);
+            }
+            java.util.Collections.shuffle(hiddenSafe, pick);
+            hiddenSafe = hiddenSafe.subList(0, 6);
+            for (int idx = 0; idx < board.getCellCount(); idx++) {
+                if (!board.isMine(idx) && !hiddenSafe.contains(idx)) board.reveal(idx);
+            }
+
+            double[] fast = new ProbabilityEngine().compute(board);
+            double[] exact = bruteForce(board);
+            for (int idx = 0; idx < board.getCellCount(); idx++) {
+                assertEquals(exact[idx], fast[idx], 1e-9, "Probability mismatch at " + idx + " (seed " + seed + ")");
+            }
+        }
+    }
+
+    @Test
+    void testUnchangedComponentsComeFromCache() {
+        Board board = new Board(Difficulty.MEDIUM, 77L, true);
+        board.ensureGenerated(6, 6);
+        board.revealCascade(6, 6);
+
+        ProbabilityEngine engine = new ProbabilityEngine();
+        double[] first = engine.compute(board);
+        long misses = engine.getCacheMisses();
+        assertTrue(misses > 0);
+
+        double[] second = engine.compute(board);
+        assertEquals(misses, engine.getCacheMisses(), "Nothing changed, so nothing should be enumerated again");
+        assertArrayEquals(first, second);
+    }
+
+    @Test
+    void testIncrementalUpdatesMatchFreshEngine() {
+        for (long seed = 1; seed <= 20; seed++) {
+            Difficulty diff = Difficulty.values()[(int) (seed % 3)];
+            Board board = new Board(diff, seed, true);
+            board.revealCascade(diff.rows / 2, diff.cols / 2);
+            ProbabilityEngine engine = new ProbabilityEngine();
+            Random pick = new Random(seed);
+
+            for (int move = 0; move < 40 && !board.isAllSafeCellsRevealed(); move++) {
+                assertArrayEquals(new ProbabilityEngine().compute(board), engine.compute(board),
+                        "Seed " + seed + ", move " + move);
+                int idx;
+                do { idx = pick.nextInt(board.getCellCount()); } while (board.isRevealed(idx));
+                if (board.isMine(idx)) board.reveal(idx);
+                else board.revealCascade(idx / board.getCols(), idx % board.getCols());
+            }
+        }
+    }
+
+    @Test
+    void testLargeComponentIsEstimated() {
+        // opening the top half of a wide board leaves one frontier far above the exact limit
+        Board board = new Board(Difficulty.HARD, 20, 60, 200, 5L);
+        for (int idx = 0; idx < 10 * 60; idx++) {
+            if (!board.isMine(idx)) board.reveal(idx);
+        }
+
+        double[] p = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> new ProbabilityEngine().compute(board));
+        double expected = 0;
+        for (int idx = 0; idx < p.length; idx++) {
+            assertTrue(p[idx] >= 0 && p[idx] <= 1, "Probability out of range at " + idx);
+            if (!board.isRevealed(idx)) expected += p[idx];
+        }
+        int remaining = board.getMineCount();
+        for (int idx = 0; idx < p.length; idx++) if (board.isRevealed(idx) && board.isMine(idx)) remaining--;
+        assertEquals(remaining, expected, 1.0, "Hidden cells should still hold about the remaining mines");
+    }
+
+    @Test
+    void testSearchOverBudgetIsEstimated() {
+        // every other middle cell open: one 38-cell component (under the exact limit) with
+        // so many solutions that enumerating it took seconds
+        Board board = new Board(Difficulty.HARD, 3, 15, 16, 17L);
+        for (int c = 1; c < 15; c += 2) board.reveal(15 + c);
+
+        double[] p = assertTimeoutPreemptively(Duration.ofSeconds(2), () -> new ProbabilityEngine().compute(board));
+        for (int idx = 0; idx < p.length; idx++) {
+            assertTrue(p[idx] >= 0 && p[idx] <= 1, "Probability out of range at " + idx);
+        }
+    }
+
+    /** Enumerates every placement of the remaining mines over the hidden cells. */
+    private double[] bruteForce(Board board) {
+        int n = board.getCellCount();
+        List<Integer> hidden = new ArrayList<>();
+        for (int idx = 0; idx < n; idx++) if (!board.isRevealed(idx)) hidden.add(idx);
+
+        int mines = board.getMineCount();
+        long[] hits = new long[n];
+        long total = 0;
+        for (int mask = 0; mask < (1 << hidden.size()); mask++) {
+            if (Integer.bitCount(mask) != mines) continue;
+            boolean[] mine = new boolean[n];
+            for (int i = 0; i < hidden.size(); i++) if ((mask & (1 << i)) != 0) mine[hidden.get(i)] = true;
+            if (!consistent(board, mine)) continue;
+            total++;
+            for (int idx = 0; idx < n; idx++) if (mine[idx]) hits[idx]++;
+        }
+        double[] p = new double[n];
+        for (int idx = 0; idx < n; idx++) p[idx] = (double) hits[idx] / total;
+        return p;
+    }
+
+    private boolean consistent(Board board, boolean[] mine) {
+        int rows = board.getRows(), cols = board.getCols();
+        for (int idx = 0; idx < board.getCellCount(); idx++) {
+            if (!board.isRevealed(idx)) continue;
+            CellType type = board.getType(idx);
+            if (type != CellType.NUMBER && type != CellType.EMPTY) continue;
+            int count = 0;
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    int r = idx / cols + dr, c = idx % cols + dc;
+                    if ((dr == 0 && dc == 0) || r < 0 || c < 0 || r >= rows || c >= cols) continue;
+                    if (mine[r * cols + c]) count++;
+                }
+            }
+            if (count != board.getAdjacentMines(idx)) return false;
+        }
+        return true;
+    }
+}
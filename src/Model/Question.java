@@ -15,6 +15,7 @@ public class Question {
     private Integer pointsWrong; 
     private Integer lifeDelta;  
     private String difficulty;   // "easy", "medium", "hard", "pro"
+    private double weight = 1;   // relative chance of being drawn (optional CSV column)
 
     public Question() {}
 
@@ -66,6 +67,9 @@ this.difficulty = difficulty;
         this.difficulty = difficulty;
     }
 
+    public double getWeight() { return weight; }
+    public void setWeight(double weight) { this.weight = weight; }
+
 	public int getId() {
 		return id;
 	}
@@ -0,0 +1,204 @@
+package Model;
+
+import Model.QuestionSettings.QDiff;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Per-game question draws without repeats.
+ *
+ * Each difficulty is a shuffle bag over SysData's shared question array: a
+ * lazy Fisher–Yates shuffle whose permutation only records the positions it
+ * has swapped (a small int→int map), so a draw is O(1) and a game holds
+ * O(draws) ints, never a copy of the bank. Every question comes up once
+ * before any repeats; then the bag refills.
+ *
+ * If the questions of a difficulty carry different weights, draws use the
+ * bank's shared alias table instead (O(1), with replacement) and redraw a
+ * few times when they hit one of the last {@link #RECENT} questions (fewer
+ * in small pools).
+ *
+ * If the bank changes (including {@link SysData#questionsChanged()} after an
+ * edit), each bag starts over on its next draw.
+ */
+public final class QuestionSampler {
+
+    static final int RECENT = 8;
+    private static final int REDRAWS = 8;
+
+    private final RandomGenerator random;
+    private final Bag[] bags = new Bag[QDiff.values().length];
+
+    public QuestionSampler() {
+        this(new SplittableRandom());
+    }
+
+    public QuestionSampler(RandomGenerator random) {
+        this.random = random;
+    }
+
+    /**
+     * Next question of difficulty {@code d}; like {@link SysData#nextRandom(QDiff)}
+     * falls back to any question when there are none of {@code d}.
+     * @return null if the bank is empty
+     */
+    public Question next(QDiff d) {
+        SysData.Index bank = SysData.index();   // pool and alias table from the same build
+        Question[] pool = bank.pool(d);
+        if (pool.length == 0) return SysData.nextRandom(bank, d);
+
+        Bag bag = bags[d.ordinal()];
+        if (bag == null || bag.pool != pool) {
+            bag = new Bag(pool, bank.alias(d));
+            bags[d.ordinal()] = bag;
+        }
+        return pool[bag.alias != null ? bag.weighted(random) : bag.next(random)];
+    }
+
+    // ---------- shuffle bag ----------
+
+    private static final class Bag {
+        final Question[] pool;
+        final Alias alias;
+        int drawn;
+        // lazy permutation: position -> index, positions not in the map hold themselves
+        int[] keys = new int[16];     // position + 1, 0 = empty slot
+        int[] values = new int[16];
+        int size;
+        // weighted mode: the last RECENT draws
+        final int[] recent = new int[RECENT];
+        int recentCount;
+
+        Bag(Question[] pool, Alias alias) {
+            this.pool = pool;
+            this.alias = alias;
+        }
+
+        /** Swaps a random remaining position to the front of the unshuffled part and takes it. */
+        int next(RandomGenerator random) {
+            int n = pool.length;
+            if (drawn == n) {
+                drawn = 0;
+                Arrays.fill(keys, 0);
+                size = 0;
+            }
+            int j = drawn + random.nextInt(n - drawn);
+            int picked = get(j);
+            if (j != drawn) put(j, get(drawn));
+            drawn++;
+            return picked;
+        }
+
+        int weighted(RandomGenerator random) {
+            int pick = alias.draw(random);
+            // small pools only avoid the last few, so the weights still dominate
+            int window = Math.min(Math.min(recentCount, RECENT), pool.length / 4);
+            for (int tries = 0; tries < REDRAWS && seen(pick, window); tries++) {
+                pick = alias.draw(random);
+            }
+            recent[recentCount++ % RECENT] = pick;
+            return pick;
+        }
+
+        private boolean seen(int idx, int window) {
+            for (int k = 1; k <= window; k++) {
+                if (recent[(recentCount - k) % RECENT] == idx) return true;
+            }
+            return false;
+        }
+
+        private int get(int pos) {
+            int mask = keys.length - 1;
+            for (int s = mix(pos) & mask; keys[s] != 0; s = (s + 1) & mask) {
+                if (keys[s] == pos + 1) return values[s];
+            }
+            return pos;
+        }
+
+        private void put(int pos, int value) {
+            if (2 * (size + 1) > keys.length) rehash(keys.length * 2);
+            int mask = keys.length - 1;
+            int s = mix(pos) & mask;
+            while (keys[s] != 0 && keys[s] != pos + 1) s = (s + 1) & mask;
+            if (keys[s] == 0) size++;
+            keys[s] = pos + 1;
+            values[s] = value;
+        }
+
+        private void rehash(int capacity) {
+            int[] oldKeys = keys, oldValues = values;
+            keys = new int[capacity];
+            values = new int[capacity];
+            size = 0;
+            for (int s = 0; s < oldKeys.length; s++) {
+                if (oldKeys[s] != 0) put(oldKeys[s] - 1, oldValues[s]);
+            }
+        }
+
+        private static int mix(int x) {
+            x *= 0x9E3779B9;
+            return x ^ (x >>> 16);
+        }
+    }
+
+    // ---------- alias method ----------
+
+    /**
+     * Walker / Vose alias table over a question array's weights: one uniform
+     * column pick and one biased coin per draw. Immutable, so all samplers
+     * share the one SysData builds.
+     */
+    static final class Alias {
+        private final double[] prob;
+        private final int[] alias;
+
+        private Alias(double[] prob, int[] alias) {
+            this.prob = prob;
+            this.alias = alias;
+        }
+
+        /** @return the table, or null if all weights are equal (a plain shuffle bag does) */
+        static Alias of(Question[] pool) {
+            int n = pool.length;
+            if (n == 0) return null;
+            double[] w = new double[n];
+            double sum = 0;
+            boolean uniform = true;
+            for (int i = 0; i < n; i++) {
+                w[i] = Math.max(0, pool[i].getWeight());
+                if (!Double.isFinite(w[i])) w[i] = 0;
+                sum += w[i];
+                uniform &= w[i] == w[0];
+            }
+            if (uniform || sum <= 0) return null;
+
+            double[] prob = new double[n];
+            int[] alias = new int[n];
+            int[] small = new int[n], large = new int[n];
+            int ns = 0, nl = 0;
+            for (int i = 0; i < n; i++) {
+                prob[i] = w[i] * n / sum;
+                if (prob[i] < 1) small[ns++] = i;
+                else large[nl++] = i;
+            }
+            while (ns > 0 && nl > 0) {
+                int s = small[--ns], l = large[--nl];
+                alias[s] = l;
+                prob[l] -= 1 - prob[s];
+                if (prob[l] < 1) small[ns++] = l;
+                else large[nl++] = l;
+            }
+            // leftovers are 1 up to rounding
+            while (nl > 0) prob[large[--nl]] = 1;
+            while (ns > 0) prob[small[--ns]] = 1;
+            return new Alias(prob, alias);
+        }
+
+        int draw(RandomGenerator random) {
+            int i = random.nextInt(prob.length);
+            return random.nextDouble() < prob[i] ? i : alias[i];
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package Model;
+
+import Model.QuestionSettings.QDiff;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for QuestionSampler – shuffle bags and weighted draws.
+ */
+public class QuestionSamplerTest {
+
+    private static void fillBank(int n, String difficulty) {
+        for (int i = 0; i < n; i++) {
+            Question q = new Question();
+            q.setText(difficulty + i);
+            q.setDifficulty(difficulty);
+            SysData.addQuestion(q);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        SysData.clear();
+    }
+
+    @Test
+    void testEveryQuestionOnceBeforeAnyRepeat() {
+        SysData.clear();
+        fillBank(1000, "medium");
+        fillBank(10, "hard");
+        QuestionSampler sampler = new QuestionSampler(new SplittableRandom(1));
+
+        for (int cycle = 0; cycle < 3; cycle++) {
+            Set<Question> seen = new HashSet<>();
+            for (int i = 0; i < 1000; i++) {
+                Question q = sampler.next(QDiff.MEDIUM);
+                assertEquals("medium", q.getDifficulty());
+                assertTrue(seen.add(q), "repeat within cycle " + cycle);
+            }
+        }
+
+        // two games draw independently from the same bank
+        QuestionSampler other = new QuestionSampler(new SplittableRandom(2));
+        Set<Question> a = new HashSet<>(), b = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            a.add(sampler.next(QDiff.HARD));
+            b.add(other.next(QDiff.HARD));
+        }
+        assertEquals(10, a.size());
+        assertEquals(10, b.size());
+    }
+
+    @Test
+    void testWeightedDrawsFollowWeights() {
+        SysData.clear();
+        fillBank(4, "easy");
+        double[] w = {1, 2, 3, 4};
+        for (int i = 0; i < 4; i++) SysData.getQuestions().get(i).setWeight(w[i]);
+        SysData.questionsChanged();
+
+        QuestionSampler sampler = new QuestionSampler(new SplittableRandom(3));
+        int[] hits = new int[4];
+        int draws = 40_000;
+        for (int i = 0; i < draws; i++) {
+            String text = sampler.next(QDiff.EASY).getText();
+            hits[text.charAt(4) - '0']++;
+        }
+        // avoiding the previous question flattens the shares a little; order and rough size hold
+        for (int i = 1; i < 4; i++) assertTrue(hits[i] > hits[i - 1], Arrays.toString(hits));
+        assertTrue(hits[0] > draws * 0.05 && hits[3] < draws * 0.45, Arrays.toString(hits));
+    }
+
+    @Test
+    void testWeightChangeAfterFirstDrawTakesEffect() {
+        SysData.clear();
+        fillBank(4, "easy");
+        QuestionSampler sampler = new QuestionSampler(new SplittableRandom(4));
+        sampler.next(QDiff.EASY);   // builds the index with equal weights
+
+        SysData.getQuestions().get(0).setWeight(1_000_000);
+        SysData.questionsChanged();
+        int hits = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (sampler.next(QDiff.EASY) == SysData.getQuestions().get(0)) hits++;
+        }
+        assertTrue(hits > 900, "heavy question drawn " + hits + " times");
+    }
+}
@@ -5,7 +5,30 @@ import java.util.Set;
 
 public class QuestionSettings {
 
-    public enum QDiff { EASY, MEDIUM, HARD, PRO }
+    public enum QDiff {
+        EASY, MEDIUM, HARD, PRO;
+
+        private static final QDiff[] ALL = values();
+
+        /**
+         * Reads a question difficulty as written in the CSV / wizard: the name
+         * or its first letter, any case, surrounding spaces ignored; blank or
+         * null means EASY. Does not allocate.
+         * @return the difficulty, or null if {@code s} is none of them
+         */
+        public static QDiff parse(String s) {
+            if (s == null) return EASY;
+            int a = 0, b = s.length();
+            while (a < b && s.charAt(a) <= ' ') a++;
+            while (b > a && s.charAt(b - 1) <= ' ') b--;
+            if (a == b) return EASY;
+            for (QDiff d : ALL) {
+                String n = d.name();
+                if ((b - a == n.length() || b - a == 1) && s.regionMatches(true, a, n, 0, b - a)) return d;
+            }
+            return null;
+        }
+    }
 
     private boolean questionsEnabled = true;
 
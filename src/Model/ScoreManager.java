@@ -21,6 +21,8 @@ public class ScoreManager {
 
     private final int maxLives;
     private final Difficulty difficulty;
+    private final boolean floorAtZero;
+    private final int overflowPointsPerLife;
 
     public ScoreManager(Difficulty difficulty) {
         if (difficulty == null) {
@@ -29,6 +31,20 @@ public class ScoreManager {
         this.difficulty = difficulty;
         this.lives = difficulty.startLives;
         this.maxLives = difficulty.maxLives;
+        this.floorAtZero = false;
+        this.overflowPointsPerLife = difficulty.questionOrSurpriseCost;
+    }
+
+    /**
+     * Score & lives as played in the two-player game (see {@link GameRules}):
+     * the score is floored at zero and extra lives convert at the rules' rate.
+     */
+    public ScoreManager(GameRules rules) {
+        this.difficulty = rules.difficulty;
+        this.lives = rules.startLives;
+        this.maxLives = rules.maxLives;
+        this.floorAtZero = rules.scoreFloorAtZero;
+        this.overflowPointsPerLife = rules.overflowPointsPerLife;
     }
 
     public int getScore() {
@@ -163,9 +179,18 @@ public class ScoreManager {
      *  LOW-LEVEL HELPERS (LIVES & SCORE)
      * ---------------------------------------------------------- */
 
+    /** Puts score and lives back to saved values (resuming a game). */
+    void restore(int score, int lives) {
+        this.score = score;
+        this.lives = Math.max(0, Math.min(maxLives, lives));
+    }
+
     /** Add points (can be negative). */
     public void addPoints(int delta) {
         this.score += delta;
+        if (floorAtZero && score < 0) {
+            score = 0;
+        }
     }
 
     /** Lose up to n lives; does not go below zero. */
@@ -177,8 +202,9 @@ public class ScoreManager {
     /**
      * Gain up to n lives; if we exceed maxLives,
      * extra lives are converted into score using
-     * difficulty.questionOrSurpriseCost as the
-     * "value" of an extra life.
+     * difficulty.questionOrSurpriseCost (or the
+     * rules' overflow rate) as the "value" of an
+     * extra life.
      */
     public void gainLife(int n) {
         if (n <= 0) return;
@@ -189,8 +215,7 @@ public class ScoreManager {
         int overflow = before + n - maxLives;
         if (overflow > 0) {
             // convert extra lives to points
-            int perLife = difficulty.questionOrSurpriseCost;
-            addPoints(overflow * perLife);
+            addPoints(overflow * overflowPointsPerLife);
         }
     }
 }
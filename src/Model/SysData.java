@@ -4,6 +4,8 @@ import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 
+import Model.QuestionSettings.QDiff;
+
 public class SysData {
 
     // EXACT PATH to your CSV file
@@ -35,12 +37,51 @@ public class SysData {
 	}
 
 
-    // Use comma for CSV (Excel exported with commas)
-    private static final String SEP = ",";
-
+    // changed only under SysData.class; draws read the index instead
     private static final List<Question> questions = new ArrayList<>();
     private static final Random rnd = new Random();
 
+    // what draws read; null = the bank changed, rebuilt on the next draw
+    private static volatile Index index;
+
+    /**
+     * Immutable view of the bank for drawing: all questions, the questions of
+     * each difficulty and the alias tables over their weights, built together
+     * so a reader never pairs a pool with another pool's alias table.
+     */
+    static final class Index {
+        final Question[] all;
+        private final Question[][] pools = new Question[QDiff.values().length][];
+        // only for difficulties whose questions have different weights
+        private final QuestionSampler.Alias[] weights = new QuestionSampler.Alias[QDiff.values().length];
+
+        private Index(Question[] all) {
+            this.all = all;
+            int[] counts = new int[pools.length];
+            QDiff[] diffs = new QDiff[all.length];
+            for (int i = 0; i < all.length; i++) {
+                diffs[i] = QDiff.parse(all[i].getDifficulty());
+                if (diffs[i] != null) counts[diffs[i].ordinal()]++;
+            }
+            for (int d = 0; d < pools.length; d++) pools[d] = new Question[counts[d]];
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < all.length; i++) {
+                if (diffs[i] != null) pools[diffs[i].ordinal()][counts[diffs[i].ordinal()]++] = all[i];
+            }
+            for (int d = 0; d < pools.length; d++) weights[d] = QuestionSampler.Alias.of(pools[d]);
+        }
+
+        /** Questions of difficulty {@code d} (do not modify). */
+        Question[] pool(QDiff d) {
+            return pools[d.ordinal()];
+        }
+
+        /** Alias table for drawing from {@link #pool(QDiff)} by weight, or null if all weights are equal. */
+        QuestionSampler.Alias alias(QDiff d) {
+            return weights[d.ordinal()];
+        }
+    }
+
     /** Called once when program starts (From MineSweeperPrototype) */
     public static void init() {
         loadFromCsv();
@@ -50,58 +91,91 @@ public class SysData {
         return Collections.unmodifiableList(questions);
     }
 
-    public static void clear() {
+    public static synchronized void clear() {
         questions.clear();
+        index = null;
     }
 
-    public static void addQuestion(Question q) {
+    public static synchronized void addQuestion(Question q) {
         questions.add(q);
+        index = null;
+    }
+
+    /**
+     * Call after changing the difficulty or weight of a question already in
+     * the bank; the next draw rebuilds the pools and alias tables.
+     */
+    public static synchronized void questionsChanged() {
+        index = null;
     }
 
     /** Returns a random question from list, or null if empty. */
     public static Question nextRandom() {
-        if (questions.isEmpty()) {
+        return nextRandom(index());
+    }
+
+    private static Question nextRandom(Index bank) {
+        if (bank.all.length == 0) {
             System.err.println("⚠ No questions loaded. Check CSV file!");
             return null;
         }
-        return questions.get(rnd.nextInt(questions.size()));
+        return bank.all[rnd.nextInt(bank.all.length)];
     }
 
     /** Returns a random question for the given difficulty ("easy","medium","hard","pro").
      *  If none exist, falls back to any question (nextRandom()).
      */
     public static Question nextRandomByDifficulty(String difficulty) {
-        if (questions.isEmpty()) {
-            System.err.println("⚠ No questions loaded. Check CSV file!");
-            return null;
-        }
         if (difficulty == null) {
             return nextRandom();
         }
-
-        String d = difficulty.trim().toLowerCase();
-        List<Question> filtered = new ArrayList<>();
-        for (Question q : questions) {
-            String qDiff = q.getDifficulty();
-            if (qDiff == null) qDiff = "easy";
-            if (qDiff.trim().toLowerCase().equals(d)) {
-                filtered.add(q);
-            }
-        }
-
-        if (filtered.isEmpty()) {
+        QDiff d = QDiff.parse(difficulty);
+        if (d == null) {
             System.err.println("⚠ No questions for difficulty: " + difficulty + ". Falling back to any question.");
             return nextRandom();
         }
+        return nextRandom(d);
+    }
+
+    /** Returns a random question of difficulty {@code d}; O(1), falls back to any question. */
+    public static Question nextRandom(QDiff d) {
+        return nextRandom(index(), d);
+    }
+
+    /** Same as {@link #nextRandom(QDiff)}, drawing from an index the caller already holds. */
+    static Question nextRandom(Index bank, QDiff d) {
+        Question[] pool = bank.pool(d);
+        if (pool.length > 0) return pool[rnd.nextInt(pool.length)];
+        if (bank.all.length > 0) {
+            System.err.println("⚠ No questions for difficulty: " + d + ". Falling back to any question.");
+        }
+        return nextRandom(bank);
+    }
+
+    /** Number of questions of difficulty {@code d}. */
+    public static int count(QDiff d) {
+        return index().pool(d).length;
+    }
 
-        return filtered.get(rnd.nextInt(filtered.size()));
+    /**
+     * The current draw index, rebuilt after the bank changed. Lock-free once
+     * built; the rebuild copies the bank under the same lock its writers take.
+     */
+    static Index index() {
+        Index bank = index;
+        if (bank != null) return bank;
+        synchronized (SysData.class) {
+            if (index == null) index = new Index(questions.toArray(new Question[0]));
+            return index;
+        }
     }
 
     
     // -------------------- CSV LOADING --------------------
 
     public static void loadFromCsv() {
-        questions.clear();
+        clear();
+        List<Question> loaded = new ArrayList<>();
 
         File file = new File(CSV_FILE);
         if (!file.exists()) {
@@ -109,47 +183,42 @@ public class SysData {
             return;
         }
 
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(
+        try (CsvReader csv = new CsvReader(new InputStreamReader(
                 new FileInputStream(file), StandardCharsets.UTF_8))) {
 
-            String line;
-            boolean headerSkipped = false;
+            csv.next(); // Skip first header line
 
-            while ((line = br.readLine()) != null) {
-                if (!headerSkipped) { // Skip first header line
-                    headerSkipped = true;
-                    continue;
-                }
-
-                if (line.trim().isEmpty()) continue;
+            while (csv.next()) {
+                if (csv.isBlank()) continue;
 
-                String[] parts = line.split(SEP, -1);
-                if (parts.length < 9) {
-                    System.err.println("⚠ Invalid row skipped: " + line);
+                if (csv.size() < 9) {
+                    System.err.println("⚠ Invalid row skipped: record " + csv.getRecordNumber());
                     continue;
                 }
 
-                String text = parts[0];
-                String optA = parts[1];
-                String optB = parts[2];
-                String optC = parts[3];
-                String optD = parts[4];
-                char correct = parts[5].trim().isEmpty()
+                String text = csv.get(0);
+                String optA = csv.get(1);
+                String optB = csv.get(2);
+                String optC = csv.get(3);
+                String optD = csv.get(4);
+                String c = csv.getTrimmed(5);
+                char correct = c.isEmpty()
                         ? 'A'
-                        : parts[5].trim().toUpperCase().charAt(0);
+                        : Character.toUpperCase(c.charAt(0));
 
-                Integer pr   = parseIntOrNull(parts[6]);
-                Integer pw   = parseIntOrNull(parts[7]);
-                Integer life = parseIntOrNull(parts[8]);
+                Integer pr   = intOrNull(csv, 6);
+                Integer pw   = intOrNull(csv, 7);
+                Integer life = intOrNull(csv, 8);
 
                 // 🔹 NEW: difficulty column at index 9 (with default "easy" if missing)
                 String difficulty = "easy";
-                if (parts.length > 9 && parts[9] != null && !parts[9].trim().isEmpty()) {
-                    difficulty = parts[9].trim().toLowerCase();
+                if (csv.size() > 9 && !csv.isEmpty(9)) {
+                    // normalised once here ("E", "Easy " -> "easy")
+                    QDiff d = QDiff.parse(csv.get(9));
+                    difficulty = d != null ? d.name().toLowerCase() : csv.getTrimmed(9).toLowerCase();
                 }
 
-                // 🔹 Updated constructor to include difficulty
-             // ✅ Build Question object correctly
+                // ✅ Build Question object correctly
                 Question q = new Question();
                 q.setText(text);
                 q.setOptA(optA);
@@ -161,28 +230,47 @@ public class SysData {
                 q.setPointsWrong(pw);
                 q.setLifeDelta(life);
                 q.setDifficulty(difficulty);
+                if (csv.size() > 10 && !csv.isEmpty(10)) {
+                    try {
+                        q.setWeight(Double.parseDouble(csv.getTrimmed(10)));
+                    } catch (NumberFormatException e) {
+                        System.err.println("⚠ Invalid weight ignored: record " + csv.getRecordNumber());
+                    }
+                }
 
                 // ✅ IMPORTANT: add to list
-                questions.add(q);
-
+                loaded.add(q);
+            }
 
-            System.out.println("✔ Loaded " + questions.size() + " questions from CSV.");
+            addAll(loaded);
+            System.out.println("✔ Loaded " + loaded.size() + " questions from CSV.");
 
-            }} catch (IOException e) {
+        } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    private static synchronized void addAll(List<Question> loaded) {
+        questions.addAll(loaded);
+        index = null;
+    }
+
     // -------------------- CSV SAVING --------------------
 
     public static void saveToCsv() {
         File f = new File(CSV_FILE);
 
-        try (BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(
+        try (CsvWriter csv = new CsvWriter(new OutputStreamWriter(
                 new FileOutputStream(f), StandardCharsets.UTF_8))) {
 
-        	bw.write("Question,OptA,OptB,OptC,OptD,Correct,PointsRight,PointsWrong,LifeDelta,Difficulty");
-        	bw.newLine();
+        	// the Weight column is only written when some question has one
+        	boolean weighted = false;
+        	for (Question q : questions) weighted |= q.getWeight() != 1;
+
+        	csv.field("Question").field("OptA").field("OptB").field("OptC").field("OptD").field("Correct")
+        	   .field("PointsRight").field("PointsWrong").field("LifeDelta").field("Difficulty");
+        	if (weighted) csv.field("Weight");
+        	csv.endRecord();
 
         	for (Question q : questions) {
         	    String diff = q.getDifficulty();
@@ -190,17 +278,18 @@ public class SysData {
         	        diff = "easy";
         	    }
 
-        	    bw.write(q.getText() + SEP);
-        	    bw.write(q.getOptA() + SEP);
-        	    bw.write(q.getOptB() + SEP);
-        	    bw.write(q.getOptC() + SEP);
-        	    bw.write(q.getOptD() + SEP);
-        	    bw.write(q.getCorrect() + SEP);
-        	    bw.write(nvl(q.getPointsRight()) + SEP);
-        	    bw.write(nvl(q.getPointsWrong()) + SEP);
-        	    bw.write(nvl(q.getLifeDelta()) + SEP);
-        	    bw.write(diff);
-        	    bw.newLine();
+        	    csv.field(q.getText())
+        	       .field(q.getOptA())
+        	       .field(q.getOptB())
+        	       .field(q.getOptC())
+        	       .field(q.getOptD())
+        	       .field(String.valueOf(q.getCorrect()))
+        	       .field(nvl(q.getPointsRight()))
+        	       .field(nvl(q.getPointsWrong()))
+        	       .field(nvl(q.getLifeDelta()))
+        	       .field(diff);
+        	    if (weighted) csv.field(String.valueOf(q.getWeight()));
+        	    csv.endRecord();
         	}
 
             System.out.println("✔ CSV saved successfully at " + f.getAbsolutePath());
@@ -212,13 +301,10 @@ public class SysData {
 
     // -------------------- Helpers --------------------
 
-    private static Integer parseIntOrNull(String s) {
-        try {
-            s = s.trim();
-            return s.isEmpty() ? null : Integer.parseInt(s);
-        } catch (Exception e) {
-            return null;
-        }
+    private static Integer intOrNull(CsvReader csv, int i) {
+        if (csv.isEmpty(i)) return null;
+        int v = csv.getInt(i, Integer.MIN_VALUE);
+        return v == Integer.MIN_VALUE ? null : v;
     }
 
     private static String nvl(Integer n) {
@@ -0,0 +1,65 @@
+package Model;
+
+import Model.QuestionSettings.QDiff;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SysData's per-difficulty question index.
+ */
+public class SysDataTest {
+
+    private static Question question(String text, String difficulty) {
+        Question q = new Question();
+        q.setText(text);
+        q.setDifficulty(difficulty);
+        return q;
+    }
+
+    @AfterEach
+    void tearDown() {
+        SysData.clear();
+    }
+
+    @Test
+    void testDrawsOnlyFromTheRequestedDifficulty() {
+        SysData.clear();
+        SysData.addQuestion(question("e1", "easy"));
+        SysData.addQuestion(question("e2", " Easy "));
+        SysData.addQuestion(question("h1", "HARD"));
+        SysData.addQuestion(question("p1", "p"));
+        SysData.addQuestion(question("n1", null));
+
+        assertEquals(3, SysData.count(QDiff.EASY));
+        assertEquals(0, SysData.count(QDiff.MEDIUM));
+        for (int i = 0; i < 50; i++) {
+            assertTrue(SysData.nextRandomByDifficulty("easy").getText().matches("e1|e2|n1"));
+            assertEquals("h1", SysData.nextRandom(QDiff.HARD).getText());
+            assertEquals("p1", SysData.nextRandomByDifficulty("PRO").getText());
+        }
+        // no medium questions: any question
+        assertNotNull(SysData.nextRandom(QDiff.MEDIUM));
+
+        // the index follows changes to the bank
+        SysData.addQuestion(question("m1", "medium"));
+        assertEquals("m1", SysData.nextRandom(QDiff.MEDIUM).getText());
+
+        // ... and to a question changing difficulty
+        SysData.getQuestions().get(0).setDifficulty("medium");
+        SysData.questionsChanged();
+        assertEquals(2, SysData.count(QDiff.EASY));
+        assertEquals(2, SysData.count(QDiff.MEDIUM));
+    }
+
+    @Test
+    void testParseDifficulty() {
+        assertEquals(QDiff.EASY, QDiff.parse(null));
+        assertEquals(QDiff.EASY, QDiff.parse("  "));
+        assertEquals(QDiff.MEDIUM, QDiff.parse("m"));
+        assertEquals(QDiff.HARD, QDiff.parse(" Hard"));
+        assertNull(QDiff.parse("expert"));
+        assertNull(QDiff.parse("ha"));
+    }
+}
@@ -0,0 +1,155 @@
+package View;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The one frame timer behind every animation in the game (snow, lights,
+ * turn glow, fireworks, reveal fades, screen fades, window shake).
+ *
+ * It ticks at the display refresh rate while at least one animation is
+ * registered and stops otherwise. Every tick advances all animations in a
+ * single EDT event, so the repaint() calls they make are coalesced by Swing
+ * into one paint pass per frame, however many cells are fading.
+ *
+ * Decorative effects that don't need every frame (snow, lights, turn glow)
+ * register with a period and are stepped at most that often; while only
+ * such effects are registered, the timer itself slows to the shortest
+ * period instead of running at the refresh rate. Those effects run for as
+ * long as their screen exists; while none of them is showing (and nothing
+ * else is running), the timer only checks back every {@link #IDLE_POLL} ms.
+ *
+ * An animation tied to a component is skipped while that component is not
+ * showing and dropped once the component has been taken out of the window,
+ * so screens that are rebuilt (a new game) do not leave animations running.
+ */
+public final class AnimationClock {
+
+    /** One step of an animation; {@code dtMillis} is the time since its last step. */
+    public interface Animation {
+        /** @return false when the animation is finished and should be removed */
+        boolean tick(float dtMillis);
+    }
+
+    private static final AnimationClock SHARED = new AnimationClock();
+
+    public static AnimationClock shared() {
+        return SHARED;
+    }
+
+    private static final class Entry {
+        final Animation animation;
+        final Component owner;   // null = not tied to a component
+        final int period;        // ms between steps, at least one frame
+        boolean attached;        // owner has been part of a window
+        long last;
+
+        Entry(Animation animation, Component owner, int period, long now) {
+            this.animation = animation;
+            this.owner = owner;
+            this.period = period;
+            this.last = now;
+        }
+    }
+
+    static final int IDLE_POLL = 250;
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final int frame = 1000 / refreshRate();
+    private final Timer timer;
+
+    private AnimationClock() {
+        timer = new Timer(frame, e -> tick());
+        timer.setCoalesce(true);
+    }
+
+    /** Runs {@code animation} every frame until it returns false. */
+    public void add(Animation animation) {
+        add(null, 0, animation);
+    }
+
+    /**
+     * Runs {@code animation} every frame while {@code owner} is showing, until
+     * it returns false or the owner is removed from its window. Call on the EDT.
+     */
+    public void add(Component owner, Animation animation) {
+        add(owner, 0, animation);
+    }
+
+    /** As {@link #add(Component, Animation)}, but steps at most every {@code periodMillis}. */
+    public void add(Component owner, int periodMillis, Animation animation) {
+        entries.add(new Entry(animation, owner, Math.max(frame, periodMillis), System.nanoTime()));
+        updateDelay();
+    }
+
+    public void remove(Animation animation) {
+        entries.removeIf(en -> en.animation == animation);
+        updateDelay();
+    }
+
+    /**
+     * Ticks as often as the most frequent animation needs (periodic ones only
+     * count while showing), slowly otherwise, and not at all when there are none.
+     */
+    private void updateDelay() {
+        if (entries.isEmpty()) {
+            timer.stop();
+            return;
+        }
+        int delay = IDLE_POLL;
+        for (Entry en : entries) {
+            // per-frame animations are short-lived and may start just before their screen shows
+            if (en.period == frame || en.owner == null || en.owner.isShowing()) {
+                delay = Math.min(delay, en.period);
+            }
+        }
+        if (timer.getDelay() != delay) {
+            timer.setDelay(delay);
+            timer.setInitialDelay(delay);
+        }
+        if (!timer.isRunning()) timer.start();
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        for (int i = 0; i < entries.size(); i++) {
+            Entry en = entries.get(i);
+            boolean keep = true;
+            if (en.owner != null) {
+                if (en.owner.isDisplayable()) {
+                    en.attached = true;
+                } else if (en.attached) {
+                    keep = false;
+                }
+                if (keep && !en.owner.isShowing()) {
+                    en.last = now;
+                    continue;
+                }
+            }
+            if (keep) {
+                long elapsed = now - en.last;
+                // half a frame of slack, so timer jitter never costs a whole period
+                if (elapsed + frame * 500_000L < en.period * 1_000_000L) continue;
+                keep = en.animation.tick(elapsed / 1_000_000f);
+                en.last = now;
+            }
+            if (!keep) entries.remove(i--);
+        }
+        updateDelay();
+    }
+
+    private static int refreshRate() {
+        try {
+            if (!GraphicsEnvironment.isHeadless()) {
+                int hz = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                        .getDisplayMode().getRefreshRate();
+                if (hz != DisplayMode.REFRESH_RATE_UNKNOWN && hz >= 30 && hz <= 240) return hz;
+            }
+        } catch (RuntimeException ignore) {
+            // fall back to 60 Hz
+        }
+        return 60;
+    }
+}
@@ -0,0 +1,143 @@
+package View;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Decoded and scaled images, keyed by (path, width, height).
+ *
+ * Each file is read from disk once and each size is scaled once, into a
+ * {@link BufferedImage} compatible with the screen (so drawing it is a plain
+ * blit). {@link #prefetch} does the work on a background thread ahead of
+ * time; {@link #icon} returns the shared result and only does the work itself
+ * (on the caller's thread) if nobody asked for that size before.
+ *
+ * A file that cannot be read gives an empty icon (width -1), like
+ * {@code new ImageIcon(path)} does.
+ */
+public class AssetCache {
+
+    private static final ImageIcon MISSING = new ImageIcon();
+
+    private final Map<String, CompletableFuture<BufferedImage>> decoded = new ConcurrentHashMap<>();
+    private final Map<Key, CompletableFuture<ImageIcon>> scaled = new ConcurrentHashMap<>();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "asset-loader");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+
+    /** Shared icon of the image at {@code path} scaled to w×h. */
+    public ImageIcon icon(String path, int w, int h) {
+        return scaledFuture(path, w, h, null).join();
+    }
+
+    /** Starts decoding / scaling in the background so a later {@link #icon} call is a lookup. */
+    public void prefetch(String path, int w, int h) {
+        scaledFuture(path, w, h, loader);
+    }
+
+    private CompletableFuture<ImageIcon> scaledFuture(String path, int w, int h, ExecutorService executor) {
+        Key key = new Key(path, w, h);
+        CompletableFuture<ImageIcon> f = scaled.get(key);
+        if (f != null) return f;
+
+        CompletableFuture<ImageIcon> mine = new CompletableFuture<>();
+        f = scaled.putIfAbsent(key, mine);
+        if (f != null) return f;
+
+        Runnable work = () -> {
+            try {
+                BufferedImage src = decode(path);
+                mine.complete(src == null ? MISSING : new ImageIcon(scale(src, w, h)));
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                mine.complete(MISSING);
+            }
+        };
+        if (executor != null) executor.execute(work);
+        else work.run();
+        return mine;
+    }
+
+    private BufferedImage decode(String path) {
+        CompletableFuture<BufferedImage> mine = new CompletableFuture<>();
+        CompletableFuture<BufferedImage> f = decoded.putIfAbsent(path, mine);
+        if (f != null) return f.join();
+        BufferedImage img = null;
+        try {
+            img = ImageIO.read(new File(path));
+        } catch (IOException | RuntimeException e) {
+            // missing / broken asset: callers fall back (text hearts, no overlay)
+        }
+        mine.complete(img);
+        return img;
+    }
+
+    /**
+     * Scales in halving steps with bilinear filtering (comparable to
+     * SCALE_SMOOTH for downscaling) into a screen-compatible image.
+     */
+    private static BufferedImage scale(BufferedImage src, int w, int h) {
+        w = Math.max(1, w);
+        h = Math.max(1, h);
+        BufferedImage current = src;
+        int cw = src.getWidth();
+        int ch = src.getHeight();
+        do {
+            cw = (cw / 2 >= w) ? cw / 2 : w;
+            ch = (ch / 2 >= h) ? ch / 2 : h;
+            BufferedImage next = (cw == w && ch == h) ? compatible(w, h) : new BufferedImage(cw, ch, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = next.createGraphics();
+            g.setComposite(AlphaComposite.Src);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, cw, ch, null);
+            g.dispose();
+            current = next;
+        } while (cw != w || ch != h);
+        return current;
+    }
+
+    private static BufferedImage compatible(int w, int h) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB_PRE);
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration().createCompatibleImage(w, h, Transparency.TRANSLUCENT);
+    }
+
+    private static final class Key {
+        final String path;
+        final int w, h;
+
+        Key(String path, int w, int h) {
+            this.path = path;
+            this.w = w;
+            this.h = h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return w == k.w && h == k.h && path.equals(k.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, w, h);
+        }
+    }
+}
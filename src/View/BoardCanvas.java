@@ -0,0 +1,289 @@
+package View;
+
+import Model.Board;
+import Model.CellType;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+/**
+ * One player's grid as a single component.
+ *
+ * Tiles are painted straight from the {@link Board} state in one
+ * paintComponent pass (only the rows / columns inside the clip), clicks are
+ * mapped to cells arithmetically and all cells share one context menu. This
+ * replaces one JButton + listeners + popup per cell.
+ *
+ * The owner calls {@link #cellRevealed(int)} for cells a move opened (starts
+ * their fade-in, stepped by the shared {@link AnimationClock}) and
+ * {@link #cellChanged(int)} for anything else.
+ */
+public class BoardCanvas extends JComponent {
+
+    private static final long serialVersionUID = 1L;
+
+    /** What a click on a cell means to the game. */
+    public interface Listener {
+        void cellClicked(int row, int col);
+        void flagToggled(int row, int col);
+    }
+
+    private static final int PAD = 6;
+    private static final int ICON = 16;
+    private static final long FADE_NANOS = 250_000_000L;
+
+    private static final Color[] NUMBER_COLORS = {
+            new Color(52,152,219),
+            new Color(46,204,113),
+            new Color(231,76,60),
+            new Color(155,89,182),
+            new Color(230,126,34),
+            new Color(26,188,156),
+            new Color(52,73,94),
+            new Color(149,165,166)
+    };
+    private static final Stroke GLOW_STROKE = new BasicStroke(2f);
+    private static final Color GLOW       = new Color(0, 255, 255, 120);
+    private static final Color SNOW       = new Color(255, 255, 255, 230);
+    private static final Color USED_SURPRISE = new Color(180, 180, 180);
+    private static final Color USED_QUESTION = new Color(190, 200, 255);
+
+    private final Board board;
+    private final int rows, cols;
+    private final int tile, gap;
+    private final Image tileImage, hoverImage;
+    private Image flagIcon, mineIcon, surpriseIcon, questionIcon;
+    private final Font font;
+    private Listener listener;
+
+    private int hover = -1;
+    private int menuCell = -1;
+    private final JPopupMenu menu = new JPopupMenu();
+
+    // fade-in of freshly revealed cells: start time per cell (0 = none running)
+    private final long[] fadeStart;
+    private int fading;
+
+    public BoardCanvas(Board board, int tile, Image tileImage, Image hoverImage) {
+        this.board = board;
+        this.rows = board.getRows();
+        this.cols = board.getCols();
+        this.tile = tile;
+        this.gap = Math.max(1, tile / 12);
+        this.tileImage = tileImage;
+        this.hoverImage = hoverImage;
+        this.font = new Font("Georgia", Font.BOLD, Math.max(12, tile / 3));
+        this.fadeStart = new long[rows * cols];
+
+        setOpaque(false);
+        setCursor(new Cursor(Cursor.HAND_CURSOR));
+        Dimension size = new Dimension(2 * PAD + cols * tile + (cols - 1) * gap,
+                                       2 * PAD + rows * tile + (rows - 1) * gap);
+        setPreferredSize(size);
+        setMinimumSize(size);
+
+        JMenuItem flag = new JMenuItem("Toggle Flag");
+        flag.addActionListener(e -> {
+            if (menuCell >= 0 && listener != null) listener.flagToggled(menuCell / cols, menuCell % cols);
+        });
+        menu.add(flag);
+
+        // a click is a press and release on the same cell, like a button's action: unlike
+        // mouseClicked it still counts when the mouse moved a little in between
+        MouseAdapter mouse = new MouseAdapter() {
+            private int pressedCell = -1;
+
+            @Override public void mousePressed(MouseEvent e) {
+                pressedCell = cellAt(e.getX(), e.getY());
+                maybeShowMenu(e);
+            }
+
+            @Override public void mouseReleased(MouseEvent e) {
+                maybeShowMenu(e);
+                int idx = cellAt(e.getX(), e.getY());
+                boolean sameCell = idx >= 0 && idx == pressedCell;
+                pressedCell = -1;
+                if (!sameCell || listener == null) return;
+                if (SwingUtilities.isRightMouseButton(e)) {
+                    listener.flagToggled(idx / cols, idx % cols);
+                } else if (SwingUtilities.isLeftMouseButton(e)) {
+                    listener.cellClicked(idx / cols, idx % cols);
+                }
+            }
+
+            @Override public void mouseMoved(MouseEvent e)  { setHover(cellAt(e.getX(), e.getY())); }
+            @Override public void mouseExited(MouseEvent e) { setHover(-1); }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    public void setIcons(Image flag, Image mine, Image surprise, Image question) {
+        this.flagIcon = flag;
+        this.mineIcon = mine;
+        this.surpriseIcon = surprise;
+        this.questionIcon = question;
+        repaint();
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    /** A cell became revealed: fade it in. */
+    public void cellRevealed(int idx) {
+        // the first fading cell puts the canvas on the shared frame clock
+        if (fading == 0) AnimationClock.shared().add(this, dt -> repaintFading());
+        if (fadeStart[idx] == 0) fading++;
+        fadeStart[idx] = System.nanoTime();
+        repaintCell(idx);
+    }
+
+    /** A cell's flag / used state changed: repaint it. */
+    public void cellChanged(int idx) {
+        repaintCell(idx);
+    }
+
+    private void repaintCell(int idx) {
+        repaint(cellX(idx % cols), cellY(idx / cols), tile, tile);
+    }
+
+    /** @return false once no cell is fading any more */
+    private boolean repaintFading() {
+        long now = System.nanoTime();
+        for (int idx = 0; idx < fadeStart.length && fading > 0; idx++) {
+            if (fadeStart[idx] == 0) continue;
+            if (now - fadeStart[idx] >= FADE_NANOS) {
+                fadeStart[idx] = 0;
+                fading--;
+            }
+            repaintCell(idx);
+        }
+        return fading > 0;
+    }
+
+    private void setHover(int idx) {
+        if (idx == hover) return;
+        int old = hover;
+        hover = idx;
+        if (old >= 0) repaintCell(old);
+        if (idx >= 0) repaintCell(idx);
+    }
+
+    private void maybeShowMenu(MouseEvent e) {
+        if (!e.isPopupTrigger()) return;
+        menuCell = cellAt(e.getX(), e.getY());
+        if (menuCell >= 0) menu.show(this, e.getX(), e.getY());
+    }
+
+    // ---------- geometry ----------
+
+    private int cellX(int col) { return PAD + col * (tile + gap); }
+    private int cellY(int row) { return PAD + row * (tile + gap); }
+
+    /** @return the cell index under (x,y), or -1 for padding and gaps */
+    private int cellAt(int x, int y) {
+        int px = x - PAD, py = y - PAD;
+        if (px < 0 || py < 0) return -1;
+        int col = px / (tile + gap), row = py / (tile + gap);
+        if (col >= cols || row >= rows) return -1;
+        if (px - col * (tile + gap) >= tile || py - row * (tile + gap) >= tile) return -1;
+        return row * cols + col;
+    }
+
+    // ---------- painting ----------
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setFont(font);
+
+        Rectangle clip = g2.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+        int c0 = Math.max(0, (clip.x - PAD) / (tile + gap));
+        int r0 = Math.max(0, (clip.y - PAD) / (tile + gap));
+        int c1 = Math.min(cols - 1, (clip.x + clip.width - PAD) / (tile + gap));
+        int r1 = Math.min(rows - 1, (clip.y + clip.height - PAD) / (tile + gap));
+
+        long now = System.nanoTime();
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int idx = r * cols + c;
+                if (board.isRevealed(idx)) {
+                    float alpha = 1f;
+                    if (fadeStart[idx] != 0) alpha = Math.min(1f, (now - fadeStart[idx]) / (float) FADE_NANOS);
+                    paintRevealed(g2, idx, cellX(c), cellY(r), alpha);
+                } else {
+                    paintHidden(g2, idx, cellX(c), cellY(r));
+                }
+            }
+        }
+        g2.dispose();
+    }
+
+    private void paintHidden(Graphics2D g2, int idx, int x, int y) {
+        g2.drawImage(idx == hover ? hoverImage : tileImage, x, y, tile, tile, null);
+        if (board.isFlagged(idx) && flagIcon != null) {
+            drawIcon(g2, flagIcon, x, y);
+        }
+    }
+
+    private void paintRevealed(Graphics2D g2, int idx, int x, int y, float alpha) {
+        Composite normal = g2.getComposite();
+        if (alpha < 1f) g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
+
+        CellType type = board.getType(idx);
+        boolean used = board.isSpecialUsed(idx);
+        switch (type) {
+            case MINE -> drawIcon(g2, mineIcon, x, y);
+            case NUMBER -> {
+                int num = board.getAdjacentMines(idx);
+                drawText(g2, String.valueOf(num),
+                        NUMBER_COLORS[Math.min(Math.max(num - 1, 0), NUMBER_COLORS.length - 1)], x, y);
+            }
+            case SURPRISE -> {
+                if (used) drawText(g2, "USED", USED_SURPRISE, x, y);
+                else drawIcon(g2, surpriseIcon, x, y);
+            }
+            case QUESTION -> {
+                if (used) drawText(g2, "USED", USED_QUESTION, x, y);
+                else drawIcon(g2, questionIcon, x, y);
+            }
+            default -> { }
+        }
+        g2.setComposite(normal);
+
+        // glow outline
+        g2.setStroke(GLOW_STROKE);
+        g2.setColor(GLOW);
+        g2.drawRoundRect(x + 1, y + 1, tile - 3, tile - 3, 6, 6);
+
+        // 3–5 snowflakes settled on the tile, placed from the cell index
+        g2.setColor(SNOW);
+        int h = idx * 0x9E3779B9;
+        int count = 3 + ((h >>> 29) % 3);
+        for (int i = 0; i < count; i++) {
+            h = h * 0x2C1B3C6D + 0x297A2D39;
+            g2.fillOval(x + ((h >>> 8) & 0xFFFF) % tile, y + ((h >>> 20) & 0xFFF) % tile, 3, 3);
+        }
+    }
+
+    private void drawIcon(Graphics2D g2, Image icon, int x, int y) {
+        if (icon == null) return;
+        g2.drawImage(icon, x + (tile - ICON) / 2, y + (tile - ICON) / 2, ICON, ICON, null);
+    }
+
+    private void drawText(Graphics2D g2, String text, Color color, int x, int y) {
+        FontMetrics fm = g2.getFontMetrics();
+        g2.setColor(color);
+        g2.drawString(text, x + (tile - fm.stringWidth(text)) / 2,
+                y + (tile - fm.getHeight()) / 2 + fm.getAscent());
+    }
+}
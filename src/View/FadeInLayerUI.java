@@ -12,18 +12,14 @@ class FadeInLayerUI extends LayerUI<JComponent> {
 	 */
 	private static final long serialVersionUID = 1L;
 	private float alpha = 0f;
-    private Timer timer;
 
     public void startFade(JLayer<?> layer) {
-        timer = new Timer(16, e -> {
-            alpha += 0.04f;
-            if (alpha >= 1f) {
-                alpha = 1f;
-                timer.stop();
-            }
+        // +0.04 every 16 ms
+        AnimationClock.shared().add(layer, dt -> {
+            alpha = Math.min(1f, alpha + 0.04f * dt / 16f);
             layer.repaint();
+            return alpha < 1f;
         });
-        timer.start();
     }
 
     @Override
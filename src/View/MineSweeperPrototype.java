@@ -1,12 +1,23 @@
 package View;
 	
-import Controller.GameController;
 import Controller.QuestionsController;
 import Model.Board;
+import Model.BoardGenerator;
 	import Model.Cell;
 	import Model.CellType;
 	import Model.Difficulty;
+	import Model.GameCommand;
+	import Model.GameEngine;
+	import Model.GameLog;
+	import Model.GameRules;
+	import Model.GameSnapshot;
+	import Model.HistoryIndex;
+	import Model.HistoryStore;
+	import Model.MoveResult;
+	import Model.NoGuessBoardGenerator;
 	import Model.Question;
+	import Model.QuestionSampler;
+	import Model.QuestionSettings.QDiff;
 	import Model.SysData;
 	
 	import javax.swing.*;
@@ -79,25 +90,50 @@ import java.util.List;
 private JPanel[] boardWrappers = new JPanel[2];
 	    private TurnGlowPanel[] glowPanels = new TurnGlowPanel[2];
 	    private DimPanel[] dimPanels = new DimPanel[2];
-	    private java.util.List<String[]> gameHistory = new java.util.ArrayList<>();
+	    // every finished game, queried by the history view; rows [0, historySaved) are in game_history.csv
+	    private HistoryIndex historyIndex;
+	    // game_history.csv, appended to as games end
+	    private HistoryStore historyStore;
+	    private int historySaved;
 
 
 	    
 	
-	    // (for later when you fully hook MVC)
-	    private GameController controller;
-	
-	    // buttons[owner][row][col]
-	    private TileButton[][][] buttons;
+	    // one canvas per player's board (0 = P1, 1 = P2)
+	    private final BoardCanvas[] canvases = new BoardCanvas[2];
 	
 	    // Boards for each player (0 = P1, 1 = P2)
 	    private final Board[] boards = new Board[2];
+
+	    // most particles one decorative effect updates / draws per frame
+	    private static final int PARTICLE_BUDGET = 256;
+
+	    // keeps two ready boards per difficulty so New Game / Restart don't generate on the EDT
+	    private final BoardGenerator boardGenerator = new BoardGenerator(2);
 	 // Fireworks overlay (for win animation)
 	    private FireworksPanel fireworks;
 	
+	    // decoded + scaled icons, shared; see prefetchAssets()
+	    private final AssetCache assets = new AssetCache();
+
 	    private ImageIcon loadIconFit(String path, int w, int h) {
-	        Image img = new ImageIcon(path).getImage();
-	        return new ImageIcon(img.getScaledInstance(w, h, Image.SCALE_SMOOTH));
+	        return assets.icon(path, w, h);
+	    }
+
+	    /** Scales the board, overlay, heart and toolbar icons in the background for every difficulty. */
+	    private void prefetchAssets() {
+	        for (Difficulty d : Difficulty.values()) {
+	            int tile = computeTileSize(d.rows, d.cols);
+	            for (String path : new String[]{A_GRASS, A_GRASS_H, A_BROWN}) {
+	                assets.prefetch(path, tile, tile);
+	            }
+	            for (String path : new String[]{A_FLAG, A_MINE, A_SPIKES, A_QUESTION}) {
+	                assets.prefetch(path, tile / 2, tile / 2);
+	            }
+	        }
+	        assets.prefetch(A_HEART_FULL, 22, 22);
+	        assets.prefetch(A_HEART_EMPTY, 22, 22);
+	        assets.prefetch(A_REFRESH, 28, 28);
 	    }
 	
 	    /* ------------------------------ STATE ------------------------------ */
@@ -117,29 +153,46 @@ private JPanel[] boardWrappers = new JPanel[2];
 	
 	    private final JTextField tfP1 = new JTextField("Alice", 14);
 	    private final JTextField tfP2 = new JTextField("Bob", 14);
+	    private final JCheckBox cbNoGuess = new JCheckBox();
+
+	    // no-guess games start on waiting boards, laid out by the search at each board's first click
+	    private final NoGuessBoardGenerator noGuessGenerator = new NoGuessBoardGenerator();
+	    private boolean noGuessGame;
+	    // search running for a board's first click; other clicks wait until it is done
+	    private SwingWorker<Board, Void> layingOut;
 	 
 	
 	    private JPanel gamePanel;
 	
 	    // Shared lives (both players)
-	    private static final int MAX_LIVES = 10;
+	    private static final int MAX_LIVES = GameRules.MAX_LIVES;
+	    // games listed in the history dialog (the totals cover all of them)
+	    private static final int HISTORY_PREVIEW = 1000;
 	    private int sharedLives = 0;
+
+	    // rules, shared score & lives of the running game; sharedPoints / sharedLives mirror it
+	    private GameEngine engine;
+	    // crash-safe copy of the running game, rewritten after every move
+	    private GameSnapshot autosave;
+	    // game found in the autosave at startup, restored by "Resume"
+	    private GameSnapshot.Saved savedGame;
+	    // move log of the running game (logs/current.mslog), archived when the game ends
+	    private GameLog gameLog;
 	    private final JLabel[] sharedHearts = new JLabel[MAX_LIVES];
 	
 	    // whose turn?
 	    private boolean p1Turn = true;
 	    private final Random rng = new Random();
+	    // question draws of the running game; a new one per game
+	    private QuestionSampler questionSampler = new QuestionSampler();
 
 	
-	    // Difficulty index (0=Easy,1=Medium,2=Hard) - kept for LIFE_OVERFLOW_POINTS usage
+	    // Difficulty index (0=Easy,1=Medium,2=Hard) of the New Game combo
 	    private int difficultyIdx = 0;
 	
 	    // Current difficulty (drives rows/cols + startLives)
 	    private Difficulty currentDifficulty = Difficulty.EASY;
 	
-	    // Overflow conversion (points per extra life) per difficulty
-	    private static final int[] LIFE_OVERFLOW_POINTS = {1, 2, 3};
-	
 	    // per-player counters
 	    private final int[] flagsCount    = {0, 0};
 	    private final int[] revealedCount = {0, 0};
@@ -166,6 +219,9 @@ private JPanel[] boardWrappers = new JPanel[2];
 	        try { UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName()); } catch (Exception ignore) {}
 
 	        setDefaultCloseOperation(EXIT_ON_CLOSE);
+	        addWindowListener(new WindowAdapter() {
+	            @Override public void windowClosing(WindowEvent e) { releaseResources(); }
+	        });
 	        setMinimumSize(new Dimension(1200, 800));
 	        setLocationRelativeTo(null);
 	        setExtendedState(JFrame.MAXIMIZED_BOTH);
@@ -173,11 +229,17 @@ private JPanel[] boardWrappers = new JPanel[2];
 	        // Load questions from CSV (used for question cells)
 	        SysData.init();
 	        loadHistoryFromCSV();
+	        openAutosave();
+	        prefetchAssets();
 
 	        // Default difficulty / boards
 	        currentDifficulty = settingsController.getDefaultDifficulty();
-	        boards[0] = new Board(currentDifficulty);
-	        boards[1] = new Board(currentDifficulty);
+	        boards[0] = boardGenerator.take(currentDifficulty);
+	        boards[1] = boardGenerator.take(currentDifficulty);
+	        resetEngine();
+	        for (Difficulty d : Difficulty.values()) {
+	            boardGenerator.warmUp(d);
+	        }
 
 
 	        // Build screens
@@ -296,22 +358,23 @@ private JPanel[] boardWrappers = new JPanel[2];
 	    class TurnGlowPanel extends JPanel {
 
 	        private float phase = 0f;
-	        private final Timer timer;
 	        private boolean active = false;
+	        // pulse: +0.07 rad every 40 ms, on the shared clock only while this board has the turn
+	        private final AnimationClock.Animation pulse = dt -> {
+	            phase += 0.07f * dt / 40f;
+	            repaint();
+	            return true;
+	        };
 
 	        TurnGlowPanel() {
 	            setOpaque(false);
-
-	            timer = new Timer(40, e -> {
-	                if (active) {
-	                    phase += 0.07f;
-	                    repaint();
-	                }
-	            });
-	            timer.start();
 	        }
 
 	        void setActive(boolean isActive) {
+	            if (isActive != active) {
+	                if (isActive) AnimationClock.shared().add(this, 40, pulse);
+	                else AnimationClock.shared().remove(pulse);
+	            }
 	            active = isActive;
 	            repaint();
 	        }
@@ -381,49 +444,77 @@ private JPanel[] boardWrappers = new JPanel[2];
 	    }
 
 	
-	    /** Cost (in points) to activate a Question/Surprise cell for current difficulty. */
-	    private int getQuestionActivationCost() {
-	        return switch (currentDifficulty) {
-	            case EASY   -> 5;
-	            case MEDIUM -> 8;
-	            case HARD   -> 12;
-	        };
-	    }
-
-	    /** Size of the good/bad surprise effect (points) for current difficulty. */
-	    private int getSurpriseMagnitude() {
-	        return switch (currentDifficulty) {
-	            case EASY   -> 8;
-	            case MEDIUM -> 12;
-	            case HARD   -> 16;
-	        };
-	    }
-
-	    
+	    /**
+	     * Opens the history file and its index (game_history.idx next to it),
+	     * rebuilding the index from the CSV when the two disagree.
+	     */
 	    private void loadHistoryFromCSV() {
 	        String path = getHistoryPath();
-	        if (path == null) {
-	            return; // could not resolve path
+	        try {
+	            if (path != null) {
+	                java.nio.file.Path file = java.nio.file.Paths.get(path);
+	                java.nio.file.Files.createDirectories(file.getParent());
+	                historyStore = new HistoryStore(file);
+	                historyIndex = new HistoryIndex(file.resolveSibling("game_history.idx"));
+	                if (historyIndex.size() != historyStore.getRecordCount()) {
+	                    historyIndex.rebuild(historyStore);
+	                }
+	                historySaved = historyIndex.size();
+	                return;
+	            }
+	        } catch (Exception e) {
+	            e.printStackTrace();
+	            closeHistory();
+	            historyStore = null;
+	            historyIndex = null;
+	        }
+
+	        // no history file: keep this session's games in a throwaway index
+	        try {
+	            java.io.File tmp = java.io.File.createTempFile("game_history", ".idx");
+	            tmp.deleteOnExit();
+	            historyIndex = new HistoryIndex(tmp.toPath());
+	        } catch (java.io.IOException e) {
+	            e.printStackTrace();
 	        }
+	    }
 
-	        java.io.File file = new java.io.File(path);
-	        if (!file.exists()) return;  // no history yet
+	    /** Records a finished game: {player, result, score, difficulty, date}. */
+	    private void addHistory(String[] row) {
+	        if (historyIndex == null) return;
+	        try {
+	            historyIndex.append(row);
+	        } catch (java.io.IOException e) {
+	            e.printStackTrace();
+	        }
+	    }
 
-	        try (java.util.Scanner sc = new java.util.Scanner(file)) {
+	    /** Queues the games not yet in the history file; returns at once, no dialog. */
+	    private void appendHistory() {
+	        if (historyStore == null || historyIndex == null) return;
+	        while (historySaved < historyIndex.size()) {
+	            historyStore.append(historyIndex.row(historySaved++));
+	        }
+	    }
 
-	            if (sc.hasNextLine()) sc.nextLine(); // skip header
+	    /** Flushes the history and the game log and stops the board pool's worker; safe to call twice. */
+	    private void releaseResources() {
+	        closeGameLog();
+	        closeHistory();
+	        boardGenerator.close();
+	    }
 
-	            while (sc.hasNextLine()) {
-	                String line = sc.nextLine();
-	                String[] parts = line.split(",");
+	    @Override
+	    public void dispose() {
+	        releaseResources();
+	        super.dispose();
+	    }
 
-	                if (parts.length >= 5) {
-	                    gameHistory.add(new String[]{
-	                            parts[0], parts[1], parts[2], parts[3], parts[4]
-	                    });
-	                }
-	            }
-	        } catch (Exception e) {
+	    private void closeHistory() {
+	        try {
+	            if (historyStore != null) historyStore.close();
+	            if (historyIndex != null) historyIndex.close();
+	        } catch (java.io.IOException e) {
 	            e.printStackTrace();
 	        }
 	    }
@@ -557,7 +648,10 @@ private JPanel[] boardWrappers = new JPanel[2];
 	        // ✅ Actions
 	        newGame.addActionListener(e -> cards.show(root, SCREEN_NEW_GAME));
         updateResumeButtonState();
-        resumeButton.addActionListener(e -> cards.show(root, SCREEN_GAME));
+        resumeButton.addActionListener(e -> {
+            if (savedGame != null) resumeSavedGame();
+            else cards.show(root, SCREEN_GAME);
+        });
 
 // ✅ Settings opens popup window
 	        settings.addActionListener(e -> {
@@ -571,8 +665,8 @@ private JPanel[] boardWrappers = new JPanel[2];
 
 	        	    // if game is running, enforce max lives immediately
 	        	    int limit = getMaxLivesLimit();
-	        	    if (sharedLives > limit) sharedLives = limit;
-	        	    updateSharedHearts();
+	        	    if (engine.getLives() > limit) engine.getScoreManager().loseLife(engine.getLives() - limit);
+	        	    syncScoreAndLives();
 	                syncDifficultyComboFromSettings();
 
 	        	});
@@ -589,7 +683,8 @@ private JPanel[] boardWrappers = new JPanel[2];
 	            int r = JOptionPane.showConfirmDialog(
 	                this, "Exit the game?", "Confirm", JOptionPane.YES_NO_OPTION
 	            );
-	            if (r == JOptionPane.YES_OPTION) System.exit(0);
+	            // goes through windowClosing, so history and workers are closed first
+	            if (r == JOptionPane.YES_OPTION) dispatchEvent(new WindowEvent(this, WindowEvent.WINDOW_CLOSING));
 	        });
 
 	        // ✅ 2-COLUMN GRID for all 6 buttons (3 rows × 2 columns)
@@ -755,6 +850,10 @@ private JPanel[] boardWrappers = new JPanel[2];
         form.add(createLabeledField("Player 2 Name", tfP2));
         form.add(Box.createVerticalStrut(14));
         form.add(createLabeledField("Difficulty", cbDifficulty));
+        form.add(Box.createVerticalStrut(14));
+        cbNoGuess.setOpaque(false);
+        cbNoGuess.setToolTipText("Every board can be cleared by logic alone (the first click may take a moment)");
+        form.add(createLabeledField("No Guessing", cbNoGuess));
 
         glass.add(form);
         glass.add(Box.createVerticalStrut(35));
@@ -847,8 +946,12 @@ private JPanel[] boardWrappers = new JPanel[2];
 	        int rows = currentDifficulty.rows;
 	        int cols = currentDifficulty.cols;
 
-	        boards[0] = new Board(currentDifficulty);
-	        boards[1] = new Board(currentDifficulty);
+	        // no-guess boards depend on the first click, so they can't come from the pool
+	        noGuessGame = cbNoGuess.isSelected();
+	        for (int p = 0; p < 2; p++) {
+	            boards[p] = noGuessGame ? boardGenerator.generate(currentDifficulty, true)
+	                                    : boardGenerator.take(currentDifficulty);
+	        }
 
 	        flagsCount[0] = flagsCount[1] = 0;
 	        revealedCount[0] = revealedCount[1] = 0;
@@ -858,9 +961,11 @@ private JPanel[] boardWrappers = new JPanel[2];
 	        gamePanel = buildGame(rows, cols);
 	        root.add(wrapWithSlideFade(gamePanel), SCREEN_GAME);
 
-	        sharedPoints = 0;
-	        updateSharedScoreLabel();
-	        resetSharedLives();
+	        resetEngine();
+	        startGameLog();
+	        syncScoreAndLives();
+	        savedGame = null;
+	        saveSnapshot();
 
 	        p1Turn = true;
 	        turnLabel.setText("Turn: " + p1);
@@ -877,48 +982,25 @@ private JPanel[] boardWrappers = new JPanel[2];
 	        TileSet(ImageIcon normal, ImageIcon hover) { this.normal = normal; this.hover = hover; }
 	    }
 	
-	    private TileButton tileButton(TileSet tiles) {
-	        int dynamicSize = computeTileSize(currentDifficulty.rows, currentDifficulty.cols);
-	        
-	        TileButton b = new TileButton(dynamicSize);
-
-	        b.setIcon(tiles.normal);
-	        b.setOpaque(false);
-	        b.setContentAreaFilled(false);
-	        b.setBorder(null);
-
-	        b.getModel().addChangeListener(e -> {
-	            if (!b.isEnabled()) return;
-	            if (b.isRevealedVisual()) return;
-
-	            boolean roll = b.getModel().isRollover();
-	            b.setIcon(roll ? tiles.hover : tiles.normal);
-	        });
-
-	        return b;
-	    }
-
-	
 	 // 🎆 FIREWORKS OVERLAY
 	    class FireworksPanel extends JPanel {
 	
-	        private class Firework {
-	            float x, y;
-	            float dx, dy;
-	            float life;
-	            Color color;
-	        }
-	
-	        private java.util.List<Firework> sparks = new java.util.ArrayList<>();
-	        private final Timer timer;
+	        private final ParticleSystem sparks = new ParticleSystem(ParticleSystem.Style.SPARK, 256,
+	                new Color(255,70,70),
+	                new Color(255,180,40),
+	                new Color(120,200,255),
+	                new Color(140,255,140),
+	                new Color(255,255,255));
+	        // speeds are per 16 ms step
+	        private final AnimationClock.Animation animation = dt -> {
+	            sparks.update(dt / 16f, getWidth(), getHeight());
+	            repaint();
+	            return !sparks.isEmpty();
+	        };
 	
 	        FireworksPanel() {
 	            setOpaque(false);
-	
-	            timer = new Timer(16, e -> {
-	                update();
-	                repaint();
-	            });
+	            sparks.setBudget(PARTICLE_BUDGET);
 	        }
 	
 	        void startFireworks() {
@@ -926,44 +1008,20 @@ private JPanel[] boardWrappers = new JPanel[2];
 	
 	            // spawn 80 sparks at random top positions
 	            for (int i = 0; i < 80; i++) {
-	                Firework f = new Firework();
-	                f.x = (float)(getWidth() * Math.random());
-	                f.y = (float)(getHeight() * Math.random() * 0.4);
-	
 	                double angle = Math.random() * Math.PI * 2;
 	                float speed = 2f + (float)(Math.random() * 4);
-	
-	                f.dx = (float)(Math.cos(angle) * speed);
-	                f.dy = (float)(Math.sin(angle) * speed);
-	                f.life = 1f;
-	
-	                Color[] palette = {
-	                    new Color(255,70,70),
-	                    new Color(255,180,40),
-	                    new Color(120,200,255),
-	                    new Color(140,255,140),
-	                    new Color(255,255,255)
-	                };
-	                f.color = palette[(int)(Math.random()*palette.length)];
-	
-	                sparks.add(f);
+	                int p = sparks.spawn(
+	                        (float)(getWidth() * Math.random()),
+	                        (float)(getHeight() * Math.random() * 0.4),
+	                        (float)(Math.cos(angle) * speed),
+	                        (float)(Math.sin(angle) * speed),
+	                        6, 1f, (int)(Math.random() * 5));
+	                sparks.setGravity(p, 0.05f);
+	                sparks.setDecay(p, 0.015f);
 	            }
 	
-	            timer.start();
-	        }
-	
-	        void update() {
-	            for (Firework f : sparks) {
-	                f.x += f.dx;
-	                f.y += f.dy;
-	                f.dy += 0.05f;   // gravity
-	                f.life -= 0.015f;
-	            }
-	            sparks.removeIf(f -> f.life <= 0);
-	
-	            if (sparks.isEmpty()) {
-	                timer.stop();
-	            }
+	            AnimationClock.shared().remove(animation);
+	            AnimationClock.shared().add(this, animation);
 	        }
 	
 	        @Override
@@ -972,12 +1030,7 @@ private JPanel[] boardWrappers = new JPanel[2];
 	
 	            Graphics2D g2 = (Graphics2D) g;
 	            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-	
-	            for (Firework f : sparks) {
-	                int alpha = (int)(255 * f.life);
-	                g2.setColor(new Color(f.color.getRed(), f.color.getGreen(), f.color.getBlue(), alpha));
-	                g2.fillOval((int)f.x, (int)f.y, 6, 6);
-	            }
+	            sparks.render(g2);
 	        }
 	    }
 	    
@@ -1011,9 +1064,6 @@ private JPanel[] boardWrappers = new JPanel[2];
 	        // HEADER BAR stays the same
 	        page.add(headerBarForGame(), BorderLayout.NORTH);
 	
-	        // allocate buttons
-	        buttons = new TileButton[2][rows][cols];
-	
 	        // ❄ BACKGROUND SNOW (same as menu)
 	        SnowPanel snow = new SnowPanel();
 	        snow.setLayout(new GridBagLayout());
@@ -1114,51 +1164,25 @@ private JPanel[] boardWrappers = new JPanel[2];
 	        JLabel lbl = new JLabel(title, SwingConstants.CENTER);
 	        lbl.setFont(new Font("Georgia", Font.BOLD, 18));
 	        lbl.setForeground(MOSS_GLOW);
+	        if (boards[ownerIdx] != null && boards[ownerIdx].getCode() != null) {
+	            lbl.setToolTipText("Board code: " + boards[ownerIdx].getCode());
+	        }
 	        outer.add(lbl, BorderLayout.NORTH);
 	
+	        // the whole grid is one component: painted from the Board, clicks hit-tested
 	        int TILE = computeTileSize(rows, cols);
-	        int gap = Math.max(1, TILE / 12);
-	        JPanel grid = new JPanel(new GridLayout(rows, cols, gap, gap));
+	        BoardCanvas grid = new BoardCanvas(boards[ownerIdx], TILE,
+	                tiles.normal.getImage(), tiles.hover.getImage());
+	        grid.setIcons(loadIconFit(A_FLAG, TILE / 2, TILE / 2).getImage(),
+	                loadIconFit(A_MINE, TILE / 2, TILE / 2).getImage(),
+	                loadIconFit(A_SPIKES, TILE / 2, TILE / 2).getImage(),
+	                loadIconFit(A_QUESTION, TILE / 2, TILE / 2).getImage());
+	        grid.setListener(new BoardCanvas.Listener() {
+	            @Override public void cellClicked(int row, int col) { handleCellClick(ownerIdx, row, col); }
+	            @Override public void flagToggled(int row, int col) { toggleFlag(ownerIdx, row, col); }
+	        });
+	        canvases[ownerIdx] = grid;
 
-	        grid.setOpaque(false);
-	        grid.setBorder(BorderFactory.createEmptyBorder(6, 6, 6, 6));
-	
-	        for (int r=0; r<rows; r++) {
-	            for (int c=0; c<cols; c++) {
-	                final int rr = r;
-	                final int cc = c;
-	
-	                final TileButton cellButton = tileButton(tiles);
-	
-	
-	                buttons[ownerIdx][rr][cc] = cellButton;
-	
-	                final JPopupMenu m = new JPopupMenu();
-	                JMenuItem flag = new JMenuItem("Toggle Flag");
-	                m.add(flag);
-	
-	                cellButton.addMouseListener(new MouseAdapter() {
-	                    public void mousePressed(MouseEvent e)  {
-	                        if (e.isPopupTrigger() || SwingUtilities.isRightMouseButton(e))
-	                            m.show(cellButton, e.getX(), e.getY());
-	                    }
-	                    public void mouseReleased(MouseEvent e) {
-	                        if (e.isPopupTrigger())
-	                            m.show(cellButton, e.getX(), e.getY());
-	                    }
-	                    @Override public void mouseClicked(MouseEvent e) {
-	                        if (SwingUtilities.isRightMouseButton(e)) flag.doClick();
-	                    }
-	                });
-	
-	                flag.addActionListener(ev -> toggleFlag(ownerIdx, rr, cc));
-	
-	                // REAL logic: call handleCellClick using underlying Board & Cell
-	                cellButton.addActionListener(e -> handleCellClick(ownerIdx, rr, cc));
-	                grid.add(cellButton);
-	            }
-	        }
-	
 	        JScrollPane sp = new JScrollPane(grid);
 	        sp.setBorder(null);
 	        sp.getViewport().setOpaque(false);
@@ -1197,41 +1221,22 @@ private JPanel[] boardWrappers = new JPanel[2];
 	
 	    private void toggleFlag(int ownerIdx, int row, int col) {
 	        int currentPlayer = p1Turn ? 0 : 1;
-	        if (ownerIdx != currentPlayer) return;
+	        if (ownerIdx != currentPlayer || layingOut != null) return;
 
-	        Board board = boards[ownerIdx];
-	        Cell cell = board.getCell(row, col);
-
-	        // can't flag revealed cells
-	        if (cell.isRevealed()) return;
-
-	        boolean wasFlagged = cell.isFlagged();
-	        cell.toggleFlag();
-	        boolean flagged = cell.isFlagged();
-
-	        TileButton cellButton = buttons[ownerIdx][row][col];
-	        int W = cellButton.getPreferredSize().width;
-	        int H = cellButton.getPreferredSize().height;
-	        cellButton.setOverlayIcon(flagged ? loadIconFit(A_FLAG, W/2, H/2) : null);
+	        // can't flag revealed cells; only the FIRST flag on a cell is scored
+	        // (removing → NO effect, replacing → NO effect) – see GameEngine
+	        MoveResult result = engine.toggleFlag(ownerIdx, row, col);
+	        if (!result.isAccepted()) return;
+	        boolean flagged = result.has(MoveResult.FLAGGED);
+	        canvases[ownerIdx].cellChanged(result.getChanged(0));
 
 	        // update flag counters
 	        flagsCount[ownerIdx] += flagged ? 1 : -1;
 	        if (flagsCount[ownerIdx] < 0) flagsCount[ownerIdx] = 0;
 	        refreshRightStats();
 
-	        // --------------------------------------------------------------------
-	        // 🔥 POINTS FIX: Only score the FIRST TIME a flag is placed.
-	        // Removing → NO effect. Replacing → NO effect.
-	        // --------------------------------------------------------------------
-	        if (flagged && !cell.isFlagScored()) {
-	            if (cell.getType() == CellType.MINE) {
-	                bumpScore(1);        // CORRECT FLAG
-	            } else {
-	                bumpScore(-3);       // WRONG FLAG
-	            }
-	            cell.setFlagScored(true);
-	        }
-
+	        syncScoreAndLives();
+	        saveSnapshot();
 	    }
 
 
@@ -1244,57 +1249,32 @@ private JPanel[] boardWrappers = new JPanel[2];
 	 // ❄️ SNOW PANEL — multi-layer, wind, sparkles
 	    class SnowPanel extends JPanel {
 	
-	        private static class Snowflake {
-	            float x, y, speed, drift;
-	            float size;
-	            float opacity;
-	            boolean sparkle;
-	        }
-	
-	        private final java.util.List<Snowflake> flakes = new java.util.ArrayList<>();
-	        private final Timer timer;
+	        private final ParticleSystem flakes = new ParticleSystem(ParticleSystem.Style.FLAKE, 150, Color.white);
 	
 	        SnowPanel() {
 	            setOpaque(false);
+	            flakes.setWrap(true);
+	            flakes.setBudget(PARTICLE_BUDGET);
 	
 	            // create snowflakes
 	            for (int i = 0; i < 150; i++) {
-	                flakes.add(makeFlake());
+	                int f = flakes.spawn(
+	                        (float)(Math.random() * 2000),
+	                        (float)(Math.random() * 1200),
+	                        -0.5f + (float)Math.random(),
+	                        1.5f + (float)Math.random() * 2f,
+	                        2f + (float)Math.random() * 3f,
+	                        0.4f + (float)Math.random() * 0.6f,
+	                        0);
+	                flakes.setSparkle(f, Math.random() < 0.05);
 	            }
 	
-	            timer = new Timer(33, e -> {
-	                updateFlakes();
+	            // speeds are per 33 ms step
+	            AnimationClock.shared().add(this, 33, dt -> {
+	                flakes.update(dt / 33f, getWidth(), getHeight());
 	                repaint();
+	                return true;
 	            });
-	            timer.start();
-	        }
-	
-	        private Snowflake makeFlake() {
-	            Snowflake f = new Snowflake();
-	            f.x = (float)(Math.random() * 2000);
-	            f.y = (float)(Math.random() * 1200);
-	            f.speed = 1.5f + (float)Math.random() * 2f;
-	            f.drift = -0.5f + (float)Math.random();
-	            f.size = 2f + (float)Math.random() * 3f;
-	            f.opacity = 0.4f + (float)Math.random() * 0.6f;
-	            f.sparkle = Math.random() < 0.05;
-	            return f;
-	        }
-	
-	        private void updateFlakes() {
-	            for (Snowflake f : flakes) {
-	                f.y += f.speed;
-	                f.x += f.drift;
-	
-	                if (f.sparkle)
-	                    f.opacity = 0.6f + (float)Math.random()*0.4f;
-	
-	                if (f.y > getHeight()) {
-	                    // recycle at top
-	                    f.x = (float)(Math.random() * getWidth());
-	                    f.y = -10;
-	                }
-	            }
 	        }
 	
 	        @Override
@@ -1302,236 +1282,48 @@ private JPanel[] boardWrappers = new JPanel[2];
 	            super.paintComponent(g);
 	            Graphics2D g2 = (Graphics2D) g;
 	            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-	
-	            for (Snowflake f : flakes) {
-	                g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, f.opacity));
-	                g2.setColor(Color.white);
-	                g2.fillOval((int)f.x, (int)f.y, (int)f.size, (int)f.size);
-	
-	                // sparkle
-	                if (f.sparkle) {
-	                    g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, f.opacity * 0.7f));
-	                    g2.drawOval((int)f.x-1, (int)f.y-1, (int)f.size+2, (int)f.size+2);
-	                }
-	            }
+	            flakes.render(g2);
 	        }
 	    }
 	
 	 // 🎄 Animated Christmas lights overlay
 	    class LightsOverlay extends JPanel {
 	
-	        private static class Light {
-	            int x, y, radius;
-	            Color base;
-	            float glowPhase;
-	        }
-	
-	        private final java.util.List<Light> bulbs = new java.util.ArrayList<>();
-	        private final Timer timer;
+	        private final ParticleSystem bulbs = new ParticleSystem(ParticleSystem.Style.BULB, 18,
+	                new Color(255,75,75),
+	                new Color(255,180,40),
+	                new Color(120,200,255),
+	                new Color(140,255,140));
 	
 	        LightsOverlay() {
 	            setOpaque(false);
+	            bulbs.setGlow(0.25f, 0.25f);
 	
-	            // generate bulbs across top
+	            // generate bulbs across top; the glow phase advances 0.1 rad per 50 ms
 	            for (int i = 0; i < 18; i++) {
-	                Light L = new Light();
-	                L.x = 80 + i*85;
-	                L.y = 20;
-	                L.radius = 5;
-	                L.base = pickColor();
-	                L.glowPhase = (float)(Math.random()*Math.PI*2);
-	                bulbs.add(L);
+	                int b = bulbs.spawn(80 + i*85, 20, 0, 0, 10, 1f, (int)(Math.random()*4));
+	                bulbs.setPhase(b, (float)(Math.random()*Math.PI*2), 0.1f);
 	            }
 	
-	            timer = new Timer(50, e -> {
-	                for (Light L : bulbs) {
-	                    L.glowPhase += 0.1f;
-	                }
+	            AnimationClock.shared().add(this, 50, dt -> {
+	                bulbs.update(dt / 50f, getWidth(), getHeight());
 	                repaint();
+	                return true;
 	            });
-	            timer.start();
-	        }
-	
-	        private Color pickColor() {
-	            Color[] c = {
-	                    new Color(255,75,75),
-	                    new Color(255,180,40),
-	                    new Color(120,200,255),
-	                    new Color(140,255,140)
-	            };
-	            return c[(int)(Math.random()*c.length)];
 	        }
 	
 	        @Override
-	        
 	        protected void paintComponent(Graphics g) {
 	            super.paintComponent(g);
 	            Graphics2D g2 = (Graphics2D) g;
 	            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-	
-	            for (Light L : bulbs) {
-	
-	            	float glow = 0.25f + (float) Math.sin(L.glowPhase) * 0.25f;
-
-	                Color glowColor = new Color(
-	                        (int)(L.base.getRed() * glow),
-	                        (int)(L.base.getGreen() * glow),
-	                        (int)(L.base.getBlue() * glow),
-	                        150
-	                );
-	
-	                // Glow halo
-	                g2.setColor(glowColor);
-	                g2.fillOval(L.x - L.radius * 2, L.y - L.radius * 2, L.radius * 4, L.radius * 4);
-	
-	                // Solid bulb
-	                g2.setColor(L.base);
-	                g2.fillOval(L.x - L.radius, L.y - L.radius, L.radius * 2, L.radius * 2);
-	            }
+	            bulbs.render(g2);
 	        }
-	
-	
 	    }
 	
 	
 	    
 	    
-	    private static class TileButton extends JButton {
-	
-	        private Image overlay;          // ← THIS is the variable you were missing
-	        private boolean revealedVisual = false;
-	        private float revealAlpha = 0f;   // fade animation %
-	        private boolean fading = false;
-	        private java.util.List<Point> snowOnTile = new java.util.ArrayList<>();
-	
-	
-	        TileButton(int size) {
-	            setPreferredSize(new Dimension(size, size));
-	            setMinimumSize(new Dimension(size, size));
-	            setMaximumSize(new Dimension(size, size));
-
-	            setMargin(new Insets(0,0,0,0));
-	            setContentAreaFilled(false);
-	            setOpaque(false);
-	            setBorder(null);
-	            setFocusPainted(false);
-
-	            setFont(new Font("Georgia", Font.BOLD, Math.max(12, size/3)));
-	            setForeground(Color.WHITE);
-	            setCursor(new Cursor(Cursor.HAND_CURSOR));
-	        }
-
-	
-	        void setOverlayIcon(ImageIcon icon) {
-	            overlay = (icon == null) ? null : icon.getImage();
-	            repaint();
-	        }
-	
-	        void setRevealedVisual(boolean r) {
-	            if (r && !revealedVisual) {
-	                revealedVisual = true;
-	
-	                // start fade animation
-	                fading = true;
-	                revealAlpha = 0f;
-	
-	                // add 3–5 snowflakes on tile
-	                snowOnTile.clear();
-	                int count = 3 + (int)(Math.random() * 3);
-	                for (int i = 0; i < count; i++) {
-	                    int x = (int)(Math.random() * getWidth());
-	                    int y = (int)(Math.random() * getHeight());
-	                    snowOnTile.add(new Point(x, y));
-	                }
-	
-	                // animation timer
-	                Timer t = new Timer(20, e -> {
-	                    revealAlpha += 0.08f;
-	                    if (revealAlpha >= 1f) {
-	                        revealAlpha = 1f;
-	                        fading = false;
-	                        ((Timer)e.getSource()).stop();
-	                    }
-	                    repaint();
-	                });
-	                t.start();
-	            } else {
-	                revealedVisual = r;
-	            }
-	        }
-	
-	
-	        boolean isRevealedVisual() {
-	            return revealedVisual;
-	        }
-	
-	        @Override
-	        protected void paintComponent(Graphics g) {
-	            Graphics2D g2 = (Graphics2D) g.create();
-	            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-	
-	            // Draw transparent background
-	            g2.setComposite(AlphaComposite.SrcOver);
-	
-	            // ---------------------------------
-	            // 1) HIDDEN TILE (normal state)
-	            // ---------------------------------
-	            if (!revealedVisual) {
-	                super.paintComponent(g2);
-	
-	                // draw overlay icons (flag)
-	                if (overlay != null) {
-	                    int iconSize = 16;
-	                    int x = (getWidth() - iconSize) / 2;
-	                    int y = (getHeight() - iconSize) / 2;
-	                    g2.drawImage(overlay, x, y, iconSize, iconSize, this);
-	                }
-	
-	                g2.dispose();
-	                return;
-	            }
-	
-	            // ---------------------------------
-	            // 2) REVEALED TILE (fade animation)
-	            // ---------------------------------
-	            float alpha = fading ? revealAlpha : 1f;
-	            g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
-	
-	            // draw TEXT (numbers)
-	            super.paintComponent(g2);
-	
-	            // draw overlay icons (mine, spikes, question)
-	            if (overlay != null) {
-	                int iconSize = 16;
-	                int x = (getWidth() - iconSize) / 2;
-	                int y = (getHeight() - iconSize) / 2;
-	                g2.drawImage(overlay, x, y, iconSize, iconSize, this);
-	            }
-	
-	            // ---------------------------------
-	            // 3) GLOW OUTLINE
-	            // ---------------------------------
-	            g2.setComposite(AlphaComposite.SrcOver);
-	            g2.setStroke(new BasicStroke(2f));
-	            g2.setColor(new Color(0, 255, 255, 120)); // cyan glow
-	            g2.drawRoundRect(1, 1, getWidth()-3, getHeight()-3, 6, 6);
-	
-	            // ---------------------------------
-	            // 4) SNOW ACCUMULATION
-	            // ---------------------------------
-	            g2.setColor(new Color(255,255,255,230));
-	            for (Point p : snowOnTile) {
-	                g2.fillOval(p.x, p.y, 3, 3);
-	            }
-	
-	            g2.dispose();
-	        }
-	    }
-	
-	
-	
-	
-	
 	    /* ------------------------------ HEADER BAR / SCORE / LIVES ------------------------------ */
 	
 	    private JPanel headerBarForGame() {
@@ -1649,6 +1441,7 @@ private JPanel[] boardWrappers = new JPanel[2];
 	                        "• Left-click: Reveal cell\n" +
 	                        "• Right-click: Toggle flag\n" +
 	                        "• Numbers show adjacent mines\n" +
+	                        "• Click an opened number whose mines are all flagged: open its other neighbours\n" +
 	                        "• Trivia answers can gain/lose lives\n" +
 	                        "• Shared lives (max 10); overflow converts to points\n",
 	                "How to Play", JOptionPane.INFORMATION_MESSAGE);
@@ -1657,39 +1450,76 @@ private JPanel[] boardWrappers = new JPanel[2];
 	        final Point original = getLocation();
 	        final int SHAKE_DISTANCE = 8;
 	
-	        Timer t = new Timer(15, null);
-	        t.addActionListener(e -> {
+	        // jitter every frame, back in place after 250ms
+	        float[] elapsed = {0f};
+	        AnimationClock.shared().add(dt -> {
+	            elapsed[0] += dt;
+	            if (elapsed[0] >= 250f) {
+	                setLocation(original);
+	                return false;
+	            }
 	            int x = original.x + (int)(Math.random() * SHAKE_DISTANCE - SHAKE_DISTANCE/2);
 	            int y = original.y + (int)(Math.random() * SHAKE_DISTANCE - SHAKE_DISTANCE/2);
 	            setLocation(x, y);
+	            return true;
 	        });
-	
-	        // Stop shake after 250ms
-	        new Timer(250, e -> {
-	            t.stop();
-	            setLocation(original);
-	        }).start();
-	
-	        t.start();
 	    }
 	
+	    /**
+	     * Runs the no-guess search for a board's first click off the EDT (it may
+	     * take the whole budget), then lays the board out and replays the click.
+	     */
+	    private void layOutInBackground(int ownerIdx, int row, int col) {
+	        GameEngine game = engine;
+	        Board board = boards[ownerIdx];
+	        layingOut = new SwingWorker<>() {
+	            @Override
+	            protected Board doInBackground() {
+	                return noGuessGenerator.generate(board.getDifficulty(), row, col);
+	            }
+
+	            @Override
+	            protected void done() {
+	                if (layingOut != this) return;   // a new game was started meanwhile
+	                layingOut = null;
+	                setCursor(Cursor.getDefaultCursor());
+	                if (engine != game || board.isGenerated()) return;
+	                try {
+	                    board.layOutFrom(get());
+	                } catch (Exception e) {
+	                    e.printStackTrace();   // play an ordinary safe-first-click board instead
+	                }
+	                handleCellClick(ownerIdx, row, col);
+	            }
+	        };
+	        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+	        layingOut.execute();
+	    }
+
 	    private void handleCellClick(int ownerIdx, int row, int col) {
 
-	    	
-	    	// ⛔ If the game is over (no lives), do nothing
-	        if (sharedLives == 0) {
+	        // ⛔ If the game is over (no lives), do nothing
+	        if (engine == null || engine.isGameOver()) {
 	            return;
 	        }
 
 	        // 🔒 ONLY CURRENT PLAYER MAY CLICK THEIR OWN BOARD
 	        int currentPlayer = p1Turn ? 0 : 1;
 	        if (ownerIdx != currentPlayer) {
-	            return; 
+	            return;
 	        }
 
 	        Board board = boards[ownerIdx];
 	        if (board == null) return;
 
+	        if (layingOut != null) return;
+
+	        // safe-first-click boards place their mines on the first reveal
+	        if (noGuessGame && !board.isGenerated()) {
+	            if (!board.isFlagged(board.index(row, col))) layOutInBackground(ownerIdx, row, col);
+	            return;
+	        }
+	        board.ensureGenerated(row, col);
 	        Cell cell = board.getCell(row, col);
 
 	        // Flags block everything
@@ -1697,362 +1527,209 @@ private JPanel[] boardWrappers = new JPanel[2];
 	            return;
 	        }
 
-	        // Already revealed and NOT a special cell → nothing to do
-	        if (cell.isRevealed()
-	                && cell.getType() != CellType.QUESTION
-	                && cell.getType() != CellType.SURPRISE) {
-	            return;
+	        MoveResult result;
+	        if (cell.isRevealed()) {
+	            if (cell.getType() == CellType.NUMBER) {
+	                // CLICK on an opened number whose mines are all flagged → chord:
+	                // the engine opens the other neighbours in one batch
+	                result = engine.chord(ownerIdx, row, col);
+	                if (!result.isAccepted()) return;
+	            } else {
+	                // SECOND CLICK on a Question / Surprise → activation (does NOT change turn)
+	                if (cell.isSpecialUsed()) return;
+	                if (cell.getType() == CellType.QUESTION) {
+	                    activateQuestion(ownerIdx, row, col);
+	                } else if (cell.getType() == CellType.SURPRISE) {
+	                    activateSurprise(ownerIdx, row, col);
+	                }
+	                return;
+	            }
+	        } else {
+	            // FIRST CLICK → reveal (cascade for EMPTY); the engine applies the rules
+	            result = engine.reveal(ownerIdx, row, col);
 	        }
+	        renderMove(result);
 
-	        CellType type = cell.getType();
-	        boolean usedTurn = false;
-
-	        switch (type) {
-
-	            /* ----------------------------------------------------
-	               MINE
-	            ---------------------------------------------------- */
-	        case MINE -> {
-	            if (!cell.isRevealed()) {
-	                cell.reveal();
-	                updateButtonForCell(ownerIdx, cell);
-	                bumpRevealedForCurrentTurn();
-
-	                // ❌ POINT PENALTY FOR STEPPING ON A MINE
-	                bumpScore(-3);
+	        if (result.has(MoveResult.MINE_HIT)) {
+	            JOptionPane.showMessageDialog(
+	                    this,
+	                    "BOOM! Mine hit!\n(-" + engine.getRules().minePenalty + " points)",
+	                    "Mine",
+	                    JOptionPane.WARNING_MESSAGE
+	            );
+	            shakeWindow();
+	        }
 
-	                JOptionPane.showMessageDialog(
-	                        this,
-	                        "BOOM! Mine hit!\n(-3 points)",
-	                        "Mine",
-	                        JOptionPane.WARNING_MESSAGE
-	                );
+	        // ------------------------------------
+	        // SWITCH TURN IF THE MOVE WAS VALID
+	        // ------------------------------------
+	        if (result.has(MoveResult.TURN_SWITCHED)) {
+	            toggleTurnLabel();
+	        }
 
-	                loseSharedLives(1);
-	                usedTurn = true;
+	        if (result.has(MoveResult.GAME_OVER)) {
+	            handleGameOver();
+	        } else if (result.has(MoveResult.BOARD_CLEARED)) {
+	            handleBoardCleared(ownerIdx);
+	        }
+	    }
 
-	                shakeWindow();
+	    /** Redraws the cells a move changed and syncs score, lives and counters from the engine. */
+	    private void renderMove(MoveResult result) {
+	        int ownerIdx = result.getPlayer();
+	        for (int i = 0; i < result.getChangedCount(); i++) {
+	            updateCell(ownerIdx, result.getChanged(i), !result.has(MoveResult.SPECIAL_USED));
+	            if (result.has(MoveResult.TURN_SWITCHED)) {
+	                bumpRevealedForCurrentTurn();
 	            }
 	        }
+	        syncScoreAndLives();
+	        saveSnapshot();
+	    }
 
+	    private void activateQuestion(int ownerIdx, int row, int col) {
 
-	            /* ----------------------------------------------------
-	               EMPTY → Cascade reveal
-	            ---------------------------------------------------- */
-	            case EMPTY -> {
-	                if (!cell.isRevealed()) {
-	                    List<Cell> revealed = board.revealCascade(row, col);
-	                    for (Cell c : revealed) {
-	                        updateButtonForCell(ownerIdx, c);
-	                        bumpRevealedForCurrentTurn();
-
-	                        // ⭐ SAFE CELL SCORING
-	                        if (!c.isRevealScored() && c.getType() != CellType.MINE) {
-	                            bumpScore(1);
-	                            c.setRevealScored(true);
-	                        }
-	                    }
-	                    if (!revealed.isEmpty()) {
-	                        usedTurn = true;
-	                    }
-	                }
-	            }
-
-	            /* ----------------------------------------------------
-	               NUMBER
-	            ---------------------------------------------------- */
-	            case NUMBER -> {
-	                if (!cell.isRevealed()) {
-	                    cell.reveal();
-	                    updateButtonForCell(ownerIdx, cell);
-	                    bumpRevealedForCurrentTurn();
-
-	                    // ⭐ SAFE CELL SCORING
-	                    if (!cell.isRevealScored()) {
-	                        bumpScore(1);
-	                        cell.setRevealScored(true);
-	                    }
-
-	                    usedTurn = true;
-	                }
-	            }
+	        // 1) Let user choose question difficulty
+	        String[] diffOptions = {"Easy", "Medium", "Hard", "Pro"};
+	        String selection = (String) JOptionPane.showInputDialog(
+	                this,
+	                "Choose question difficulty:",
+	                "Question Difficulty",
+	                JOptionPane.QUESTION_MESSAGE,
+	                null,
+	                diffOptions,
+	                diffOptions[0]
+	        );
 
-	            /* ----------------------------------------------------
-	               QUESTION — (2-step activation)
-	            ---------------------------------------------------- */
-	            case QUESTION -> {
+	        // user pressed Cancel or closed dialog → do nothing
+	        if (selection == null) {
+	            return;
+	        }
 
-	                // If already USED → cannot activate again
-	                if (cell.isSpecialUsed()) {
-	                    break;
-	                }
+	        String diffKey = selection.toLowerCase(); // "easy"/"medium"/"hard"/"pro"
 
-	                // SECOND CLICK → Activation (does NOT change turn)
-	                if (cell.isRevealed()) {
-
-	                    // 1) Let user choose question difficulty
-	                    String[] diffOptions = {"Easy", "Medium", "Hard", "Pro"};
-	                    String selection = (String) JOptionPane.showInputDialog(
-	                            this,
-	                            "Choose question difficulty:",
-	                            "Question Difficulty",
-	                            JOptionPane.QUESTION_MESSAGE,
-	                            null,
-	                            diffOptions,
-	                            diffOptions[0]
-	                    );
-
-	                    // user pressed Cancel or closed dialog → do nothing
-	                    if (selection == null) {
-	                        break;
-	                    }
-
-	                    String diffKey = selection.toLowerCase(); // "easy"/"medium"/"hard"/"pro"
-
-	                    // 2) Get random question of that difficulty
-	                    Question q = SysData.nextRandomByDifficulty(diffKey);
-	                    if (q == null) {
-	                        JOptionPane.showMessageDialog(
-	                                this,
-	                                "No questions available for '" + selection + "' difficulty.",
-	                                "Question Cell",
-	                                JOptionPane.WARNING_MESSAGE
-	                        );
-	                        break;
-	                    }
-
-	                    // 3) Ask for confirmation with cost (depends on game difficulty)
-	                    int baseCost = getQuestionActivationCost();
-
-	                    int choice = JOptionPane.showConfirmDialog(
-	                            this,
-	                            "This is a Question cell.\n" +
-	                            "Using it costs " + baseCost + " points.\n" +
-	                            "Do you want to answer a " + selection.toLowerCase() + " question now?",
-	                            "Question Cell",
-	                            JOptionPane.YES_NO_OPTION
-	                    );
-
-	                    if (choice == JOptionPane.YES_OPTION) {
-	                        // pay activation cost
-	                        bumpScore(-baseCost);
-
-	                        // show the chosen question, apply points/lives according to the spec
-	                        showQuestionDialog(q);
-
-	                        // mark cell as USED and update look
-	                        cell.setSpecialUsed(true);
-	                        updateButtonForCell(ownerIdx, cell);
-	                    }
-
-	                    // ✅ NO usedTurn = true here → same player keeps the turn
-	                    break;
-	                }
+	        // 2) Get random question of that difficulty (no repeats within a game)
+	        QDiff qDiff = QDiff.parse(diffKey);
+	        Question q = qDiff != null ? questionSampler.next(qDiff) : SysData.nextRandomByDifficulty(diffKey);
+	        if (q == null) {
+	            JOptionPane.showMessageDialog(
+	                    this,
+	                    "No questions available for '" + selection + "' difficulty.",
+	                    "Question Cell",
+	                    JOptionPane.WARNING_MESSAGE
+	            );
+	            return;
+	        }
 
-	                // FIRST CLICK → Reveal (this DOES change turn)
-	                if (!cell.isRevealed()) {
-	                    cell.reveal();
-	                    updateButtonForCell(ownerIdx, cell);
-	                    bumpRevealedForCurrentTurn();
+	        // 3) Ask for confirmation with cost (depends on game difficulty)
+	        int baseCost = engine.getRules().activationCost;
 
-	                    if (!cell.isRevealScored()) {
-	                        bumpScore(1);
-	                        cell.setRevealScored(true);
-	                    }
+	        int choice = JOptionPane.showConfirmDialog(
+	                this,
+	                "This is a Question cell.\n" +
+	                "Using it costs " + baseCost + " points.\n" +
+	                "Do you want to answer a " + selection.toLowerCase() + " question now?",
+	                "Question Cell",
+	                JOptionPane.YES_NO_OPTION
+	        );
 
-	                    usedTurn = true;  // ✅ new cell opened → switch turn
-	                }
-	            }
+	        if (choice != JOptionPane.YES_OPTION) {
+	            return;
+	        }
 
-	            /* ----------------------------------------------------
-	               SURPRISE — (2-step activation)
-	            ---------------------------------------------------- */
-	            case SURPRISE -> {
+	        // show the chosen question; the engine pays the cost, checks the answer
+	        // and applies points/lives according to the spec
+	        char picked = askQuestion(q);
+	        MoveResult result = engine.apply(GameCommand.answer(ownerIdx, row, col, q, picked));
+	        if (picked != 0) {
+	            showQuestionResult(result);
+	        }
+	        renderMove(result);
 
-	                // If already USED → cannot activate again
-	                if (cell.isSpecialUsed()) {
-	                    break;
-	                }
+	        if (result.has(MoveResult.GAME_OVER)) {
+	            handleGameOver();
+	        }
+	    }
 
-	                // SECOND CLICK → Activation (does NOT change turn)
-	                if (cell.isRevealed()) {
-
-	                    int baseCost  = getQuestionActivationCost(); // same cost as Question cell
-	                    int magnitude = getSurpriseMagnitude();      // ±8 / ±12 / ±16 points
-
-	                    int choice = JOptionPane.showConfirmDialog(
-	                            this,
-	                            "This is a Surprise cell.\n" +
-	                            "Activating it costs " + baseCost + " points.\n" +
-	                            "There is a 50/50 chance for a good or bad surprise.\n" +
-	                            "Do you want to activate it?",
-	                            "Surprise Cell",
-	                            JOptionPane.YES_NO_OPTION
-	                    );
-
-	                    if (choice == JOptionPane.YES_OPTION) {
-	                        bumpScore(-baseCost); // pay activation cost
-
-	                        boolean good = rng.nextBoolean(); // 50% good, 50% bad
-
-	                        if (good) {
-	                            bumpScore(magnitude);
-	                            gainSharedLives(1);
-	                            JOptionPane.showMessageDialog(
-	                                    this,
-	                                    "Good surprise! 🎁\n+" + magnitude + " points and +1 life.",
-	                                    "Good Surprise",
-	                                    JOptionPane.INFORMATION_MESSAGE
-	                            );
-	                        } else {
-	                            bumpScore(-magnitude);
-	                            loseSharedLives(1);
-	                            JOptionPane.showMessageDialog(
-	                                    this,
-	                                    "Bad surprise! 💀\n-" + magnitude + " points and -1 life.",
-	                                    "Bad Surprise",
-	                                    JOptionPane.WARNING_MESSAGE
-	                            );
-	                        }
-
-	                        cell.setSpecialUsed(true);
-	                        updateButtonForCell(ownerIdx, cell); // will show USED
-	                    }
-
-	                    // ✅ NO usedTurn = true here → same player keeps the turn
-	                    break;
-	                }
+	    private void activateSurprise(int ownerIdx, int row, int col) {
+	        int baseCost = engine.getRules().activationCost; // same cost as Question cell
 
-	                // FIRST CLICK → Reveal (this DOES change turn)
-	                if (!cell.isRevealed()) {
-	                    cell.reveal();
-	                    updateButtonForCell(ownerIdx, cell);
-	                    bumpRevealedForCurrentTurn();
+	        int choice = JOptionPane.showConfirmDialog(
+	                this,
+	                "This is a Surprise cell.\n" +
+	                "Activating it costs " + baseCost + " points.\n" +
+	                "There is a 50/50 chance for a good or bad surprise.\n" +
+	                "Do you want to activate it?",
+	                "Surprise Cell",
+	                JOptionPane.YES_NO_OPTION
+	        );
 
-	                    if (!cell.isRevealScored()) {
-	                        bumpScore(1);
-	                        cell.setRevealScored(true);
-	                    }
+	        if (choice != JOptionPane.YES_OPTION) {
+	            return;
+	        }
 
-	                    usedTurn = true;  // ✅ new cell opened → switch turn
-	                }
-	            }
+	        MoveResult result = engine.apply(GameCommand.activate(ownerIdx, row, col));
+	        int magnitude = Math.abs(result.getSpecialPoints());
 
-	            default -> { /* nothing */ }
+	        if (result.has(MoveResult.SURPRISE_GOOD)) {
+	            JOptionPane.showMessageDialog(
+	                    this,
+	                    "Good surprise! 🎁\n+" + magnitude + " points and +1 life.",
+	                    "Good Surprise",
+	                    JOptionPane.INFORMATION_MESSAGE
+	            );
+	        } else {
+	            JOptionPane.showMessageDialog(
+	                    this,
+	                    "Bad surprise! 💀\n-" + magnitude + " points and -1 life.",
+	                    "Bad Surprise",
+	                    JOptionPane.WARNING_MESSAGE
+	            );
 	        }
+	        renderMove(result); // will show USED
 
-	        // ------------------------------------
-	        // SWITCH TURN IF THE MOVE WAS VALID
-	        // ------------------------------------
-	        if (usedTurn) {
-	            toggleTurnLabel();
+	        if (result.has(MoveResult.GAME_OVER)) {
+	            handleGameOver();
 	        }
+	    }
 
-	        // ------------------------------------
-	        // CHECK WIN CONDITION
-	        // ------------------------------------
-	        if (boards[ownerIdx].isAllSafeCellsRevealed()) {
-	        	String winner = (ownerIdx == 0 ? tfP1.getText().trim() : tfP2.getText().trim());
-	        	gameHistory.add(new String[]{
-	        	    winner,
-	        	    "Cleared Board",
-	        	    String.valueOf(sharedPoints),
-	        	    currentDifficulty.name(),
-	        	    String.valueOf(java.time.LocalDateTime.now())
-	        	});
-	        	if (settingsController.isAutoSaveHistory()) {
-	        	    exportHistoryToCSV();
-	        	}
-
+	    private void handleBoardCleared(int ownerIdx) {
+	        if (autosave != null) autosave.clear();
+	        archiveGameLog();
+	        String winner = (ownerIdx == 0 ? tfP1.getText().trim() : tfP2.getText().trim());
+	        addHistory(new String[]{
+	            winner,
+	            "Cleared Board",
+	            String.valueOf(sharedPoints),
+	            currentDifficulty.name(),
+	            String.valueOf(java.time.LocalDateTime.now())
+	        });
+	        if (settingsController.isAutoSaveHistory()) {
+	            appendHistory();
+	        }
 
-	        	JOptionPane.showMessageDialog(
-	                    this,
-	                    "🎉 Congratulations! You cleared the board!",
-	                    "Board Cleared",
-	                    JOptionPane.INFORMATION_MESSAGE
-	            );
+	        JOptionPane.showMessageDialog(
+	                this,
+	                "🎉 Congratulations! You cleared the board!",
+	                "Board Cleared",
+	                JOptionPane.INFORMATION_MESSAGE
+	        );
 
-	            if (fireworks != null) {
-	                fireworks.startFireworks();
-	            }
+	        if (fireworks != null) {
+	            fireworks.startFireworks();
 	        }
 	    }
 
 	
 	
 	
-	    private void updateButtonForCell(int ownerIdx, Cell cell) {
-	        TileButton btn = buttons[ownerIdx][cell.getRow()][cell.getCol()];
-
-	        // base visual reset for revealed tiles
-	        btn.setIcon(null);
-	        btn.setOpaque(false);
-	        btn.setContentAreaFilled(false);
-	        btn.setBorderPainted(false);
-
-	        btn.setText("");
-	        btn.setOverlayIcon(null);
-
-	        CellType type = cell.getType();
-	        int TILE = computeTileSize(currentDifficulty.rows, currentDifficulty.cols);
-	        int W = TILE;
-	        int H = TILE;
-
-	        boolean specialUsed = cell.isSpecialUsed();  // <--- key flag
-
-	        switch (type) {
-
-	            case MINE -> {
-	                // mine always shows mine icon when revealed
-	                btn.setOverlayIcon(loadIconFit(A_MINE, W / 2, H / 2));
-	            }
-
-	            case NUMBER -> {
-	                int num = cell.getAdjacentMines();
-	                btn.setText(String.valueOf(num));
-
-	                Color[] pal = {
-	                        new Color(52,152,219),
-	                        new Color(46,204,113),
-	                        new Color(231,76,60),
-	                        new Color(155,89,182),
-	                        new Color(230,126,34),
-	                        new Color(26,188,156),
-	                        new Color(52,73,94),
-	                        new Color(149,165,166)
-	                };
-	                btn.setForeground(pal[Math.min(Math.max(num - 1, 0), pal.length - 1)]);
-	            }
-
-	            case SURPRISE -> {
-	                if (specialUsed) {
-	                    // 🔒 USED surprise — text only, muted color
-	                    btn.setText("USED");
-	                    btn.setForeground(new Color(180, 180, 180));
-	                } else {
-	                    // normal (not used yet) surprise shows the spikes icon
-	                    btn.setOverlayIcon(loadIconFit(A_SPIKES, W / 2, H / 2));
-	                }
-	            }
-
-	            case QUESTION -> {
-	                if (specialUsed) {
-	                    // 🔒 USED question — text only, slightly bluish
-	                    btn.setText("USED");
-	                    btn.setForeground(new Color(190, 200, 255));
-	                } else {
-	                    // normal (not used yet) question shows question icon
-	                    btn.setOverlayIcon(loadIconFit(A_QUESTION, W / 2, H / 2));
-	                }
-	            }
-
-	            default -> {
-	                // EMPTY or any other type: nothing special to draw
-	            }
+	    /** Redraws one cell of a board; cells the move just revealed fade in. */
+	    private void updateCell(int ownerIdx, int idx, boolean justRevealed) {
+	        if (justRevealed && boards[ownerIdx].isRevealed(idx)) {
+	            canvases[ownerIdx].cellRevealed(idx);
+	        } else {
+	            canvases[ownerIdx].cellChanged(idx);
 	        }
-
-	        // Disable hover effect & run reveal animation
-	        btn.setRevealedVisual(true);
 	    }
 
 	
@@ -2066,20 +1743,10 @@ private JPanel[] boardWrappers = new JPanel[2];
 	    }
 	
 	    /**
-	     * Ask a trivia question and apply points / lives according to:
-	     *  - Game difficulty (EASY / MEDIUM / HARD)
-	     *  - Question difficulty ("easy","medium","hard","pro")
-	     * as specified in the spec table.
+	     * Ask a trivia question.
+	     * @return the option picked ('A'–'D'), or 0 if the dialog was closed
 	     */
-	    private void showQuestionDialog(Question q) {
-	        if (q == null) {
-	            JOptionPane.showMessageDialog(this,
-	                    "No questions available.",
-	                    "Trivia Question",
-	                    JOptionPane.WARNING_MESSAGE);
-	            return;
-	        }
-
+	    private char askQuestion(Question q) {
 	        String[] choices = new String[] {
 	                "A) " + q.getOptA(),
 	                "B) " + q.getOptB(),
@@ -2097,191 +1764,31 @@ private JPanel[] boardWrappers = new JPanel[2];
 	                choices[0]
 	        );
 
-	        if (ans == null) return;
-
-	        char picked  = ans.toString().trim().charAt(0);
-	        boolean correct = Character.toUpperCase(picked) == Character.toUpperCase(q.getCorrect());
-
-	        // ------------------------
-	        // mapping from picture 2
-	        // ------------------------
-	        String qDiff = q.getDifficulty();
-	        if (qDiff == null) qDiff = "easy";
-	        qDiff = qDiff.trim().toLowerCase();
-
-	        int deltaPts  = 0;
-	        int deltaLife = 0;
-
-	        switch (currentDifficulty) {
-
-	            // ---------------- EASY GAME ----------------
-	            case EASY -> {
-	                switch (qDiff) {
-	                    case "easy" -> {
-	                        if (correct) {
-	                            deltaPts = 3;
-	                            deltaLife = 1;
-	                        } else {
-	                            // (-3pts) OR nothing
-	                            if (rng.nextBoolean()) deltaPts = -3;
-	                        }
-	                    }
-	                    case "medium" -> {
-	                        if (correct) {
-	                            // reveal a mine cell +6pts – we only implement the +6pts here
-	                            deltaPts = 6;
-	                            // TODO: optionally reveal a random mine cell (no extra score)
-	                        } else {
-	                            // (-6pts) OR nothing
-	                            if (rng.nextBoolean()) deltaPts = -6;
-	                        }
-	                    }
-	                    case "hard" -> {
-	                        if (correct) {
-	                            // 3x3 mine pattern +10pts – we only implement +10pts
-	                            deltaPts = 10;
-	                            // TODO: optionally place extra mines in 3x3 pattern
-	                        } else {
-	                            deltaPts = -10;
-	                        }
-	                    }
-	                    case "pro" -> {
-	                        if (correct) {
-	                            deltaPts = 15;
-	                            deltaLife = 2;
-	                        } else {
-	                            deltaPts = -15;
-	                            deltaLife = -1;
-	                        }
-	                    }
-	                }
-	            }
-
-	            // ---------------- MEDIUM GAME ----------------
-	            case MEDIUM -> {
-	                switch (qDiff) {
-	                    case "easy" -> {
-	                        if (correct) {
-	                            deltaPts = 8;
-	                            deltaLife = 1;
-	                        } else {
-	                            deltaPts = -8;
-	                        }
-	                    }
-	                    case "medium" -> {
-	                        if (correct) {
-	                            deltaPts = 10;
-	                            deltaLife = 1;
-	                        } else {
-	                            // ((-10pts) & (-1♥)) OR nothing
-	                            if (rng.nextBoolean()) {
-	                                deltaPts = -10;
-	                                deltaLife = -1;
-	                            }
-	                        }
-	                    }
-	                    case "hard" -> {
-	                        if (correct) {
-	                            deltaPts = 15;
-	                            deltaLife = 1;
-	                        } else {
-	                            deltaPts = -15;
-	                            deltaLife = -1;
-	                        }
-	                    }
-	                    case "pro" -> {
-	                        if (correct) {
-	                            deltaPts = 20;
-	                            deltaLife = 2;
-	                        } else {
-	                            // (-20pts & -1♥) OR (-20pts & -2♥)
-	                            deltaPts = -20;
-	                            deltaLife = rng.nextBoolean() ? -1 : -2;
-	                        }
-	                    }
-	                }
-	            }
-
-	            // ---------------- HARD GAME ----------------
-	            case HARD -> {
-	                switch (qDiff) {
-	                    case "easy" -> {
-	                        if (correct) {
-	                            deltaPts = 10;
-	                            deltaLife = 1;
-	                        } else {
-	                            deltaPts = -10;
-	                            deltaLife = -1;
-	                        }
-	                    }
-	                    case "medium" -> {
-	                        if (correct) {
-	                            // (+15pts & +1♥) OR (+15pts & +2♥)
-	                            deltaPts = 15;
-	                            deltaLife = rng.nextBoolean() ? 1 : 2;
-	                        } else {
-	                            deltaPts = -15;
-	                            deltaLife = -1;
-	                        }
-	                    }
-	                    case "hard" -> {
-	                        if (correct) {
-	                            deltaPts = 20;
-	                            deltaLife = 2;
-	                        } else {
-	                            deltaPts = -20;
-	                            deltaLife = -2;
-	                        }
-	                    }
-	                    case "pro" -> {
-	                        if (correct) {
-	                            deltaPts = 40;
-	                            deltaLife = 3;
-	                        } else {
-	                            deltaPts = -40;
-	                            deltaLife = -3;
-	                        }
-	                    }
-	                }
-	            }
-	        }
-
-	        // ---------------- apply the result ----------------
-	        if (correct) {
-	            String msg = "Correct answer!";
-	            if (deltaPts != 0)  msg += " " + (deltaPts > 0 ? "+" : "") + deltaPts + " pts.";
-	            if (deltaLife != 0) msg += " " + (deltaLife > 0 ? "+" : "") + deltaLife + " ♥.";
-	            JOptionPane.showMessageDialog(this, msg, "Trivia Result", JOptionPane.INFORMATION_MESSAGE);
-	        } else {
-	            String msg = "Wrong answer!";
-	            if (deltaPts != 0)  msg += " " + (deltaPts > 0 ? "+" : "") + deltaPts + " pts.";
-	            if (deltaLife != 0) msg += " " + (deltaLife > 0 ? "+" : "") + deltaLife + " ♥.";
-	            JOptionPane.showMessageDialog(this, msg, "Trivia Result", JOptionPane.WARNING_MESSAGE);
-	        }
-
-	        if (deltaPts != 0) {
-	            bumpScore(deltaPts);
-	        }
-	        if (deltaLife > 0) {
-	            gainSharedLives(deltaLife);
-	        } else if (deltaLife < 0) {
-	            loseSharedLives(-deltaLife);
-	        }
+	        if (ans == null) return 0;
+	        return ans.toString().trim().charAt(0);
 	    }
 
-	
-	    private void bumpScore(int delta) {
-	        sharedPoints += delta;
-
-	        // ❗ Ensure score never becomes negative
-	        if (sharedPoints < 0) {
-	            sharedPoints = 0;
-	        }
+	    /** Shows the points / lives a trivia answer earned (see GameEngine for the table). */
+	    private void showQuestionResult(MoveResult result) {
+	        int deltaPts  = result.getSpecialPoints();
+	        int deltaLife = result.getSpecialLives();
+	        boolean correct = result.has(MoveResult.ANSWER_CORRECT);
+
+	        String msg = correct ? "Correct answer!" : "Wrong answer!";
+	        if (deltaPts != 0)  msg += " " + (deltaPts > 0 ? "+" : "") + deltaPts + " pts.";
+	        if (deltaLife != 0) msg += " " + (deltaLife > 0 ? "+" : "") + deltaLife + " ♥.";
+	        JOptionPane.showMessageDialog(this, msg, "Trivia Result",
+	                correct ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE);
+	    }
 
+	    /** Copies score and lives from the engine into the header. */
+	    private void syncScoreAndLives() {
+	        sharedPoints = engine.getScore();
+	        sharedLives = engine.getLives();
 	        updateSharedScoreLabel();
+	        updateSharedHearts();
 	    }
 
-	
 	    private void updateSharedScoreLabel() {
 	        sharedScoreLabel.setText(" " + sharedPoints);
 	    }
@@ -2318,90 +1825,245 @@ private JPanel[] boardWrappers = new JPanel[2];
 	    }
 
 	    
-	    private void resetSharedLives() {
-	        int limit = getMaxLivesLimit();
-	        sharedLives = Math.min(currentDifficulty.startLives, limit);
-	        updateSharedHearts();
+	    /* ------------------------------ AUTOSAVE / RESUME ------------------------------ */
+
+	    private static String getAutosavePath() {
+	        String history = getHistoryPath();
+	        if (history == null) return null;
+	        return history.substring(0, history.lastIndexOf('/') + 1) + "autosave.bin";
 	    }
 
+	    /** Opens the autosave file; a game left in it (e.g. after a crash) can be resumed. */
+	    private void openAutosave() {
+	        String path = getAutosavePath();
+	        if (path == null) return;
+	        try {
+	            java.nio.file.Path file = java.nio.file.Paths.get(path);
+	            java.nio.file.Files.createDirectories(file.getParent());
+	            autosave = new GameSnapshot(file);
+	            savedGame = autosave.load();
+	            gameInProgress = savedGame != null;
+	        } catch (Exception e) {
+	            e.printStackTrace();
+	            autosave = null;
+	        }
+	    }
 
-	
-	    private void loseSharedLives(int n) {
-	        if (n <= 0) return;
+	    /** Writes the running game to the autosave (cheap enough to do after every move). */
+	    private void saveSnapshot() {
+	        if (autosave == null || engine == null || engine.isGameOver() || engine.isWon()) return;
+	        try {
+	            autosave.save(engine, tfP1.getText().trim(), tfP2.getText().trim());
+	        } catch (java.io.IOException e) {
+	            e.printStackTrace();
+	            autosave = null;   // keep playing without autosave
+	        }
+	    }
 
-	        sharedLives = Math.max(0, sharedLives - n);
-	        updateSharedHearts();
+	    /** Rebuilds the game screen from the game found in the autosave. */
+	    private void resumeSavedGame() {
+	        GameSnapshot.Saved saved = savedGame;
+	        savedGame = null;
+
+	        stopLayingOut();
+	        engine = saved.engine;
+	        questionSampler = new QuestionSampler();
+	        boards[0] = engine.getBoard(0);
+	        boards[1] = engine.getBoard(1);
+	        // only no-guess games defer the layout here
+	        noGuessGame = boards[0].isSafeFirstClick();
+	        tfP1.setText(saved.player1);
+	        tfP2.setText(saved.player2);
+	        currentDifficulty = boards[0].getDifficulty();
+	        difficultyIdx = currentDifficulty.ordinal();
 
-	        if (sharedLives == 0) {
-	            // 1) Add this finished game to history (LOSE case)
-	            String p1 = tfP1.getText().trim();
-	            String p2 = tfP2.getText().trim();
-	            gameHistory.add(new String[]{
-	                    p1 + " & " + p2,
-	                    "Game Over (0 lives)",
-	                    String.valueOf(sharedPoints),
-	                    currentDifficulty.name(),
-	                    String.valueOf(java.time.LocalDateTime.now())
-	            });
+	        root.remove(gamePanel);
+	        gamePanel = buildGame(boards[0].getRows(), boards[0].getCols());
+	        root.add(wrapWithSlideFade(gamePanel), SCREEN_GAME);
 
-	            // ✅ 2) AUTO-SAVE if enabled in Settings
-	            if (settingsController.isAutoSaveHistory()) {
-	                exportHistoryToCSV();
+	        for (int p = 0; p < 2; p++) {
+	            Board board = boards[p];
+	            flagsCount[p] = revealedCount[p] = 0;
+	            // the canvases paint revealed cells and flags straight from the boards
+	            for (int idx = 0; idx < board.getCellCount(); idx++) {
+	                if (board.isRevealed(idx)) revealedCount[p]++;
+	                else if (board.isFlagged(idx)) flagsCount[p]++;
 	            }
+	        }
+	        syncScoreAndLives();
+	        resumeGameLog(saved.logLength);
 
-	            // 3) Ask if they want a new game
-	            String message = "Game Over – Final Score: " + sharedPoints
-	                    + "\n\nDo you want to start a new game?";
+	        // toggleTurnLabel flips p1Turn and sets the glow / dim of both boards
+	        p1Turn = engine.getCurrentPlayer() != 0;
+	        toggleTurnLabel();
 
-	            int choice = JOptionPane.showConfirmDialog(
-	                    this,
-	                    message,
-	                    "Game Over",
-	                    JOptionPane.YES_NO_OPTION,
-	                    JOptionPane.INFORMATION_MESSAGE
-	            );
+	        gameInProgress = true;
+	        cards.show(root, SCREEN_GAME);
+	    }
 
-	            if (choice == JOptionPane.YES_OPTION) {
-	                startGame();
-	            } else {
-	                // optional: gameInProgress = false;
-	            }
-	        }
+	    /* ------------------------------ GAME LOG ------------------------------ */
+
+	    /** Log of the running game; ended games are kept beside it, named after the time they ended. */
+	    private static java.nio.file.Path getGameLogPath() {
+	        String history = getHistoryPath();
+	        if (history == null) return null;
+	        return java.nio.file.Paths.get(history).resolveSibling("logs").resolve("current.mslog");
 	    }
 
+	    /** Starts logging the new game's moves (replayable with GameReplayer). */
+	    private void startGameLog() {
+	        archiveGameLog();   // a game abandoned for this one keeps its log
+	        java.nio.file.Path file = getGameLogPath();
+	        if (file == null) return;
+	        java.io.OutputStream out = null;
+	        try {
+	            java.nio.file.Files.createDirectories(file.getParent());
+	            // unbuffered: GameLog writes each record in one call, so it is on disk as the move ends
+	            out = java.nio.file.Files.newOutputStream(file);
+	            gameLog = new GameLog(out, boards[0], boards[1], engine.getRules());
+	            engine.setLog(gameLog);
+	        } catch (Exception e) {
+	            e.printStackTrace();   // keep playing without a log
+	            closeQuietly(out);
+	        }
+	    }
 
-	
-	    private void exportHistoryToCSV() {
+	    /**
+	     * A resumed game continues the log its earlier session left behind, cut
+	     * back to the length the snapshot saved: moves logged after the last
+	     * snapshot, or a record torn by a crash, are dropped. A log that is
+	     * shorter than that (or a snapshot without one) can't be continued; it
+	     * is archived and the resumed game is not logged.
+	     */
+	    private void resumeGameLog(long length) {
+	        closeGameLog();
+	        java.nio.file.Path file = getGameLogPath();
+	        if (file == null || !java.nio.file.Files.exists(file)) return;
+	        java.io.OutputStream out = null;
 	        try {
-	            String path = getHistoryPath();
-	            if (path == null) {
-	                JOptionPane.showMessageDialog(this,
-	                        "Could not determine history file path.",
-	                        "Export Error",
-	                        JOptionPane.ERROR_MESSAGE);
+	            java.nio.channels.FileChannel channel = java.nio.channels.FileChannel.open(file,
+	                    java.nio.file.StandardOpenOption.WRITE);
+	            out = java.nio.channels.Channels.newOutputStream(channel);
+	            if (length < 0 || channel.size() < length) {
+	                out.close();
+	                archiveGameLog();
 	                return;
 	            }
+	            channel.truncate(length);
+	            channel.position(length);
+	            gameLog = GameLog.resume(out, boards[0], boards[1], length);
+	            engine.setLog(gameLog);
+	        } catch (Exception e) {
+	            e.printStackTrace();
+	            closeQuietly(out);
+	        }
+	    }
 
-	            java.io.File file = new java.io.File(path);
+	    /** Closes the running game's log and renames it after the time it was archived. */
+	    private void archiveGameLog() {
+	        closeGameLog();
+	        java.nio.file.Path file = getGameLogPath();
+	        if (file == null || !java.nio.file.Files.exists(file)) return;
+	        String stamp = java.time.LocalDateTime.now()
+	                .format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS"));
+	        try {
+	            java.nio.file.Files.move(file, file.resolveSibling("game-" + stamp + ".mslog"),
+	                    java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+	        } catch (java.io.IOException e) {
+	            e.printStackTrace();
+	        }
+	    }
 
-	            // Make sure the folder (history/ or src/history/) exists
-	            java.io.File parent = file.getParentFile();
-	            if (parent != null && !parent.exists()) {
-	                parent.mkdirs();
-	            }
+	    private void closeGameLog() {
+	        if (gameLog == null) return;
+	        if (engine != null && engine.getLog() == gameLog) engine.setLog(null);
+	        closeQuietly(gameLog);
+	        gameLog = null;
+	    }
 
-	            try (java.io.PrintWriter pw = new java.io.PrintWriter(file)) {
-	                // Header
-	                pw.println("Player,Result,Score,Difficulty,Date");
+	    private static void closeQuietly(java.io.Closeable c) {
+	        if (c == null) return;
+	        try {
+	            c.close();
+	        } catch (java.io.IOException e) {
+	            e.printStackTrace();
+	        }
+	    }
 
-	                // Rows
-	                for (String[] row : gameHistory) {
-	                    pw.println(String.join(",", row));
-	                }
-	            }
+	    /** Forgets a running no-guess search; its result is dropped when it finishes. */
+	    private void stopLayingOut() {
+	        if (layingOut == null) return;
+	        layingOut.cancel(false);
+	        layingOut = null;
+	        setCursor(Cursor.getDefaultCursor());
+	    }
+
+	    /** New rules engine for the current boards; start lives respect the Settings limit. */
+	    private void resetEngine() {
+	        stopLayingOut();
+	        engine = new GameEngine(boards[0], boards[1],
+	                new GameRules(currentDifficulty, getMaxLivesLimit()), rng);
+	        questionSampler = new QuestionSampler();
+	    }
+
+
+	
+	    private void handleGameOver() {
+	        if (autosave != null) autosave.clear();
+	        archiveGameLog();
+	        // 1) Add this finished game to history (LOSE case)
+	        String p1 = tfP1.getText().trim();
+	        String p2 = tfP2.getText().trim();
+	        addHistory(new String[]{
+	                p1 + " & " + p2,
+	                "Game Over (0 lives)",
+	                String.valueOf(sharedPoints),
+	                currentDifficulty.name(),
+	                String.valueOf(java.time.LocalDateTime.now())
+	        });
+
+	        // ✅ 2) AUTO-SAVE if enabled in Settings
+	        if (settingsController.isAutoSaveHistory()) {
+	            appendHistory();
+	        }
+
+	        // 3) Ask if they want a new game
+	        String message = "Game Over – Final Score: " + sharedPoints
+	                + "\n\nDo you want to start a new game?";
+
+	        int choice = JOptionPane.showConfirmDialog(
+	                this,
+	                message,
+	                "Game Over",
+	                JOptionPane.YES_NO_OPTION,
+	                JOptionPane.INFORMATION_MESSAGE
+	        );
+
+	        if (choice == JOptionPane.YES_OPTION) {
+	            startGame();
+	        } else {
+	            // optional: gameInProgress = false;
+	        }
+	    }
+
+
+	
+	    private void exportHistoryToCSV() {
+	        String path = getHistoryPath();
+	        if (historyStore == null || path == null) {
+	            JOptionPane.showMessageDialog(this,
+	                    "Could not open the history file.",
+	                    "Export Error",
+	                    JOptionPane.ERROR_MESSAGE);
+	            return;
+	        }
+
+	        try {
+	            appendHistory();
+	            historyStore.flush();
 
 	            JOptionPane.showMessageDialog(this,
-	                    "History exported successfully to:\n" + file.getAbsolutePath(),
+	                    "History exported successfully to:\n" + new java.io.File(path).getAbsolutePath(),
 	                    "Export Complete",
 	                    JOptionPane.INFORMATION_MESSAGE);
 
@@ -2485,7 +2147,8 @@ private JPanel[] boardWrappers = new JPanel[2];
 
 	    
 	    private void showHistory() {
-	        if (gameHistory.isEmpty()) {
+	        int total = historyIndex == null ? 0 : historyIndex.size();
+	        if (total == 0) {
 	            JOptionPane.showMessageDialog(this,
 	                    "No games played yet.",
 	                    "Game History",
@@ -2493,12 +2156,20 @@ private JPanel[] boardWrappers = new JPanel[2];
 	            return;
 	        }
 
-	        // Build text preview
+	        // Build text preview: totals, then the latest games
+	        HistoryIndex.Stats stats = historyIndex.query().stats();
+	        int first = Math.max(0, total - HISTORY_PREVIEW);
 	        StringBuilder sb = new StringBuilder();
+	        sb.append(String.format("Games: %d | Win rate: %.0f%% | Average score: %.1f | Best score: %d\n\n",
+	                stats.games, stats.winRate() * 100, stats.averageScore(), stats.bestScore));
+	        if (first > 0) {
+	            sb.append("Latest ").append(HISTORY_PREVIEW).append(" of ").append(total).append(" games\n\n");
+	        }
 	        sb.append("Player | Result | Score | Difficulty | Date\n");
 	        sb.append("--------------------------------------------------------\n");
 
-	        for (String[] row : gameHistory) {
+	        for (int i = first; i < total; i++) {
+	            String[] row = historyIndex.row(i);
 	            sb.append(row[0]).append(" | ")
 	              .append(row[1]).append(" | ")
 	              .append(row[2]).append(" | ")
@@ -2530,21 +2201,6 @@ private JPanel[] boardWrappers = new JPanel[2];
 	        }
 	    }
 
-	    private void gainSharedLives(int n) {
-	        if (n <= 0) return;
-	        int before = sharedLives;
-	        sharedLives = Math.min(MAX_LIVES, sharedLives + n);
-	        updateSharedHearts();
-	
-	        int overflow = before + n - MAX_LIVES;
-	        if (overflow > 0) {
-	            int perLife = LIFE_OVERFLOW_POINTS[Math.max(0, Math.min(difficultyIdx, LIFE_OVERFLOW_POINTS.length-1))];
-	            bumpScore(overflow * perLife);
-	            sharedLives = MAX_LIVES;
-	            updateSharedHearts();
-	        }
-	    }
-	
 	    /* ------------------------------ MAIN ------------------------------ */
 	    public static void main(String[] args) {
 	        SwingUtilities.invokeLater(() -> {
@@ -0,0 +1,224 @@
+package View;
+
+import java.awt.*;
+import java.util.SplittableRandom;
+
+/**
+ * Fixed-capacity particle pool for the decorative effects (snow, fireworks,
+ * Christmas lights).
+ *
+ * Particles live in parallel float arrays; spawning takes the next free
+ * slot, a dead particle is replaced by the last live one, and neither update
+ * nor render allocates. Colours come from a small palette with precomputed
+ * alpha / brightness ramps, and rendering sets a colour only when it differs
+ * from the previous particle's, so a frame is one tight loop of fillOval
+ * calls.
+ *
+ * At most {@link #setBudget(int) budget} particles are updated and drawn per
+ * frame, whatever the pool holds.
+ */
+public class ParticleSystem {
+
+    /** How a particle is drawn. */
+    public enum Style {
+        /** Soft dot; {@code alpha} is its opacity, sparkling ones get a ring. */
+        FLAKE,
+        /** Spark that fades with its remaining life. */
+        SPARK,
+        /** Bulb with a halo whose brightness pulses with the phase. */
+        BULB
+    }
+
+    private static final int LEVELS = 32;
+
+    private final Style style;
+    private final int capacity;
+    private int budget;
+    private int count;
+
+    private final float[] x, y, vx, vy, gravity;
+    private final float[] life, decay;
+    private final float[] size, alpha;
+    private final float[] phase, phaseSpeed;
+    private final byte[] color;
+    private final boolean[] sparkle;
+
+    private final Color[] base;
+    private final Color[][] ramp;   // [colour][level]: alpha (FLAKE, SPARK) or halo brightness (BULB)
+    private float glowBase = 0.25f, glowAmp = 0.25f;
+    private boolean wrap;
+
+    private final SplittableRandom random = new SplittableRandom();
+
+    public ParticleSystem(Style style, int capacity, Color... palette) {
+        this.style = style;
+        this.capacity = capacity;
+        this.budget = capacity;
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        gravity = new float[capacity];
+        life = new float[capacity];
+        decay = new float[capacity];
+        size = new float[capacity];
+        alpha = new float[capacity];
+        phase = new float[capacity];
+        phaseSpeed = new float[capacity];
+        color = new byte[capacity];
+        sparkle = new boolean[capacity];
+
+        base = palette;
+        ramp = new Color[palette.length][LEVELS];
+        for (int c = 0; c < palette.length; c++) {
+            Color p = palette[c];
+            for (int l = 0; l < LEVELS; l++) {
+                float f = l / (float) (LEVELS - 1);
+                ramp[c][l] = (style == Style.BULB)
+                        ? new Color((int) (p.getRed() * f), (int) (p.getGreen() * f), (int) (p.getBlue() * f), 150)
+                        : new Color(p.getRed(), p.getGreen(), p.getBlue(), Math.round(255 * f));
+            }
+        }
+    }
+
+    /** Caps how many particles are updated and drawn per frame. */
+    public void setBudget(int budget) {
+        this.budget = Math.max(0, Math.min(capacity, budget));
+    }
+
+    /** Particles falling past the bottom re-enter at the top (snow) instead of staying gone. */
+    public void setWrap(boolean wrap) {
+        this.wrap = wrap;
+    }
+
+    /** Halo brightness of {@link Style#BULB}: {@code base + sin(phase) * amp}. */
+    public void setGlow(float base, float amp) {
+        this.glowBase = base;
+        this.glowAmp = amp;
+    }
+
+    public int size()         { return count; }
+    public boolean isEmpty()  { return count == 0; }
+    public void clear()       { count = 0; }
+
+    /**
+     * Adds a particle with full life, no gravity and no decay.
+     * @return its slot, or -1 if the pool is full
+     */
+    public int spawn(float px, float py, float dx, float dy, float diameter, float opacity, int colorIdx) {
+        if (count == capacity) return -1;
+        int i = count++;
+        x[i] = px;
+        y[i] = py;
+        vx[i] = dx;
+        vy[i] = dy;
+        size[i] = diameter;
+        alpha[i] = opacity;
+        color[i] = (byte) colorIdx;
+        life[i] = 1f;
+        decay[i] = 0f;
+        gravity[i] = 0f;
+        phase[i] = 0f;
+        phaseSpeed[i] = 0f;
+        sparkle[i] = false;
+        return i;
+    }
+
+    public void setDecay(int i, float perStep)     { decay[i] = perStep; }
+    public void setGravity(int i, float perStep)   { gravity[i] = perStep; }
+    public void setSparkle(int i, boolean on)      { sparkle[i] = on; }
+    public void setPhase(int i, float start, float perStep) {
+        phase[i] = start;
+        phaseSpeed[i] = perStep;
+    }
+
+    /**
+     * Advances the particles by {@code steps} animation steps (fractions
+     * allowed). Dead particles are removed; with wrap on, particles below
+     * {@code height} restart at a random x above the top.
+     */
+    public void update(float steps, int width, int height) {
+        int n = Math.min(count, budget);
+        for (int i = 0; i < n; i++) {
+            x[i] += vx[i] * steps;
+            y[i] += vy[i] * steps;
+            vy[i] += gravity[i] * steps;
+            phase[i] += phaseSpeed[i] * steps;
+            if (sparkle[i] && style == Style.FLAKE) alpha[i] = 0.6f + (float) random.nextDouble() * 0.4f;
+
+            if (wrap && y[i] > height) {
+                x[i] = (float) (random.nextDouble() * width);
+                y[i] = -10;
+            }
+            life[i] -= decay[i] * steps;
+            if (life[i] <= 0f) {
+                kill(i);
+                i--;
+                n = Math.min(count, budget);
+            }
+        }
+    }
+
+    public void render(Graphics2D g2) {
+        int n = Math.min(count, budget);
+        Color current = null;
+        for (int i = 0; i < n; i++) {
+            int px = (int) x[i], py = (int) y[i];
+            int d = (int) size[i];
+            Color c = colorOf(i);
+            if (c != current) {
+                g2.setColor(c);
+                current = c;
+            }
+            switch (style) {
+                case FLAKE -> {
+                    g2.fillOval(px, py, d, d);
+                    if (sparkle[i]) {
+                        current = ramp[color[i]][level(alpha[i] * 0.7f)];
+                        g2.setColor(current);
+                        g2.drawOval(px - 1, py - 1, d + 2, d + 2);
+                    }
+                }
+                case SPARK -> g2.fillOval(px, py, d, d);
+                case BULB -> {
+                    int r = d / 2;
+                    g2.fillOval(px - r * 2, py - r * 2, r * 4, r * 4);
+                    current = base[color[i]];
+                    g2.setColor(current);
+                    g2.fillOval(px - r, py - r, r * 2, r * 2);
+                }
+            }
+        }
+    }
+
+    private Color colorOf(int i) {
+        return switch (style) {
+            case FLAKE -> ramp[color[i]][level(alpha[i])];
+            case SPARK -> ramp[color[i]][level(life[i])];
+            case BULB  -> ramp[color[i]][level(glowBase + (float) Math.sin(phase[i]) * glowAmp)];
+        };
+    }
+
+    private static int level(float f) {
+        return Math.max(0, Math.min(LEVELS - 1, Math.round(f * (LEVELS - 1))));
+    }
+
+    /** Moves the last live particle into slot {@code i}. */
+    private void kill(int i) {
+        int last = --count;
+        if (i == last) return;
+        x[i] = x[last];
+        y[i] = y[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        gravity[i] = gravity[last];
+        life[i] = life[last];
+        decay[i] = decay[last];
+        size[i] = size[last];
+        alpha[i] = alpha[last];
+        phase[i] = phase[last];
+        phaseSpeed[i] = phaseSpeed[last];
+        color[i] = color[last];
+        sparkle[i] = sparkle[last];
+    }
+}
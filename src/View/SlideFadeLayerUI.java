@@ -12,21 +12,16 @@ public class SlideFadeLayerUI extends LayerUI<JComponent> {
 	private static final long serialVersionUID = 1L;
 	private float alpha = 0f;   // 0 → 1
     private float offset = 40f; // slide amount in px
-    private Timer timer;
 
     public void start(JLayer<?> layer) {
-        timer = new Timer(16, e -> {
-            alpha += 0.04f;
-            offset -= 2.5f;
-
-            
-            if (alpha >= 1f) alpha = 1f;
-            if (offset <= 0f) offset = 0f;
-
-            if (alpha == 1f && offset == 0f) timer.stop();
+        // per 16 ms: +0.04 alpha, -2.5 px
+        AnimationClock.shared().add(layer, dt -> {
+            float steps = dt / 16f;
+            alpha = Math.min(1f, alpha + 0.04f * steps);
+            offset = Math.max(0f, offset - 2.5f * steps);
             layer.repaint();
+            return alpha < 1f || offset > 0f;
         });
-        timer.start();
     }
 
     @Override
@@ -10,22 +10,23 @@ public class TurnGlowPanel extends JPanel {
 	 */
 	private static final long serialVersionUID = 1L;
 	private float phase = 0f;
-    private final Timer timer;
     private boolean active = false;
+    // +0.07 rad every 40 ms, stepped only while active
+    private final AnimationClock.Animation pulse = dt -> {
+        phase += 0.07f * dt / 40f;
+        repaint();
+        return true;
+    };
 
     public TurnGlowPanel() {
         setOpaque(false);
-
-        timer = new Timer(40, e -> {
-            if (active) {
-                phase += 0.07f;
-                repaint();
-            }
-        });
-        timer.start();
     }
 
     public void setActive(boolean isActive) {
+        if (isActive != active) {
+            if (isActive) AnimationClock.shared().add(this, 40, pulse);
+            else AnimationClock.shared().remove(pulse);
+        }
         active = isActive;
         repaint();
     }